@@ -0,0 +1,106 @@
+package com.atlan.evently.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis-backed reverse index from dependency tags to the cache entries that depend on them.
+ *
+ * <p>Each tag is stored as a Redis set {@code cache-deps::<tag>} whose members are
+ * {@code <cacheName>|<key>} references. Sets carry a TTL so references to entries that
+ * have long since expired do not accumulate.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheDependencyIndex {
+
+    private static final String KEY_PREFIX = "cache-deps::";
+    private static final String MEMBER_SEPARATOR = "|";
+
+    // Read and delete in one step, so a reference recorded in between isn't lost
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DRAIN = new DefaultRedisScript<>(
+            "local members = redis.call('SMEMBERS', KEYS[1]) " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return members", List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${evently.cache.dependencies.ttl:14400}")
+    private long dependencyTtlSeconds;
+
+    /**
+     * Records that the given cache entry depends on every tag in {@code tags}.
+     *
+     * @return false if the references couldn't be stored; the entry must then not be served,
+     *         as no write would ever invalidate it
+     */
+    @SuppressWarnings("unchecked")
+    public boolean record(String cacheName, Object key, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return true;
+        }
+        String member = cacheName + MEMBER_SEPARATOR + key;
+        Duration ttl = Duration.ofSeconds(dependencyTtlSeconds);
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (String tag : tags) {
+                        ops.opsForSet().add(KEY_PREFIX + tag, member);
+                        ops.expire(KEY_PREFIX + tag, ttl);
+                    }
+                    return null;
+                }
+            });
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Failed to record cache dependencies for {}: {}", member, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Removes and returns every entry reference recorded under the given tags.
+     */
+    @SuppressWarnings("unchecked")
+    public Set<EntryRef> drain(Collection<String> tags) {
+        Set<EntryRef> refs = new LinkedHashSet<>();
+        for (String tag : tags) {
+            List<String> members = redisTemplate.execute(DRAIN, List.of(KEY_PREFIX + tag));
+            if (members == null) {
+                continue;
+            }
+            for (String member : members) {
+                int separator = member.indexOf(MEMBER_SEPARATOR);
+                if (separator > 0) {
+                    refs.add(new EntryRef(member.substring(0, separator), member.substring(separator + 1)));
+                }
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * Reference to a single cache entry.
+     */
+    public record EntryRef(String cacheName, String key) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.atlan.evently.cache;
+
+/**
+ * Refresh behaviour shared by all tracked caches.
+ *
+ * @param staleWhileRevalidate serve the previous value while an invalidated entry is reloaded
+ * @param ttlJitter            fraction of the TTL randomly shaved off each entry (0.1 = up to 10%)
+ *                             so entries written together do not expire together
+ * @param earlyExpirationBeta  XFetch aggressiveness; 0 disables probabilistic early refresh
+ */
+public record CacheRefreshPolicy(boolean staleWhileRevalidate, double ttlJitter, double earlyExpirationBeta) {
+}
@@ -0,0 +1,42 @@
+package com.atlan.evently.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Envelope stored for every tracked cache entry.
+ *
+ * <p>Besides the cached value it records how long the value took to compute and when it
+ * expires, which drives probabilistic early expiration (the "XFetch" algorithm): the closer
+ * an entry is to expiry, and the more expensive it was to compute, the more likely a read
+ * is to refresh it early - so hot keys are reloaded by one reader before they expire
+ * instead of by every reader after.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedValue {
+
+    private Object value;
+    private long computeMillis;
+    private long expiresAtMillis;
+
+    /**
+     * @param beta aggressiveness of early refresh; {@code 0} disables it, {@code 1} is the usual default
+     */
+    public boolean shouldRefreshEarly(double beta, long nowMillis) {
+        if (beta <= 0 || computeMillis <= 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        double gap = -computeMillis * beta * Math.log(random);
+        return nowMillis + gap >= expiresAtMillis;
+    }
+
+    public long remainingTtlMillis(long nowMillis) {
+        return expiresAtMillis - nowMillis;
+    }
+}
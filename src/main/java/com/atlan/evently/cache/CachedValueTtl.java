@@ -0,0 +1,20 @@
+package com.atlan.evently.cache;
+
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+
+/**
+ * Redis TTL derived from the {@link CachedValue} envelope, so the jittered expiry chosen when
+ * the entry was written is also the one Redis enforces. Other values use the base TTL.
+ */
+public record CachedValueTtl(Duration baseTtl) implements RedisCacheWriter.TtlFunction {
+
+    @Override
+    public Duration getTimeToLive(Object key, Object value) {
+        if (value instanceof CachedValue cached) {
+            return Duration.ofMillis(Math.max(1, cached.remainingTtlMillis(System.currentTimeMillis())));
+        }
+        return baseTtl;
+    }
+}
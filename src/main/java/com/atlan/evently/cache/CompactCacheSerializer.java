@@ -0,0 +1,457 @@
+package com.atlan.evently.cache;
+
+import com.atlan.evently.dto.EventCategoryResponse;
+import com.atlan.evently.dto.EventResponse;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary Redis serializer for cached event data.
+ *
+ * <p>{@link EventResponse}, {@link EventCategoryResponse}, pages, lists and the
+ * {@link CachedValue} envelope are written with a fixed field order, a presence bitmask
+ * for nullable fields and variable-length integers - no field names or class names.
+ * Any other value is delegated to the fallback serializer (the JSON one), tagged so it
+ * can be read back.
+ *
+ * <p>Payloads larger than {@code compressionThreshold} bytes are LZ4 compressed when that
+ * actually makes them smaller. Legacy JSON entries are recognised by their first byte
+ * and still decoded, so switching codecs does not require flushing Redis.
+ *
+ * <pre>
+ * header  : 1 byte  - format version, high bit set when the body is LZ4 compressed
+ * [length]: varint  - uncompressed body length (compressed bodies only)
+ * body    : tagged value
+ * </pre>
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int COMPRESSED_FLAG = 0x80;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_ENVELOPE = 1;
+    private static final int TAG_EVENT = 2;
+    private static final int TAG_CATEGORY = 3;
+    private static final int TAG_PAGE = 4;
+    private static final int TAG_LIST = 5;
+    private static final int TAG_FALLBACK = 6;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    /**
+     * @param fallback             serializer for values without a compact schema
+     * @param compressionThreshold minimum body size in bytes before LZ4 is attempted; {@code <= 0} disables compression
+     */
+    public CompactCacheSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(512);
+            writeValue(new DataOutputStream(bodyBytes), value);
+            byte[] body = bodyBytes.toByteArray();
+
+            if (compressionThreshold > 0 && body.length >= compressionThreshold) {
+                byte[] compressed = compressor.compress(body);
+                if (compressed.length < body.length) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length + 6);
+                    DataOutputStream data = new DataOutputStream(out);
+                    data.writeByte(FORMAT_VERSION | COMPRESSED_FLAG);
+                    writeVarLong(data, body.length);
+                    data.write(compressed);
+                    return out.toByteArray();
+                }
+            }
+
+            byte[] result = new byte[body.length + 1];
+            result[0] = FORMAT_VERSION;
+            System.arraycopy(body, 0, result, 1, body.length);
+            return result;
+        } catch (IOException e) {
+            throw new SerializationException("Could not write compact cache value", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        int header = bytes[0] & 0xFF;
+        if ((header & ~COMPRESSED_FLAG) != FORMAT_VERSION) {
+            return fallback.deserialize(bytes); // legacy JSON entry
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+            if ((header & COMPRESSED_FLAG) != 0) {
+                int length = (int) readVarLong(in);
+                byte[] compressed = in.readAllBytes();
+                byte[] body = decompressor.decompress(compressed, length);
+                in = new DataInputStream(new ByteArrayInputStream(body));
+            }
+            return readValue(in);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not read compact cache value", e);
+        }
+    }
+
+    // ========== TAGGED VALUES ==========
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof CachedValue envelope) {
+            out.writeByte(TAG_ENVELOPE);
+            writeVarLong(out, envelope.getComputeMillis());
+            out.writeLong(envelope.getExpiresAtMillis());
+            writeValue(out, envelope.getValue());
+        } else if (value instanceof EventResponse event) {
+            out.writeByte(TAG_EVENT);
+            writeEvent(out, event);
+        } else if (value instanceof EventCategoryResponse category) {
+            out.writeByte(TAG_CATEGORY);
+            writeCategory(out, category);
+        } else if (value instanceof Page<?> page) {
+            out.writeByte(TAG_PAGE);
+            writePage(out, page);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            writeVarLong(out, list.size());
+            for (Object item : list) {
+                writeValue(out, item);
+            }
+        } else {
+            out.writeByte(TAG_FALLBACK);
+            writeBytes(out, fallback.serialize(value));
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_ENVELOPE -> {
+                long computeMillis = readVarLong(in);
+                long expiresAtMillis = in.readLong();
+                yield new CachedValue(readValue(in), computeMillis, expiresAtMillis);
+            }
+            case TAG_EVENT -> readEvent(in);
+            case TAG_CATEGORY -> readCategory(in);
+            case TAG_PAGE -> readPage(in);
+            case TAG_LIST -> {
+                int size = (int) readVarLong(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case TAG_FALLBACK -> fallback.deserialize(readBytes(in));
+            default -> throw new IOException("Unknown compact cache tag " + tag);
+        };
+    }
+
+    // ========== SCHEMAS ==========
+
+    private void writePage(DataOutputStream out, Page<?> page) throws IOException {
+        Pageable pageable = page.getPageable();
+        boolean paged = pageable.isPaged();
+        out.writeBoolean(paged);
+        if (paged) {
+            writeVarLong(out, pageable.getPageNumber());
+            writeVarLong(out, pageable.getPageSize());
+        }
+        List<Sort.Order> orders = page.getSort().toList();
+        writeVarLong(out, orders.size());
+        for (Sort.Order order : orders) {
+            writeString(out, order.getProperty());
+            out.writeBoolean(order.isAscending());
+        }
+        writeVarLong(out, page.getTotalElements());
+        writeVarLong(out, page.getNumberOfElements());
+        for (Object item : page.getContent()) {
+            writeValue(out, item);
+        }
+    }
+
+    private Page<Object> readPage(DataInputStream in) throws IOException {
+        boolean paged = in.readBoolean();
+        int pageNumber = paged ? (int) readVarLong(in) : 0;
+        int pageSize = paged ? (int) readVarLong(in) : 0;
+        int orderCount = (int) readVarLong(in);
+        List<Sort.Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            String property = readString(in);
+            orders.add(in.readBoolean() ? Sort.Order.asc(property) : Sort.Order.desc(property));
+        }
+        long total = readVarLong(in);
+        int count = (int) readVarLong(in);
+        List<Object> content = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            content.add(readValue(in));
+        }
+        Pageable pageable = paged ? PageRequest.of(pageNumber, pageSize, Sort.by(orders)) : Pageable.unpaged(Sort.by(orders));
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private void writeEvent(DataOutputStream out, EventResponse e) throws IOException {
+        Object[] fields = {
+                e.getEventId(), e.getName(), e.getDescription(), e.getVenue(), e.getTags(), e.getIsOnline(),
+                e.getImageUrl(), e.getStartTime(), e.getEndTime(), e.getCapacity(), e.getAvailableSeats(),
+                e.getBookedSeats(), e.getTicketPrice(), e.getCurrency(), e.getCategory(), e.getLikeCount(),
+                e.getCommentCount(), e.getUtilizationPercentage(), e.getIsActive(), e.getIsSoldOut(),
+                e.getIsLive(), e.getHasEnded(), e.getCreatedAt()
+        };
+        writePresence(out, fields);
+
+        writeString(out, e.getEventId());
+        writeString(out, e.getName());
+        writeString(out, e.getDescription());
+        writeString(out, e.getVenue());
+        if (e.getTags() != null) {
+            writeVarLong(out, e.getTags().size());
+            for (String tag : e.getTags()) {
+                writeString(out, tag);
+            }
+        }
+        writeBoolean(out, e.getIsOnline());
+        writeString(out, e.getImageUrl());
+        writeDateTime(out, e.getStartTime());
+        writeDateTime(out, e.getEndTime());
+        writeInteger(out, e.getCapacity());
+        writeInteger(out, e.getAvailableSeats());
+        writeInteger(out, e.getBookedSeats());
+        writeDecimal(out, e.getTicketPrice());
+        writeString(out, e.getCurrency());
+        if (e.getCategory() != null) {
+            EventResponse.EventCategoryResponse c = e.getCategory();
+            Object[] categoryFields = {c.getId(), c.getName(), c.getDescription(), c.getColorCode(), c.getIconName()};
+            writePresence(out, categoryFields);
+            for (Object field : categoryFields) {
+                writeString(out, (String) field);
+            }
+        }
+        if (e.getLikeCount() != null) {
+            writeVarLong(out, e.getLikeCount());
+        }
+        if (e.getCommentCount() != null) {
+            writeVarLong(out, e.getCommentCount());
+        }
+        if (e.getUtilizationPercentage() != null) {
+            out.writeDouble(e.getUtilizationPercentage());
+        }
+        writeBoolean(out, e.getIsActive());
+        writeBoolean(out, e.getIsSoldOut());
+        writeBoolean(out, e.getIsLive());
+        writeBoolean(out, e.getHasEnded());
+        writeDateTime(out, e.getCreatedAt());
+    }
+
+    private EventResponse readEvent(DataInputStream in) throws IOException {
+        long presence = readVarLong(in);
+        EventResponse e = new EventResponse();
+        e.setEventId(has(presence, 0) ? readString(in) : null);
+        e.setName(has(presence, 1) ? readString(in) : null);
+        e.setDescription(has(presence, 2) ? readString(in) : null);
+        e.setVenue(has(presence, 3) ? readString(in) : null);
+        if (has(presence, 4)) {
+            int size = (int) readVarLong(in);
+            List<String> tags = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                tags.add(readString(in));
+            }
+            e.setTags(tags);
+        }
+        e.setIsOnline(has(presence, 5) ? in.readBoolean() : null);
+        e.setImageUrl(has(presence, 6) ? readString(in) : null);
+        e.setStartTime(has(presence, 7) ? readDateTime(in) : null);
+        e.setEndTime(has(presence, 8) ? readDateTime(in) : null);
+        e.setCapacity(has(presence, 9) ? (int) readVarLong(in) : null);
+        e.setAvailableSeats(has(presence, 10) ? (int) readVarLong(in) : null);
+        e.setBookedSeats(has(presence, 11) ? (int) readVarLong(in) : null);
+        e.setTicketPrice(has(presence, 12) ? readDecimal(in) : null);
+        e.setCurrency(has(presence, 13) ? readString(in) : null);
+        if (has(presence, 14)) {
+            long categoryPresence = readVarLong(in);
+            EventResponse.EventCategoryResponse c = new EventResponse.EventCategoryResponse();
+            c.setId(has(categoryPresence, 0) ? readString(in) : null);
+            c.setName(has(categoryPresence, 1) ? readString(in) : null);
+            c.setDescription(has(categoryPresence, 2) ? readString(in) : null);
+            c.setColorCode(has(categoryPresence, 3) ? readString(in) : null);
+            c.setIconName(has(categoryPresence, 4) ? readString(in) : null);
+            e.setCategory(c);
+        }
+        e.setLikeCount(has(presence, 15) ? readVarLong(in) : null);
+        e.setCommentCount(has(presence, 16) ? readVarLong(in) : null);
+        e.setUtilizationPercentage(has(presence, 17) ? in.readDouble() : null);
+        e.setIsActive(has(presence, 18) ? in.readBoolean() : null);
+        e.setIsSoldOut(has(presence, 19) ? in.readBoolean() : null);
+        e.setIsLive(has(presence, 20) ? in.readBoolean() : null);
+        e.setHasEnded(has(presence, 21) ? in.readBoolean() : null);
+        e.setCreatedAt(has(presence, 22) ? readDateTime(in) : null);
+        return e;
+    }
+
+    private void writeCategory(DataOutputStream out, EventCategoryResponse c) throws IOException {
+        writePresence(out, new Object[]{c.getCategoryId(), c.getName(), c.getDescription(), c.getColorCode(),
+                c.getIconName(), c.getIsActive(), c.getCreatedAt(), c.getUpdatedAt()});
+        writeString(out, c.getCategoryId());
+        writeString(out, c.getName());
+        writeString(out, c.getDescription());
+        writeString(out, c.getColorCode());
+        writeString(out, c.getIconName());
+        writeBoolean(out, c.getIsActive());
+        writeDateTime(out, c.getCreatedAt());
+        writeDateTime(out, c.getUpdatedAt());
+    }
+
+    private EventCategoryResponse readCategory(DataInputStream in) throws IOException {
+        long presence = readVarLong(in);
+        EventCategoryResponse c = new EventCategoryResponse();
+        c.setCategoryId(has(presence, 0) ? readString(in) : null);
+        c.setName(has(presence, 1) ? readString(in) : null);
+        c.setDescription(has(presence, 2) ? readString(in) : null);
+        c.setColorCode(has(presence, 3) ? readString(in) : null);
+        c.setIconName(has(presence, 4) ? readString(in) : null);
+        c.setIsActive(has(presence, 5) ? in.readBoolean() : null);
+        c.setCreatedAt(has(presence, 6) ? readDateTime(in) : null);
+        c.setUpdatedAt(has(presence, 7) ? readDateTime(in) : null);
+        return c;
+    }
+
+    // ========== PRIMITIVES (null fields are skipped; presence is recorded up front) ==========
+
+    private static void writePresence(DataOutputStream out, Object[] fields) throws IOException {
+        long presence = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                presence |= 1L << i;
+            }
+        }
+        writeVarLong(out, presence);
+    }
+
+    private static boolean has(long presence, int field) {
+        return (presence & (1L << field)) != 0;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value != null) {
+            writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        if (value != null) {
+            out.writeBoolean(value);
+        }
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        if (value != null) {
+            writeVarLong(out, value);
+        }
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value != null) {
+            writeVarLong(out, value.scale());
+            writeBytes(out, value.unscaledValue().toByteArray());
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = (int) readVarLong(in);
+        return new BigDecimal(new BigInteger(readBytes(in)), scale);
+    }
+
+    private static void writeDateTime(DataOutputStream out, ZonedDateTime value) throws IOException {
+        if (value != null) {
+            Instant instant = value.toInstant();
+            writeVarLong(out, instant.getEpochSecond());
+            writeVarLong(out, instant.getNano());
+            writeString(out, value.getZone().getId());
+        }
+    }
+
+    private static ZonedDateTime readDateTime(DataInputStream in) throws IOException {
+        Instant instant = Instant.ofEpochSecond(readVarLong(in), readVarLong(in));
+        return ZonedDateTime.ofInstant(instant, ZoneId.of(readString(in)));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    // Zig-zag encoded LEB128: small magnitudes (positive or negative) take one or two bytes
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigZag = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 63) {
+                throw new IOException("Malformed varint");
+            }
+            b = in.readUnsignedByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+}
@@ -0,0 +1,207 @@
+package com.atlan.evently.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator that indexes entries by the events and filters they depend on and
+ * protects them against stampedes.
+ *
+ * <p><strong>Dependency tracking:</strong> every {@link #put} records the entry under the tags
+ * produced by {@link EventCacheTags#forEntry}, so a write to one event only invalidates the
+ * pages and lists that actually contain it.
+ *
+ * <p><strong>Stale-while-revalidate:</strong> invalidation goes through {@link #markStale}, which
+ * moves the current value aside instead of deleting it. Synchronized lookups
+ * ({@code @Cacheable(sync = true)}) that miss but find a stale copy return it immediately
+ * while a single background refresh per key reloads the entry.
+ *
+ * <p><strong>Stampede protection:</strong> misses are loaded through a {@link SingleFlightLoader},
+ * so concurrent readers of a cold key wait for one loader instead of all querying the
+ * database. Values are stored in a {@link CachedValue} envelope with a jittered expiry, and
+ * hits close to that expiry are refreshed early in the background.
+ */
+@Slf4j
+public class DependencyTrackingCache implements Cache {
+
+    static final String STALE_SUFFIX = "::stale";
+
+    private final Cache delegate;
+    private final CacheDependencyIndex dependencyIndex;
+    private final SingleFlightLoader singleFlightLoader;
+    private final Executor refreshExecutor;
+    private final CacheRefreshPolicy refreshPolicy;
+    private final Duration baseTtl;
+    private final ConcurrentMap<Object, Boolean> refreshing = new ConcurrentHashMap<>();
+
+    public DependencyTrackingCache(Cache delegate, CacheDependencyIndex dependencyIndex,
+                                   SingleFlightLoader singleFlightLoader, Executor refreshExecutor,
+                                   CacheRefreshPolicy refreshPolicy, Duration baseTtl) {
+        this.delegate = delegate;
+        this.dependencyIndex = dependencyIndex;
+        this.singleFlightLoader = singleFlightLoader;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshPolicy = refreshPolicy;
+        this.baseTtl = baseTtl;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CachedValue cached = lookup(key);
+        return cached != null ? new SimpleValueWrapper(cached.getValue()) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        CachedValue cached = lookup(key);
+        if (cached == null) {
+            return null;
+        }
+        Object value = cached.getValue();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CachedValue cached = lookup(key);
+        if (cached != null) {
+            if (cached.shouldRefreshEarly(refreshPolicy.earlyExpirationBeta(), System.currentTimeMillis())) {
+                refreshInBackground(key, valueLoader, () -> null);
+            }
+            return (T) cached.getValue();
+        }
+
+        if (refreshPolicy.staleWhileRevalidate()) {
+            CachedValue stale = lookup(staleKey(key));
+            if (stale != null) {
+                refreshInBackground(key, valueLoader, () -> valueOf(lookup(key)));
+                return (T) stale.getValue();
+            }
+        }
+
+        try {
+            return (T) singleFlightLoader.load(getName(), key,
+                    () -> valueOf(lookup(key)), () -> loadAndPut(key, valueLoader));
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, value, 0);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        delegate.evict(staleKey(key));
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    /**
+     * Invalidates an entry. With stale-while-revalidate enabled the current value is kept
+     * aside so readers can be served from it while the entry is reloaded.
+     */
+    public void markStale(Object key) {
+        if (refreshPolicy.staleWhileRevalidate()) {
+            CachedValue current = lookup(key);
+            if (current != null && current.getValue() != null) {
+                long now = System.currentTimeMillis();
+                delegate.put(staleKey(key), new CachedValue(current.getValue(), 0, now + baseTtl.toMillis()));
+            }
+        }
+        delegate.evict(key);
+    }
+
+    private Object loadAndPut(Object key, Callable<?> valueLoader) throws Exception {
+        long start = System.nanoTime();
+        Object value = valueLoader.call();
+        if (value != null) {
+            store(key, value, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+        return value;
+    }
+
+    private void store(Object key, Object value, long computeMillis) {
+        long now = System.currentTimeMillis();
+        long ttlMillis = baseTtl.toMillis();
+        if (refreshPolicy.ttlJitter() > 0) {
+            ttlMillis -= (long) (ttlMillis * refreshPolicy.ttlJitter() * ThreadLocalRandom.current().nextDouble());
+        }
+
+        delegate.put(key, new CachedValue(value, computeMillis, now + ttlMillis));
+        delegate.evict(staleKey(key));
+        if (!dependencyIndex.record(getName(), key, EventCacheTags.forEntry(getName(), key, value))) {
+            // Untracked, so no write would invalidate it; the next read reloads instead
+            delegate.evict(key);
+        }
+    }
+
+    private void refreshInBackground(Object key, Callable<?> valueLoader, Supplier<Object> lookup) {
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return; // another reader already triggered the refresh
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    singleFlightLoader.load(getName(), key, lookup, () -> loadAndPut(key, valueLoader));
+                } catch (Exception e) {
+                    log.warn("Background refresh of {}::{} failed: {}", getName(), key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.debug("Refresh executor saturated, serving current {}::{} until next read", getName(), key);
+        }
+    }
+
+    private CachedValue lookup(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object stored = wrapper.get();
+        // Entries written before the envelope was introduced are served as-is
+        return stored instanceof CachedValue cached ? cached : new CachedValue(stored, 0, Long.MAX_VALUE);
+    }
+
+    private static Object valueOf(CachedValue cached) {
+        return cached != null ? cached.getValue() : null;
+    }
+
+    static String staleKey(Object key) {
+        return key + STALE_SUFFIX;
+    }
+}
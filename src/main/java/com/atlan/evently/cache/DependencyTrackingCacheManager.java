@@ -0,0 +1,52 @@
+package com.atlan.evently.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Cache manager that wraps the event caches in {@link DependencyTrackingCache}.
+ * Caches outside {@link EventCacheTags#TRACKED_CACHES} are returned undecorated.
+ */
+public class DependencyTrackingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheDependencyIndex dependencyIndex;
+    private final SingleFlightLoader singleFlightLoader;
+    private final Executor refreshExecutor;
+    private final CacheRefreshPolicy refreshPolicy;
+    private final Function<String, Duration> ttlResolver;
+    private final ConcurrentMap<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public DependencyTrackingCacheManager(CacheManager delegate, CacheDependencyIndex dependencyIndex,
+                                          SingleFlightLoader singleFlightLoader, Executor refreshExecutor,
+                                          CacheRefreshPolicy refreshPolicy, Function<String, Duration> ttlResolver) {
+        this.delegate = delegate;
+        this.dependencyIndex = dependencyIndex;
+        this.singleFlightLoader = singleFlightLoader;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshPolicy = refreshPolicy;
+        this.ttlResolver = ttlResolver;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null || !EventCacheTags.TRACKED_CACHES.contains(name)) {
+            return cache;
+        }
+        return decorated.computeIfAbsent(name, n -> new DependencyTrackingCache(cache, dependencyIndex,
+                singleFlightLoader, refreshExecutor, refreshPolicy, ttlResolver.apply(n)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,84 @@
+package com.atlan.evently.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Targeted invalidation of event caches after an event is written.
+ *
+ * <p>Only the detail entry of the written event and the listing entries recorded under its
+ * tags are invalidated; unrelated pages and categories stay warm. Invalidation runs after the
+ * surrounding transaction commits so a concurrent reload can never re-cache the old row.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final CacheDependencyIndex dependencyIndex;
+
+    /**
+     * Invalidates the entries that contain the event plus every listing under {@code filterTags}.
+     *
+     * @param eventId    the written event
+     * @param filterTags filter tags whose listings may have gained, lost or reordered the event;
+     *                   empty when only display fields changed
+     */
+    public void invalidateEvent(UUID eventId, Collection<String> filterTags) {
+        Set<String> tags = new LinkedHashSet<>();
+        tags.add(EventCacheTags.event(eventId));
+        tags.addAll(filterTags);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(eventId, tags);
+                }
+            });
+        } else {
+            invalidateNow(eventId, tags);
+        }
+    }
+
+    private void invalidateNow(UUID eventId, Set<String> tags) {
+        markStale(EventCacheTags.EVENT_DETAILS, eventId.toString());
+
+        try {
+            Set<CacheDependencyIndex.EntryRef> refs = dependencyIndex.drain(tags);
+            refs.forEach(ref -> markStale(ref.cacheName(), ref.key()));
+            log.info("Invalidated {} cache entries for event {} (tags: {})", refs.size(), eventId, tags);
+        } catch (Exception e) {
+            // Without the index we cannot tell which entries are affected - fall back to a full flush
+            log.warn("Cache dependency lookup failed for event {}, clearing event caches: {}", eventId, e.getMessage());
+            EventCacheTags.TRACKED_CACHES.forEach(this::clear);
+        }
+    }
+
+    private void markStale(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof DependencyTrackingCache tracking) {
+            tracking.markStale(key);
+        } else if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
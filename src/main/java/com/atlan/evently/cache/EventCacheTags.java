@@ -0,0 +1,119 @@
+package com.atlan.evently.cache;
+
+import com.atlan.evently.dto.EventResponse;
+import com.atlan.evently.model.Event;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Names of the event caches and the dependency tags their entries are indexed under.
+ *
+ * <p>Two kinds of tags exist:
+ * <ul>
+ *   <li><strong>Event tags</strong> ({@code event:<id>}) - recorded for every event contained in a cached value</li>
+ *   <li><strong>Filter tags</strong> ({@code filter:...}) - recorded for listing entries whose membership
+ *       depends on a filter, so newly matching events can invalidate them</li>
+ * </ul>
+ */
+public final class EventCacheTags {
+
+    public static final String EVENTS = "events";
+    public static final String EVENT_DETAILS = "event-details";
+    public static final String EVENTS_BY_CATEGORY = "events-by-category";
+    public static final String ONLINE_EVENTS = "online-events";
+    public static final String FREE_EVENTS = "free-events";
+    public static final String POPULAR_EVENTS = "popular-events";
+    public static final String HIGH_ENGAGEMENT_EVENTS = "high-engagement-events";
+
+    public static final Set<String> TRACKED_CACHES = Set.of(
+            EVENTS, EVENT_DETAILS, EVENTS_BY_CATEGORY, ONLINE_EVENTS,
+            FREE_EVENTS, POPULAR_EVENTS, HIGH_ENGAGEMENT_EVENTS);
+
+    static final String UPCOMING = "filter:upcoming";
+    static final String ONLINE = "filter:online";
+    static final String FREE = "filter:free";
+
+    private EventCacheTags() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static String event(Object eventId) {
+        return "event:" + eventId;
+    }
+
+    public static String category(Object categoryId) {
+        return "filter:category:" + categoryId;
+    }
+
+    /**
+     * Filter tags of every listing the given event can appear in.
+     */
+    public static Set<String> forEvent(Event event) {
+        Set<String> tags = new LinkedHashSet<>();
+        tags.add(UPCOMING);
+        if (event.getCategory() != null && event.getCategory().getId() != null) {
+            tags.add(category(event.getCategory().getId()));
+        }
+        if (Boolean.TRUE.equals(event.getIsOnline())) {
+            tags.add(ONLINE);
+        }
+        if (event.getTicketPrice() != null && event.getTicketPrice().compareTo(BigDecimal.ZERO) == 0) {
+            tags.add(FREE);
+        }
+        return tags;
+    }
+
+    /**
+     * Tags for a cache entry: one per contained event plus the filter tag of its listing.
+     */
+    public static Set<String> forEntry(String cacheName, Object key, Object value) {
+        Set<String> tags = new LinkedHashSet<>();
+        collectEventTags(value, tags);
+
+        switch (cacheName) {
+            case EVENTS -> tags.add(UPCOMING);
+            case ONLINE_EVENTS -> tags.add(ONLINE);
+            case FREE_EVENTS -> tags.add(FREE);
+            case EVENTS_BY_CATEGORY -> {
+                String categoryId = categoryIdFromKey(key);
+                if (categoryId != null) {
+                    tags.add(category(categoryId));
+                }
+            }
+            default -> { }
+        }
+        return tags;
+    }
+
+    private static void collectEventTags(Object value, Set<String> tags) {
+        if (value instanceof EventResponse response) {
+            if (response.getEventId() != null) {
+                tags.add(event(response.getEventId()));
+            }
+        } else if (value instanceof Page<?> page) {
+            page.getContent().forEach(item -> collectEventTags(item, tags));
+        } else if (value instanceof Iterable<?> items) {
+            items.forEach(item -> collectEventTags(item, tags));
+        }
+    }
+
+    // Keys look like "<categoryId>-<page>-<size>"; the category UUID itself contains dashes
+    private static String categoryIdFromKey(Object key) {
+        String raw = String.valueOf(key);
+        int sizeSeparator = raw.lastIndexOf('-');
+        int pageSeparator = sizeSeparator > 0 ? raw.lastIndexOf('-', sizeSeparator - 1) : -1;
+        if (pageSeparator <= 0) {
+            return null;
+        }
+        String candidate = raw.substring(0, pageSeparator);
+        try {
+            return UUID.fromString(candidate).toString();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
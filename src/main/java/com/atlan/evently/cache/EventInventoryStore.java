@@ -0,0 +1,269 @@
+package com.atlan.evently.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Live seat inventory per event, kept in Redis apart from the cached event details.
+ *
+ * <p>Each event is a hash {@code event-inventory::{<eventId>}} with {@code capacity} and
+ * {@code available}. Reservations and cancellations adjust it after their transaction
+ * commits; adjustments to an absent hash are dropped so the next read seeds it from the
+ * database instead of from a partial count. Hashes carry a short TTL, which bounds any
+ * drift from a lost adjustment.
+ *
+ * <p>A seed must not race a write: a reader that loaded its counts before a reservation
+ * committed, but seeds after the reservation's adjustment was dropped, would keep the stale
+ * count for the whole TTL; one that loaded them after the commit but seeds before the
+ * adjustment runs would see it applied twice. So every write is guarded by a second hash,
+ * {@code event-inventory-writes::{<eventId>}}: before its transaction commits, a write
+ * raises the event's generation and its count of writes in flight, and lowers the count
+ * once its adjustment is applied. A reader takes the generation with {@link #beginSeed}
+ * before its database read and {@link #seed} only succeeds if no write has started since
+ * and none is in flight.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventInventoryStore {
+
+    private static final String KEY_PREFIX = "event-inventory::";
+    private static final String WRITES_KEY_PREFIX = "event-inventory-writes::";
+    private static final String CAPACITY = "capacity";
+    private static final String AVAILABLE = "available";
+
+    // Longest a write may take between its commit starting and its adjustment; a write guard
+    // left behind by a crashed instance stops seeding for at most this long
+    private static final long WRITE_GUARD_TTL_SECONDS = 60;
+
+    // Adjust only a seeded hash; never let a lone increment create one
+    private static final RedisScript<Long> ADJUST_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "  return redis.call('HINCRBY', KEYS[1], 'available', ARGV[1]) " +
+            "end " +
+            "return nil", Long.class);
+
+    // New generation from the server clock, so it keeps rising even after the guard expires
+    private static final RedisScript<Long> BEGIN_WRITE = new DefaultRedisScript<>(
+            "local time = redis.call('TIME') " +
+            "local generation = tonumber(time[1]) * 1000000 + tonumber(time[2]) " +
+            "local previous = tonumber(redis.call('HGET', KEYS[1], 'generation') or '0') " +
+            "if generation <= previous then generation = previous + 1 end " +
+            "redis.call('HSET', KEYS[1], 'generation', string.format('%.0f', generation)) " +
+            "redis.call('HINCRBY', KEYS[1], 'in_flight', 1) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1", Long.class);
+
+    private static final RedisScript<Long> END_WRITE = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 and tonumber(redis.call('HGET', KEYS[1], 'in_flight') or '0') > 0 then " +
+            "  redis.call('HINCRBY', KEYS[1], 'in_flight', -1) " +
+            "end " +
+            "return 1", Long.class);
+
+    // Current generation, or -1 while a write is in flight
+    private static final RedisScript<Long> BEGIN_SEED = new DefaultRedisScript<>(
+            "local guard = redis.call('HMGET', KEYS[1], 'generation', 'in_flight') " +
+            "if tonumber(guard[2] or '0') > 0 then return -1 end " +
+            "return tonumber(guard[1] or '0')", Long.class);
+
+    // Seed with its TTL in one step, unless the hash exists or a write started since beginSeed
+    private static final RedisScript<Long> SEED_IF_UNCHANGED = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "local guard = redis.call('HMGET', KEYS[2], 'generation', 'in_flight') " +
+            "if tonumber(guard[2] or '0') > 0 or tonumber(guard[1] or '0') ~= tonumber(ARGV[4]) then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'capacity', ARGV[1], 'available', ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${evently.inventory.ttl:300}")
+    private long inventoryTtlSeconds;
+
+    /**
+     * Current inventory for the event, or empty when it is not seeded (or Redis is unavailable).
+     */
+    public Optional<EventInventory> get(UUID eventId) {
+        try {
+            List<Object> values = redisTemplate.opsForHash().multiGet(key(eventId), List.of(CAPACITY, AVAILABLE));
+            if (values == null || values.get(0) == null || values.get(1) == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new EventInventory(
+                    Integer.parseInt((String) values.get(0)), Integer.parseInt((String) values.get(1))));
+        } catch (DataAccessException e) {
+            log.warn("Failed to read live inventory for event {}: {}", eventId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Call before reading the seat counts to seed with; pass the result to {@link #seed}.
+     * Empty while a write to the event is committing, as the read couldn't tell whether it
+     * sees that write; the caller should then serve its read without seeding.
+     */
+    public OptionalLong beginSeed(UUID eventId) {
+        try {
+            Long generation = redisTemplate.execute(BEGIN_SEED, List.of(writesKey(eventId)));
+            return generation == null || generation < 0 ? OptionalLong.empty() : OptionalLong.of(generation);
+        } catch (DataAccessException e) {
+            log.warn("Failed to read write guard for event {}: {}", eventId, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Seeds the inventory with values read from the database, unless it is already seeded
+     * (a hash that exists may already carry adjustments this read didn't see) or a write to
+     * the event started after {@link #beginSeed}. The hash and its TTL are written
+     * atomically, so it can never be left without an expiry.
+     *
+     * @return whether the hash was seeded
+     */
+    public boolean seed(UUID eventId, long generation, EventInventory inventory) {
+        try {
+            Long seeded = redisTemplate.execute(SEED_IF_UNCHANGED, List.of(key(eventId), writesKey(eventId)),
+                    String.valueOf(inventory.capacity()), String.valueOf(inventory.availableSeats()),
+                    String.valueOf(inventoryTtlSeconds), String.valueOf(generation));
+            return seeded != null && seeded == 1L;
+        } catch (DataAccessException e) {
+            log.warn("Failed to seed live inventory for event {}: {}", eventId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Applies a change in available seats once the surrounding transaction commits.
+     *
+     * @param delta negative for reservations, positive for released seats
+     */
+    public void adjustAfterCommit(UUID eventId, int delta) {
+        guardedWrite(eventId, () -> adjust(eventId, delta));
+    }
+
+    /**
+     * Drops the inventory once the surrounding transaction commits, e.g. after a capacity change.
+     */
+    public void resetAfterCommit(UUID eventId) {
+        guardedWrite(eventId, () -> reset(eventId));
+    }
+
+    // Raises the write guard before the commit and lowers it once the change is applied
+    private void guardedWrite(UUID eventId, Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            boolean guarded = beginWrite(eventId);
+            applyWrite(eventId, guarded, change);
+            if (guarded) {
+                endWrite(eventId);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean guarded;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                guarded = beginWrite(eventId);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    applyWrite(eventId, guarded, change);
+                } else if (status == STATUS_UNKNOWN) {
+                    reset(eventId);
+                }
+                if (guarded) {
+                    endWrite(eventId);
+                }
+            }
+        });
+    }
+
+    private void applyWrite(UUID eventId, boolean guarded, Runnable change) {
+        if (guarded) {
+            change.run();
+        } else {
+            // Unguarded, a reader may have seeded around this write; drop what it seeded
+            reset(eventId);
+        }
+    }
+
+    private boolean beginWrite(UUID eventId) {
+        try {
+            redisTemplate.execute(BEGIN_WRITE, List.of(writesKey(eventId)), String.valueOf(WRITE_GUARD_TTL_SECONDS));
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Failed to raise write guard for event {}: {}", eventId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void endWrite(UUID eventId) {
+        try {
+            redisTemplate.execute(END_WRITE, List.of(writesKey(eventId)));
+        } catch (DataAccessException e) {
+            // Seeding resumes once the guard expires
+            log.warn("Failed to lower write guard for event {}: {}", eventId, e.getMessage());
+        }
+    }
+
+    private void adjust(UUID eventId, int delta) {
+        try {
+            redisTemplate.execute(ADJUST_IF_PRESENT, List.of(key(eventId)), String.valueOf(delta));
+        } catch (DataAccessException e) {
+            // Drop the hash so the next read re-seeds from the database
+            log.warn("Failed to adjust live inventory for event {}: {}", eventId, e.getMessage());
+            reset(eventId);
+        }
+    }
+
+    private void reset(UUID eventId) {
+        try {
+            redisTemplate.delete(key(eventId));
+        } catch (DataAccessException e) {
+            // Expires on its own within the inventory TTL
+            log.warn("Failed to reset live inventory for event {}: {}", eventId, e.getMessage());
+        }
+    }
+
+    // Hash-tagged so a script can use both keys of an event on Redis Cluster
+    private static String key(UUID eventId) {
+        return KEY_PREFIX + "{" + eventId + "}";
+    }
+
+    private static String writesKey(UUID eventId) {
+        return WRITES_KEY_PREFIX + "{" + eventId + "}";
+    }
+
+    /**
+     * Seat counts for one event.
+     */
+    public record EventInventory(int capacity, int availableSeats) {
+
+        public int bookedSeats() {
+            return capacity - availableSeats;
+        }
+
+        public boolean soldOut() {
+            return availableSeats <= 0;
+        }
+
+        public double utilizationPercentage() {
+            return capacity > 0 ? ((double) bookedSeats() / capacity) * 100.0 : 0.0;
+        }
+    }
+}
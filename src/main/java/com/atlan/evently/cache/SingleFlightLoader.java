@@ -0,0 +1,116 @@
+package com.atlan.evently.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Ensures only one loader per cache key runs at a time.
+ *
+ * <p>Within a node, concurrent misses for the same key share a single in-flight future.
+ * When a {@link RedissonClient} is available the flight leader additionally takes a
+ * distributed lock, so only one node in the cluster reloads the key while the others
+ * pick up its result from Redis. Lock acquisition failures fail open: the leader
+ * loads anyway rather than leaving readers without a value.
+ */
+@Slf4j
+public class SingleFlightLoader {
+
+    private static final String LOCK_PREFIX = "cache-load::";
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final RedissonClient redissonClient;
+    private final Duration lockWait;
+    private final Duration lockLease;
+
+    /**
+     * @param redissonClient client for cluster-wide locking, or {@code null} for node-local single flight
+     */
+    public SingleFlightLoader(RedissonClient redissonClient, Duration lockWait, Duration lockLease) {
+        this.redissonClient = redissonClient;
+        this.lockWait = lockWait;
+        this.lockLease = lockLease;
+    }
+
+    /**
+     * Loads the value for a key, joining an in-flight load if one exists.
+     *
+     * @param lookup re-reads the cache; a non-null result short-circuits the load
+     * @param loader computes and caches the value
+     */
+    public Object load(String cacheName, Object key, Supplier<Object> lookup, Callable<Object> loader) throws Exception {
+        String flightKey = cacheName + "::" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            Object value = loadOnce(flightKey, lookup, loader);
+            flight.complete(value);
+            return value;
+        } catch (Exception e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private Object loadOnce(String flightKey, Supplier<Object> lookup, Callable<Object> loader) throws Exception {
+        // A previous flight may have completed between our cache miss and joining
+        Object present = lookup.get();
+        if (present != null) {
+            return present;
+        }
+        if (redissonClient == null) {
+            return loader.call();
+        }
+
+        RLock lock = redissonClient.getLock(LOCK_PREFIX + flightKey);
+        boolean locked;
+        try {
+            locked = lock.tryLock(lockWait.toMillis(), lockLease.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Cluster load lock unavailable for {}, loading locally: {}", flightKey, e.getMessage());
+            return loader.call();
+        }
+
+        try {
+            if (!locked) {
+                log.debug("Timed out waiting for cluster load lock on {}, loading locally", flightKey);
+            }
+            // Another node may have populated the entry while we waited
+            present = lookup.get();
+            return present != null ? present : loader.call();
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight) throws Exception {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.atlan.evently.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * Unread notification count per user, kept in Redis so badge polling doesn't run a
+ * {@code COUNT} query each time.
+ *
+ * <p>Each user is a string key {@code notification-unread::<userId>}, seeded from the
+ * database on first read with a TTL. Inserts, reads and deletes adjust it after their
+ * transaction commits; as with {@link EventInventoryStore}, adjustments to an absent key are
+ * dropped so the next read seeds it from the database instead of from a partial count, and a
+ * failed adjustment drops the key. Counts never go below zero. Remaining drift, e.g. from a
+ * seed racing an insert, is corrected by {@link #reconcile}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadNotificationCounter {
+
+    private static final String KEY_PREFIX = "notification-unread::";
+
+    // Adjust only a seeded counter, clamped at zero; returns the new count or nil
+    private static final RedisScript<Long> ADJUST_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return nil end " +
+            "local count = redis.call('INCRBY', KEYS[1], ARGV[1]) " +
+            "if count < 0 then redis.call('SET', KEYS[1], 0, 'KEEPTTL') return 0 end " +
+            "return count", Long.class);
+
+    // Overwrite only if nothing changed the counter since it was read
+    private static final RedisScript<Long> REPLACE_IF_UNCHANGED = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  redis.call('SET', KEYS[1], ARGV[2], 'KEEPTTL') return 1 " +
+            "end " +
+            "return 0", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${evently.notifications.unread-counter.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    /**
+     * The user's count, or empty when it is not seeded (or Redis is unavailable).
+     */
+    public Optional<Long> get(UUID userId) {
+        try {
+            String value = redisTemplate.opsForValue().get(key(userId));
+            return value == null ? Optional.empty() : Optional.of(Long.parseLong(value));
+        } catch (DataAccessException e) {
+            log.warn("Failed to read unread count for user {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Seeds the counter with the authoritative count, unless another caller got there first.
+     */
+    public void seed(UUID userId, long count) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(key(userId), String.valueOf(count), Duration.ofSeconds(ttlSeconds));
+        } catch (DataAccessException e) {
+            log.warn("Failed to seed unread count for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Applies a change once the surrounding transaction commits and passes the new count to
+     * {@code onChange}. Nothing is passed if the counter isn't seeded.
+     *
+     * @param delta positive for new notifications, negative for read or deleted ones
+     */
+    public void adjustAfterCommit(UUID userId, long delta, LongConsumer onChange) {
+        afterCommit(() -> {
+            Long count = adjust(userId, delta);
+            if (count != null) {
+                onChange.accept(count);
+            }
+        });
+    }
+
+    /**
+     * Reconciles every seeded counter with {@code countUnread}, which is given a batch of user
+     * ids and returns their authoritative counts in the same order. Corrected counts are passed
+     * to {@code onCorrected}. A counter that changes while its batch is being counted is left
+     * for the next run.
+     *
+     * @return how many counters were corrected
+     */
+    public int reconcile(int batchSize, Function<List<UUID>, List<Long>> countUnread,
+                         Consumer<Correction> onCorrected) {
+        int corrected = 0;
+        List<String> keys = new ArrayList<>(batchSize);
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(batchSize).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() == batchSize) {
+                    corrected += reconcileBatch(keys, countUnread, onCorrected);
+                    keys.clear();
+                }
+            }
+        }
+        if (!keys.isEmpty()) {
+            corrected += reconcileBatch(keys, countUnread, onCorrected);
+        }
+        return corrected;
+    }
+
+    private int reconcileBatch(List<String> keys, Function<List<UUID>, List<Long>> countUnread,
+                               Consumer<Correction> onCorrected) {
+        List<String> cached = redisTemplate.opsForValue().multiGet(keys);
+        List<UUID> userIds = keys.stream().map(key -> UUID.fromString(key.substring(KEY_PREFIX.length()))).toList();
+        List<Long> actual = countUnread.apply(userIds);
+
+        int corrected = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            String seen = cached == null ? null : cached.get(i);
+            String expected = String.valueOf(actual.get(i));
+            if (seen == null || seen.equals(expected)) {
+                continue;
+            }
+            Long replaced = redisTemplate.execute(REPLACE_IF_UNCHANGED, List.of(keys.get(i)), seen, expected);
+            if (replaced != null && replaced == 1L) {
+                corrected++;
+                onCorrected.accept(new Correction(userIds.get(i), Long.parseLong(seen), actual.get(i)));
+            }
+        }
+        return corrected;
+    }
+
+    private Long adjust(UUID userId, long delta) {
+        try {
+            return redisTemplate.execute(ADJUST_IF_PRESENT, List.of(key(userId)), String.valueOf(delta));
+        } catch (DataAccessException e) {
+            // Drop the counter so the next read re-seeds from the database
+            log.warn("Failed to adjust unread count for user {}: {}", userId, e.getMessage());
+            reset(userId);
+            return null;
+        }
+    }
+
+    private void reset(UUID userId) {
+        try {
+            redisTemplate.delete(key(userId));
+        } catch (DataAccessException e) {
+            // Expires on its own within the TTL
+            log.warn("Failed to reset unread count for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String key(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    /**
+     * A counter that had drifted from the database.
+     */
+    public record Correction(UUID userId, long was, long count) {
+    }
+}
@@ -1,11 +1,15 @@
 package com.atlan.evently.config;
 
+import com.atlan.evently.util.KeyOrderedExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -34,4 +38,40 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Threads for {@link KeyOrderedExecutor} in the Kafka listeners. Tasks keep the
+     * submitting listener's {@link Workload}, so their queries use the same pool; when the
+     * queue is full the listener thread runs the task itself.
+     */
+    @Bean(name = "consumerExecutor")
+    public Executor consumerExecutor(@Value("${evently.kafka.consumer.key-parallelism:8}") int keyParallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(keyParallelism);
+        executor.setMaxPoolSize(keyParallelism);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("consumer-key-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(task -> WorkloadContext.current()
+                .<Runnable>map(workload -> () -> WorkloadContext.run(workload, task))
+                .orElse(task));
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public KeyOrderedExecutor keyOrderedExecutor(@Qualifier("consumerExecutor") Executor consumerExecutor) {
+        return new KeyOrderedExecutor(consumerExecutor);
+    }
+
+    @Bean(name = "cacheRefreshExecutor")
+    public Executor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);         // Background stale-while-revalidate reloads
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(200);      // Rejected refreshes keep serving the stale value
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -1,35 +1,74 @@
 package com.atlan.evently.config;
 
+import com.atlan.evently.cache.CacheDependencyIndex;
+import com.atlan.evently.cache.CacheRefreshPolicy;
+import com.atlan.evently.cache.CachedValueTtl;
+import com.atlan.evently.cache.CompactCacheSerializer;
+import com.atlan.evently.cache.DependencyTrackingCacheManager;
+import com.atlan.evently.cache.SingleFlightLoader;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 @Configuration
-@EnableCaching
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE) // Cache hits return before a transaction/connection is opened
 public class CacheConfig {
 
     @Value("${evently.cache.events.ttl:300}")
     private int eventsCacheTtl;
 
-    @Value("${evently.cache.event-details.ttl:600}")
+    @Value("${evently.cache.event-details.ttl:14400}")
     private int eventDetailsCacheTtl;
 
+    @Value("${evently.cache.trending.ttl:5}")
+    private int trendingCacheTtl;
+
+    @Value("${evently.cache.codec:compact}")
+    private String cacheCodec;
+
+    @Value("${evently.cache.compression.threshold-bytes:1024}")
+    private int compressionThresholdBytes;
+
+    @Value("${evently.cache.stale-while-revalidate.enabled:true}")
+    private boolean staleWhileRevalidate;
+
+    @Value("${evently.cache.ttl-jitter:0.1}")
+    private double ttlJitter;
+
+    @Value("${evently.cache.early-expiration-beta:1.0}")
+    private double earlyExpirationBeta;
+
+    @Value("${evently.cache.single-flight.cluster-lock.enabled:true}")
+    private boolean clusterLockEnabled;
+
+    @Value("${evently.cache.single-flight.cluster-lock.wait-ms:2000}")
+    private long clusterLockWaitMs;
+
+    @Value("${evently.cache.single-flight.cluster-lock.lease-ms:10000}")
+    private long clusterLockLeaseMs;
+
     @Bean
     public ObjectMapper cacheObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
@@ -45,14 +84,17 @@ public class CacheConfig {
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        // Default cache configuration
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     CacheDependencyIndex cacheDependencyIndex,
+                                     @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor,
+                                     ObjectProvider<RedissonClient> redissonClient) {
+        // Default cache configuration (TTL honours the jittered expiry stored in CachedValue envelopes)
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofSeconds(300)) // 5 minutes default
+                .entryTtl(new CachedValueTtl(Duration.ofSeconds(300))) // 5 minutes default
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer(cacheObjectMapper())))
+                        .fromSerializer(cacheValueSerializer()))
                 .disableCachingNullValues();
 
         // Custom configurations for different cache types
@@ -60,24 +102,55 @@ public class CacheConfig {
         
         // Events list cache (shorter TTL, changes frequently)
         cacheConfigurations.put("events", defaultConfig
-                .entryTtl(Duration.ofSeconds(eventsCacheTtl)));
+                .entryTtl(new CachedValueTtl(Duration.ofSeconds(eventsCacheTtl))));
         
-        // Event details cache (longer TTL, less frequent changes)
+        // Event details cache (static part only - live seat counts are merged in by EventInventoryService)
         cacheConfigurations.put("event-details", defaultConfig
-                .entryTtl(Duration.ofSeconds(eventDetailsCacheTtl)));
+                .entryTtl(new CachedValueTtl(Duration.ofSeconds(eventDetailsCacheTtl))));
         
+        // Trending snapshots are republished every few seconds - cache only as long
+        cacheConfigurations.put("high-engagement-events", defaultConfig
+                .entryTtl(new CachedValueTtl(Duration.ofSeconds(trendingCacheTtl))));
+        cacheConfigurations.put("trending-by-category", defaultConfig
+                .entryTtl(new CachedValueTtl(Duration.ofSeconds(trendingCacheTtl))));
+
         // Analytics cache (very short TTL, compute-intensive)
         cacheConfigurations.put("analytics", defaultConfig
-                .entryTtl(Duration.ofSeconds(60)));
+                .entryTtl(new CachedValueTtl(Duration.ofSeconds(60))));
 
         // User profiles cache (medium TTL)
         cacheConfigurations.put("users", defaultConfig
-                .entryTtl(Duration.ofSeconds(1800))); // 30 minutes
+                .entryTtl(new CachedValueTtl(Duration.ofSeconds(1800)))); // 30 minutes
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        redisCacheManager.afterPropertiesSet(); // Not a bean itself - apply the initial configurations
+
+        // One loader per key per node, or per cluster when Redisson is available
+        SingleFlightLoader singleFlightLoader = new SingleFlightLoader(
+                clusterLockEnabled ? redissonClient.getIfAvailable() : null,
+                Duration.ofMillis(clusterLockWaitMs), Duration.ofMillis(clusterLockLeaseMs));
+        CacheRefreshPolicy refreshPolicy = new CacheRefreshPolicy(staleWhileRevalidate, ttlJitter, earlyExpirationBeta);
+
+        // Event caches are indexed by dependency for targeted invalidation
+        return new DependencyTrackingCacheManager(redisCacheManager, cacheDependencyIndex,
+                singleFlightLoader, cacheRefreshExecutor, refreshPolicy,
+                name -> cacheConfigurations.getOrDefault(name, defaultConfig).getTtlFunction().getTimeToLive(name, null));
+    }
+
+    /**
+     * Value codec for Redis caches: {@code compact} (binary, LZ4 above the threshold) or {@code json}.
+     * The compact codec still reads entries written by the JSON codec.
+     */
+    private RedisSerializer<Object> cacheValueSerializer() {
+        RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer(cacheObjectMapper());
+        return switch (cacheCodec.toLowerCase()) {
+            case "json" -> json;
+            case "compact" -> new CompactCacheSerializer(json, compressionThresholdBytes);
+            default -> throw new IllegalArgumentException("Unknown cache codec: " + cacheCodec);
+        };
     }
 
     @Bean
@@ -1,19 +1,167 @@
 package com.atlan.evently.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 
 @Configuration
+@RequiredArgsConstructor
 public class DatabaseConfig {
 
+    private final Environment environment;
+
+    @Value("${evently.datasource.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${evently.datasource.replicas.maximum-pool-size:20}")
+    private int replicaPoolSize;
+
+    @Value("${evently.datasource.replicas.connection-timeout-ms:2000}")
+    private long replicaConnectionTimeoutMs;
+
+    // ========== DATA SOURCES ==========
+
+    /**
+     * The booking pool, configured from {@code spring.datasource.*} as before. It is also the
+     * pool for any write that isn't annotated with another {@link Workload}.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(Workload.Type.BOOKING.getPoolName());
+        applyStatementTimeout(dataSource, Workload.Type.BOOKING);
+        return dataSource;
+    }
+
+    /**
+     * One pool per workload and per {@code evently.datasource.replicas.urls} entry. Workload
+     * pools read {@code evently.datasource.workloads.<name>.*}: maximum-pool-size,
+     * connection-timeout-ms, statement-timeout-ms, and an optional url (e.g. to point
+     * analytics at a replica). Every pool exports {@code hikaricp.*} metrics tagged with its
+     * name, plus {@code evently.datasource.pool.utilization} (active / maximum connections).
+     */
+    @Bean
+    public WorkloadRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                      DataSourceProperties properties,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<Workload.Type, DataSource> workloadPools = new EnumMap<>(Workload.Type.class);
+        workloadPools.put(Workload.Type.BOOKING, primaryDataSource);
+        meterRegistry.ifAvailable(registry -> registerUtilization(registry, primaryDataSource));
+
+        for (Workload.Type workload : Workload.Type.values()) {
+            if (workload == Workload.Type.BOOKING) {
+                continue;
+            }
+            String prefix = "evently.datasource.workloads." + workload.getPoolName() + ".";
+            String url = environment.getProperty(prefix + "url", "");
+            HikariDataSource pool = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.isBlank() ? properties.determineUrl() : url)
+                    .build();
+            pool.setPoolName(workload.getPoolName());
+            pool.setMaximumPoolSize(environment.getProperty(prefix + "maximum-pool-size", Integer.class,
+                    workload.getDefaultPoolSize()));
+            pool.setConnectionTimeout(environment.getProperty(prefix + "connection-timeout-ms", Long.class,
+                    workload.getDefaultConnectionTimeoutMs()));
+            applyStatementTimeout(pool, workload);
+            meterRegistry.ifAvailable(registry -> instrument(registry, pool));
+            workloadPools.put(workload, pool);
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<String> urls = replicaUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .build();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setConnectionTimeout(replicaConnectionTimeoutMs);
+            replica.setReadOnly(true);
+            applyStatementTimeout(replica, Workload.Type.READ);
+            meterRegistry.ifAvailable(registry -> instrument(registry, replica));
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new WorkloadRoutingDataSource(workloadPools, replicas);
+    }
+
+    /**
+     * Flyway's own unpooled connections to the primary, without any workload's statement
+     * timeout: backfills, table copies and index builds run far longer than a booking statement
+     * may, and through the routing data source they would land on the booking pool.
+     */
+    @Bean
+    @FlywayDataSource
+    public DataSource flywayDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+    }
+
+    /**
+     * What JPA and JdbcTemplate use. The lazy proxy defers the physical connection
+     * until the first statement, after the transaction's read-only flag and workload are known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // Postgres only: a runaway statement fails instead of holding its pool's connection
+    private void applyStatementTimeout(HikariDataSource pool, Workload.Type workload) {
+        long timeoutMs = environment.getProperty("evently.datasource.workloads." + workload.getPoolName()
+                + ".statement-timeout-ms", Long.class, workload.getDefaultStatementTimeoutMs());
+        if (timeoutMs > 0 && pool.getJdbcUrl() != null && pool.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+            pool.setConnectionInitSql("SET statement_timeout = " + timeoutMs);
+        }
+    }
+
+    private static void instrument(MeterRegistry registry, HikariDataSource pool) {
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        registerUtilization(registry, pool);
+    }
+
+    private static void registerUtilization(MeterRegistry registry, HikariDataSource pool) {
+        Gauge.builder("evently.datasource.pool.utilization", pool, DatabaseConfig::utilization)
+                .tag("pool", pool.getPoolName())
+                .description("Active connections as a fraction of the pool maximum")
+                .register(registry);
+    }
+
+    private static double utilization(HikariDataSource pool) {
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        return bean == null ? 0.0 : (double) bean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+
+    // ========== JPA ==========
+
     @Bean
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
@@ -26,6 +174,9 @@ public class DatabaseConfig {
         jpaProperties.setProperty("hibernate.hbm2ddl.auto", "none"); // Flyway handles schema
         jpaProperties.setProperty("hibernate.show_sql", "false");
         jpaProperties.setProperty("hibernate.format_sql", "true");
+        // Group inserts of the same entity into JDBC batches (e.g. saveAll of notifications)
+        jpaProperties.setProperty("hibernate.jdbc.batch_size", "50");
+        jpaProperties.setProperty("hibernate.order_inserts", "true");
         em.setJpaProperties(jpaProperties);
 
         return em;
@@ -35,4 +186,4 @@ public class DatabaseConfig {
     public PlatformTransactionManager transactionManager(LocalContainerEntityManagerFactoryBean entityManagerFactory) {
         return new JpaTransactionManager(Objects.requireNonNull(entityManagerFactory.getObject()));
     }
-}
\ No newline at end of file
+}
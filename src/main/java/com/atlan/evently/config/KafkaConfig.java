@@ -1,8 +1,16 @@
 package com.atlan.evently.config;
 
+import com.atlan.evently.dto.events.EventActivityEvent;
+import com.atlan.evently.messaging.AvroEventDeserializer;
+import com.atlan.evently.messaging.AvroEventSerializer;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,11 +20,18 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
@@ -28,21 +43,86 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id:evently-consumer-group}")
     private String groupId;
 
+    // Raising the count on a running cluster adds partitions; keys already in flight may be
+    // consumed out of order once while they move to their new partition
+    @Value("${evently.kafka.topics.partitions:3}")
+    private int partitions;
+
+    @Value("${evently.kafka.topics.replicas:1}")
+    private int replicas;
+
+    // Listener threads per container; more than the partition count leaves threads idle, so
+    // listeners scale further through KeyOrderedExecutor
+    @Value("${spring.kafka.listener.concurrency:3}")
+    private int concurrency;
+
+    // json or avro (AvroEventSerializer); consumers read both, so producers stay on JSON until
+    // every consumer runs a version that understands Avro and the setting is switched
+    @Value("${evently.kafka.wire-format:json}")
+    private String wireFormat;
+
     // ========== TOPIC CONFIGURATION ==========
 
     @Bean
     public NewTopic bookingCancelledTopic() {
         return TopicBuilder.name("booking-cancelled")
-                .partitions(3)  // Allows parallel processing
-                .replicas(1)    // Single replica for development
+                .partitions(partitions)  // Allows parallel processing
+                .replicas(replicas)
                 .build();
     }
 
     @Bean
     public NewTopic waitlistNotificationTopic() {
         return TopicBuilder.name("waitlist-notification")
-                .partitions(3)
-                .replicas(1)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationEmailTopic() {
+        return TopicBuilder.name("notification-email")
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationPushTopic(@Value("${evently.notifications.channels.push.ttl-minutes:30}") long ttlMinutes) {
+        // A push nobody saw in time is useless; short retention caps the backlog after an outage
+        return TopicBuilder.name("notification-push")
+                .partitions(partitions)
+                .replicas(replicas)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(Duration.ofMinutes(ttlMinutes).toMillis()))
+                .build();
+    }
+
+    /**
+     * The retry and dead-letter topics of every {@link RetryTopics#TOPICS} entry, with the
+     * same partition count as the main topic so keys keep their partition.
+     */
+    @Bean
+    public KafkaAdmin.NewTopics retryTopics() {
+        List<NewTopic> topics = new ArrayList<>();
+        for (String topic : RetryTopics.TOPICS) {
+            for (RetryTopics.Stage stage : List.of(RetryTopics.Stage.FIRST_RETRY,
+                    RetryTopics.Stage.SECOND_RETRY, RetryTopics.Stage.DEAD_LETTER)) {
+                topics.add(TopicBuilder.name(stage.topic(topic))
+                        .partitions(partitions)
+                        .replicas(replicas)
+                        .build());
+            }
+        }
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+
+    @Bean
+    public NewTopic eventActivityTopic(@Value("${evently.trending.window-minutes:360}") long windowMinutes) {
+        // Retained for twice the trending window so a restarting instance can replay it
+        return TopicBuilder.name("event-activity")
+                .partitions(partitions)
+                .replicas(replicas)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(Duration.ofMinutes(windowMinutes * 2).toMillis()))
                 .build();
     }
 
@@ -50,11 +130,77 @@ public class KafkaConfig {
 
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
+        Map<String, Object> configProps = producerProperties();
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer());
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+
+    /**
+     * Sends activity events from request threads. A send blocks its caller for up to
+     * {@code max.block.ms} (60 s by default) while metadata or buffer space is unavailable;
+     * activity is best effort, so this producer gives up almost at once and the event is lost
+     * instead of the request hanging on a slow or unreachable cluster.
+     */
+    @Bean
+    public KafkaTemplate<String, EventActivityEvent> activityKafkaTemplate(
+            @Value("${evently.trending.activity-max-block-ms:100}") long maxBlockMs) {
+        Map<String, Object> configProps = producerProperties();
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer());
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(configProps));
+    }
+
+    /**
+     * Sends raw bytes with their original headers; used to dead-letter records that couldn't
+     * be deserialized and to replay dead letters.
+     */
+    @Bean
+    public KafkaTemplate<String, byte[]> rawKafkaTemplate() {
+        Map<String, Object> configProps = producerProperties();
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(configProps));
+    }
+
+    /**
+     * Moves a failed record one step along its retry chain ({@link RetryTopics}), keeping its
+     * key, headers and payload and adding the exception and the time it becomes due.
+     * Malformed records skip to the dead-letter topic; those that couldn't be deserialized
+     * are republished as their original bytes.
+     */
+    @Bean
+    public DeadLetterPublishingRecoverer failedRecordRecoverer() {
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, rawKafkaTemplate());
+        templates.put(Object.class, kafkaTemplate());
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates,
+                (record, exception) -> new TopicPartition(RetryTopics.nextStage(record.topic(), exception)
+                        .topic(RetryTopics.baseTopic(record.topic())), -1));
+        recoverer.setHeadersFunction((record, exception) -> {
+            RecordHeaders headers = new RecordHeaders();
+            RetryTopics.Stage next = RetryTopics.nextStage(record.topic(), exception);
+            if (next != RetryTopics.Stage.DEAD_LETTER) {
+                long dueAt = System.currentTimeMillis() + next.getDelay().toMillis();
+                headers.add(RetryTopics.DUE_AT_HEADER, RetryTopics.encodeDueAt(dueAt));
+            }
+            return headers;
+        });
+        return recoverer;
+    }
+
+    private Class<?> valueSerializer() {
+        return "json".equals(wireFormat) ? JsonSerializer.class : AvroEventSerializer.class;
+    }
+
+    private Map<String, Object> producerProperties() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        
+
         // Reliability and performance settings
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
@@ -64,13 +210,7 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
         configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
         configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
-        
-        return new DefaultKafkaProducerFactory<>(configProps);
-    }
-
-    @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        return configProps;
     }
 
     // ========== CONSUMER CONFIGURATION ==========
@@ -84,7 +224,8 @@ public class KafkaConfig {
         // Deserializer configuration with error handling
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        // Avro events, with JSON for everything else and for messages written before Avro
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, AvroEventDeserializer.class.getName());
         
         // Consumer behavior configuration
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
@@ -95,12 +236,28 @@ public class KafkaConfig {
         props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1024);
         props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
         
-        // Trust package for JSON deserialization
+        // Trust package for JSON deserialization (passed on to AvroEventDeserializer's fallback)
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.atlan.evently.dto.events,com.atlan.evently.dto");
         
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
+    /**
+     * Consumers of raw bytes, for tools that move records without interpreting them
+     * (dead-letter replay).
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> rawConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
@@ -111,11 +268,29 @@ public class KafkaConfig {
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         
         // Concurrency settings - process messages in parallel
-        factory.setConcurrency(3);
+        factory.setConcurrency(concurrency);
         
         // Error handling - don't stop container on errors
         factory.setCommonErrorHandler(new org.springframework.kafka.listener.DefaultErrorHandler());
         
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * For listeners that take a whole poll ({@code List<ConsumerRecord>}) and acknowledge it
+     * once. Such listeners pass their own failing records to {@link #failedRecordRecoverer()};
+     * the error handler only covers an exception escaping the listener, retrying the batch
+     * twice in place before moving every record in it to the next retry topic.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(failedRecordRecoverer(), new FixedBackOff(1000L, 2)));
+        return factory;
+    }
+}
@@ -0,0 +1,117 @@
+package com.atlan.evently.config;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.support.serializer.DeserializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking retry chain for the consumed topics. A record that fails on {@code <topic>}
+ * moves to {@code <topic>-retry-5s}, then {@code <topic>-retry-1m}, then {@code <topic>-dlt},
+ * so a failing record never holds up the records behind it on the original partition.
+ *
+ * <p>Each hop stamps {@link #DUE_AT_HEADER} with the time the record may be retried. A retry
+ * listener processes the records that are due and pauses until the first one that isn't;
+ * with a fixed delay per topic, records become due in the order they were written.
+ */
+public final class RetryTopics {
+
+    public static final String RETRY_5S = "-retry-5s";
+    public static final String RETRY_1M = "-retry-1m";
+    public static final String DLT = "-dlt";
+
+    /** Epoch millis, as a decimal string, after which a retry record may be processed. */
+    public static final String DUE_AT_HEADER = "evently-retry-due-at";
+
+    /** Topics that have a retry chain. */
+    public static final List<String> TOPICS = List.of("booking-cancelled", "waitlist-notification", "notification-email");
+
+    public enum Stage {
+        MAIN("", Duration.ZERO),
+        FIRST_RETRY(RETRY_5S, Duration.ofSeconds(5)),
+        SECOND_RETRY(RETRY_1M, Duration.ofMinutes(1)),
+        DEAD_LETTER(DLT, Duration.ZERO);
+
+        private final String suffix;
+        private final Duration delay;
+
+        Stage(String suffix, Duration delay) {
+            this.suffix = suffix;
+            this.delay = delay;
+        }
+
+        public String topic(String baseTopic) {
+            return baseTopic + suffix;
+        }
+
+        public Duration getDelay() {
+            return delay;
+        }
+
+        Stage next() {
+            return this == DEAD_LETTER ? DEAD_LETTER : values()[ordinal() + 1];
+        }
+    }
+
+    private RetryTopics() {
+    }
+
+    public static Stage stageOf(String topic) {
+        for (Stage stage : List.of(Stage.FIRST_RETRY, Stage.SECOND_RETRY, Stage.DEAD_LETTER)) {
+            if (topic.endsWith(stage.suffix)) {
+                return stage;
+            }
+        }
+        return Stage.MAIN;
+    }
+
+    public static String baseTopic(String topic) {
+        Stage stage = stageOf(topic);
+        return topic.substring(0, topic.length() - stage.suffix.length());
+    }
+
+    /**
+     * Where a record that failed on {@code topic} goes next. Malformed records (an
+     * {@link IllegalArgumentException} or a deserialization failure anywhere in the cause
+     * chain) can't succeed on a retry and go straight to the dead-letter topic.
+     */
+    public static Stage nextStage(String topic, Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IllegalArgumentException || cause instanceof DeserializationException) {
+                return Stage.DEAD_LETTER;
+            }
+        }
+        return stageOf(topic).next();
+    }
+
+    /**
+     * How many leading records are due now. The caller processes those and waits for the rest.
+     */
+    public static int dueCount(List<? extends ConsumerRecord<?, ?>> records, long nowMillis) {
+        for (int i = 0; i < records.size(); i++) {
+            if (dueAt(records.get(i)) > nowMillis) {
+                return i;
+            }
+        }
+        return records.size();
+    }
+
+    public static long dueAt(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(DUE_AT_HEADER);
+        if (header == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(header.value(), StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    static byte[] encodeDueAt(long epochMillis) {
+        return Long.toString(epochMillis).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,12 @@
+package com.atlan.evently.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs (ranking rebuild, waitlist expiry, notification cleanup).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
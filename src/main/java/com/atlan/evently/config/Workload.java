@@ -0,0 +1,63 @@
+package com.atlan.evently.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method (or every method of the annotated class) on the connection pool
+ * of the given workload. See {@link WorkloadRoutingDataSource} for how pools are chosen when
+ * nothing is annotated, and {@link WorkloadContext} for the programmatic equivalent.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    Type value();
+
+    /**
+     * Workload classes, each with its own pool under {@code evently.datasource.workloads.<name>}.
+     * The defaults apply when a setting is absent.
+     */
+    enum Type {
+        /** Booking writes and other short OLTP writes; sized by {@code spring.datasource.hikari}. */
+        BOOKING("booking", 0, 0, 5_000),
+        /** Catalog and user-facing reads. */
+        READ("read", 30, 2_000, 10_000),
+        /** Reports and scans: few connections, long statements. */
+        ANALYTICS("analytics", 5, 10_000, 120_000),
+        /** Kafka consumers and scheduled jobs. */
+        BACKGROUND("background", 10, 10_000, 60_000);
+
+        private final String poolName;
+        private final int defaultPoolSize;
+        private final long defaultConnectionTimeoutMs;
+        private final long defaultStatementTimeoutMs;
+
+        Type(String poolName, int defaultPoolSize, long defaultConnectionTimeoutMs, long defaultStatementTimeoutMs) {
+            this.poolName = poolName;
+            this.defaultPoolSize = defaultPoolSize;
+            this.defaultConnectionTimeoutMs = defaultConnectionTimeoutMs;
+            this.defaultStatementTimeoutMs = defaultStatementTimeoutMs;
+        }
+
+        public String getPoolName() {
+            return poolName;
+        }
+
+        public int getDefaultPoolSize() {
+            return defaultPoolSize;
+        }
+
+        public long getDefaultConnectionTimeoutMs() {
+            return defaultConnectionTimeoutMs;
+        }
+
+        public long getDefaultStatementTimeoutMs() {
+            return defaultStatementTimeoutMs;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.atlan.evently.config;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The workload of the current thread, read by {@link WorkloadRoutingDataSource} when a
+ * connection is first used. Set by {@link WorkloadAspect} for {@link Workload}-annotated
+ * methods, or directly for work that isn't a bean method (e.g. streaming response bodies).
+ * Nested calls restore the outer workload when they return.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload.Type> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Optional<Workload.Type> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static <T> T call(Workload.Type workload, Supplier<T> action) {
+        Workload.Type previous = swap(workload);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void run(Workload.Type workload, Runnable action) {
+        call(workload, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static void restore(Workload.Type previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    static Workload.Type swap(Workload.Type workload) {
+        Workload.Type previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+}
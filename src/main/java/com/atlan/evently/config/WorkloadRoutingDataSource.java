@@ -0,0 +1,107 @@
+package com.atlan.evently.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks a connection pool per workload, and sends reads to replicas when any are configured.
+ *
+ * <p>The workload comes from {@link WorkloadContext} ({@link Workload} annotations). Without
+ * one, a {@code @Transactional(readOnly = true)} transaction is {@link Workload.Type#READ} and
+ * everything else (writes, and connections used outside a transaction such as Flyway) is
+ * {@link Workload.Type#BOOKING}. Each workload has its own pool, so a burst of analytics
+ * or consumer work can't take the connections booking writes need.
+ *
+ * <p>Read-only {@code READ} transactions go to the replicas round-robin. A replica flagged
+ * as lagging by {@code ReplicaLagGuard} is skipped. With no healthy replica, or when the
+ * transaction pinned itself with {@link #usePrimaryForCurrentTransaction()}
+ * (read-your-writes), the read pool on the primary is used.
+ *
+ * <p>The read-only flag and the workload are only known once the transaction has been set
+ * up, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which fetches
+ * the physical connection at the first statement.
+ */
+@Slf4j
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Object PIN_TO_PRIMARY = new Object();
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Set<String> laggingReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public WorkloadRoutingDataSource(Map<Workload.Type, DataSource> workloadPools, Map<String, DataSource> replicas) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaKeys = List.copyOf(replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        workloadPools.forEach((workload, pool) -> targets.put(workload.getPoolName(), pool));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(workloadPools.get(Workload.Type.BOOKING));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Workload.Type workload = WorkloadContext.current()
+                .orElse(readOnly ? Workload.Type.READ : Workload.Type.BOOKING);
+
+        if (workload == Workload.Type.READ && readOnly && !replicaKeys.isEmpty()
+                && !TransactionSynchronizationManager.hasResource(PIN_TO_PRIMARY)) {
+            for (int attempt = 0; attempt < replicaKeys.size(); attempt++) {
+                String key = replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+                if (!laggingReplicas.contains(key)) {
+                    return key;
+                }
+            }
+        }
+        return workload.getPoolName();
+    }
+
+    /**
+     * Keeps the rest of the current transaction off the replicas. Only has an effect before
+     * the transaction's first statement; outside a transaction it does nothing.
+     */
+    public static void usePrimaryForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(PIN_TO_PRIMARY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(PIN_TO_PRIMARY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PIN_TO_PRIMARY);
+            }
+        });
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public void markLagging(String replicaKey, boolean lagging) {
+        boolean changed = lagging ? laggingReplicas.add(replicaKey) : laggingReplicas.remove(replicaKey);
+        if (changed) {
+            log.warn("Replica {} {} read rotation", replicaKey, lagging ? "taken out of" : "returned to");
+        }
+    }
+
+    public boolean isLagging(String replicaKey) {
+        return laggingReplicas.contains(replicaKey);
+    }
+}
@@ -8,17 +8,28 @@ import com.atlan.evently.dto.UserRegistrationRequest;
 import com.atlan.evently.dto.UserResponse;
 import com.atlan.evently.dto.UserUpdateRequest;
 import com.atlan.evently.service.AdminService;
+import com.atlan.evently.service.AnalyticsSnapshotService;
+import com.atlan.evently.service.BookingExportService;
 import com.atlan.evently.service.BookingService;
+import com.atlan.evently.service.DeadLetterReplayService;
+import com.atlan.evently.service.EventRankingService;
+import com.atlan.evently.service.KafkaLagMonitor;
+import com.atlan.evently.service.SnapshotQueryService;
 import com.atlan.evently.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @RestController
@@ -27,6 +38,12 @@ public class AdminController {
 
     private final AdminService adminService;
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
+    private final AnalyticsSnapshotService analyticsSnapshotService;
+    private final SnapshotQueryService snapshotQueryService;
+    private final DeadLetterReplayService deadLetterReplayService;
+    private final EventRankingService eventRankingService;
+    private final KafkaLagMonitor kafkaLagMonitor;
     private final UserService userService; // Add UserService for admin user operations
 
     // ============= EVENT MANAGEMENT =============
@@ -52,6 +69,53 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/events/analytics/top/{dimension}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AnalyticsResponse.TopEntryResponse>> getTopEntries(
+            @PathVariable String dimension, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(adminService.getTopEntries(dimension, limit));
+    }
+
+    @PostMapping("/events/analytics/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AnalyticsResponse> reconcileAnalytics() {
+        AnalyticsResponse response = adminService.reconcileAnalytics();
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/events/rankings/popular/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildPopularRanking() {
+        return ResponseEntity.ok(Map.of("events", eventRankingService.rebuild()));
+    }
+
+    @GetMapping("/analytics/snapshots")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, ZonedDateTime>> getSnapshotFreshness() {
+        return ResponseEntity.ok(snapshotQueryService.getFreshness());
+    }
+
+    @PostMapping("/analytics/snapshots")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Long>> exportSnapshots(@RequestParam(defaultValue = "false") boolean rebuild) {
+        Map<String, Long> exported = rebuild ? analyticsSnapshotService.rebuild() : analyticsSnapshotService.exportAll();
+        return ResponseEntity.ok(exported);
+    }
+
+    // ============= DEAD LETTERS =============
+    @GetMapping("/kafka/dead-letters")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Long>> getDeadLetterDepths() {
+        return ResponseEntity.ok(kafkaLagMonitor.getDeadLetterDepths());
+    }
+
+    @PostMapping("/kafka/dead-letters/{topic}/replay")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> replayDeadLetters(@PathVariable String topic,
+                                                                  @RequestParam(defaultValue = "1000") int maxRecords) {
+        return ResponseEntity.ok(Map.of("replayed", deadLetterReplayService.replay(topic, maxRecords)));
+    }
+
     // ============= BOOKING MANAGEMENT =============
     @GetMapping("/bookings")
     @PreAuthorize("hasRole('ADMIN')")
@@ -61,6 +125,20 @@ public class AdminController {
         return ResponseEntity.ok(bookings);
     }
 
+    @GetMapping("/bookings/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(@RequestParam(defaultValue = "csv") String format,
+                                                                @RequestParam(required = false) String status,
+                                                                @RequestParam(required = false) String eventId) {
+        BookingExportService.ExportFormat exportFormat = bookingExportService.parseFormat(format);
+        StreamingResponseBody body = bookingExportService.export(status, eventId, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/bookings/users/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<BookingResponse>> getUserBookings(@PathVariable String userId,
@@ -1,6 +1,8 @@
 package com.atlan.evently.controller;
 
 import com.atlan.evently.dto.EventResponse;
+import com.atlan.evently.service.EventInventoryService;
+import com.atlan.evently.service.EventRankingService;
 import com.atlan.evently.service.EventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,6 +29,8 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final EventInventoryService eventInventoryService;
+    private final EventRankingService eventRankingService;
 
     /**
      * Retrieves paginated list of upcoming events with caching.
@@ -246,7 +250,9 @@ public class EventController {
                 required = true
             ) @PathVariable String eventId) {
         
-        EventResponse event = eventService.getEventByIdAsDto(eventId);
+        // Static details are cached for hours; seat counts are merged in live
+        EventResponse event = eventInventoryService.withLiveInventory(eventService.getEventByIdAsDto(eventId));
+        eventRankingService.recordView(event.getEventId(), event.getCategory() != null ? event.getCategory().getId() : null);
         return ResponseEntity.ok(event);
     }
 
@@ -351,12 +357,15 @@ public class EventController {
     }
 
     @GetMapping("/trending")
-    @Operation(summary = "Get trending events", description = "Retrieve events with high engagement (likes + comments)")
+    @Operation(summary = "Get trending events", description = "Retrieve events with the most recent activity (time-decayed bookings, comments, likes and views)")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved trending events")
     public ResponseEntity<List<EventResponse>> getTrendingEvents(
             @Parameter(description = "Maximum number of events to return") @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Restrict to one category (UUID)") @RequestParam(required = false) String categoryId,
             Pageable pageable) {
-        List<EventResponse> events = eventService.getHighEngagementEvents(limit, pageable);
+        List<EventResponse> events = categoryId != null
+                ? eventService.getTrendingEventsByCategory(categoryId, limit)
+                : eventService.getHighEngagementEvents(limit, pageable);
         return ResponseEntity.ok(events);
     }
 }
\ No newline at end of file
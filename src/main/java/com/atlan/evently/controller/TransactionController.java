@@ -3,6 +3,8 @@ package com.atlan.evently.controller;
 import com.atlan.evently.dto.TransactionRequest;
 import com.atlan.evently.dto.TransactionResponse;
 import com.atlan.evently.model.Transaction;
+import com.atlan.evently.service.SnapshotQueryService;
+import com.atlan.evently.service.TransactionRollupService;
 import com.atlan.evently.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -31,6 +33,8 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionRollupService transactionRollupService;
+    private final SnapshotQueryService snapshotQueryService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -100,13 +104,24 @@ public class TransactionController {
             @Parameter(description = "Start date for analytics period") 
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime startDate,
             @Parameter(description = "End date for analytics period")
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime endDate,
+            @Parameter(description = "live (Postgres rollups) or snapshot (last Parquet export, no database load)")
+            @RequestParam(defaultValue = "live") String source) {
         
-        TransactionService.TransactionAnalyticsResponse analytics = 
-                transactionService.getTransactionAnalytics(startDate, endDate);
+        TransactionService.TransactionAnalyticsResponse analytics = "snapshot".equalsIgnoreCase(source)
+                ? snapshotQueryService.getTransactionAnalytics(startDate, endDate)
+                : transactionService.getTransactionAnalytics(startDate, endDate);
         return ResponseEntity.ok(analytics);
     }
 
+    @PostMapping("/analytics/rollups/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Backfill transaction rollups", description = "Rebuild the daily analytics rollups from all transactions")
+    @ApiResponse(responseCode = "200", description = "Rollups rebuilt; returns the number of rollup rows")
+    public ResponseEntity<Integer> backfillRollups() {
+        return ResponseEntity.ok(transactionRollupService.backfill());
+    }
+
     @GetMapping("/failed")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get failed transactions", description = "Retrieve failed transactions for admin review")
@@ -23,4 +23,12 @@ public class AnalyticsResponse {
         private Integer capacity;
         private String utilizationPercentage;
     }
+
+    // One row of a "top N" breakdown (venues, categories, payment methods)
+    @Data
+    public static class TopEntryResponse {
+        private String key;
+        private String label;
+        private Long count;
+    }
 }
\ No newline at end of file
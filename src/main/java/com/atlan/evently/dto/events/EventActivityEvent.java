@@ -0,0 +1,17 @@
+package com.atlan.evently.dto.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventActivityEvent {
+    private String eventId;
+    private String categoryId; // null for uncategorized events
+    private String activityType; // "BOOKING", "LIKE", "UNLIKE", "COMMENT", "VIEW"
+    private ZonedDateTime occurredAt;
+}
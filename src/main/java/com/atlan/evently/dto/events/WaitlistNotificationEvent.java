@@ -21,4 +21,9 @@ public class WaitlistNotificationEvent {
     private Integer availableSeats;
     private ZonedDateTime expiresAt;
     private String bookingUrl; // Direct link to book the seat
+
+    public static String bookingUrl(String eventId, String userId, String waitlistId) {
+        return String.format("http://localhost:8080/api/v1/bookings?eventId=%s&userId=%s&waitlistId=%s",
+                eventId, userId, waitlistId);
+    }
 }
@@ -21,8 +21,6 @@ public interface EventMapper {
     @Mapping(target = "endTime", source = "endsAt")
     @Mapping(target = "bookedSeats", expression = "java(event.getBookedSeats())")
     @Mapping(target = "tags", expression = "java(event.getTagsList())")
-    @Mapping(target = "likeCount", expression = "java(event.getLikeCount())")
-    @Mapping(target = "commentCount", expression = "java(event.getCommentCount())")
     @Mapping(target = "utilizationPercentage", expression = "java(event.getUtilizationPercentage())")
     @Mapping(target = "isActive", expression = "java(event.isActive())")
     @Mapping(target = "isSoldOut", expression = "java(event.isSoldOut())")
@@ -44,6 +42,9 @@ public interface EventMapper {
     @Mapping(target = "bookings", ignore = true)
     @Mapping(target = "likes", ignore = true)
     @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "likeCount", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
+    @Mapping(target = "confirmedBookingCount", ignore = true)
     @Mapping(target = "transactions", ignore = true)
     Event toEntity(EventRequest eventRequest);
 
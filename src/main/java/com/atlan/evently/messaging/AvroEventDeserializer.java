@@ -0,0 +1,88 @@
+package com.atlan.evently.messaging;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kafka value deserializer for {@link AvroEventSerializer} output.
+ *
+ * <p>The writer's schema id is resolved against the latest schema of the same record, so
+ * older versions are read as the current one. Anything not starting with the magic byte is
+ * handed to a {@link JsonDeserializer} configured with this deserializer's properties: JSON
+ * never starts with {@code 0x0}, so messages written before the switch, or by producers still
+ * on {@code wire-format: json}, stay readable.
+ */
+public class AvroEventDeserializer implements Deserializer<Object> {
+
+    private final EventSchemaRegistry registry;
+    private final JsonDeserializer<Object> fallback = new JsonDeserializer<>();
+    private final Map<Integer, GenericDatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+
+    public AvroEventDeserializer() {
+        this(EventSchemaRegistry.fromClasspath());
+    }
+
+    AvroEventDeserializer(EventSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (isAvro(data)) {
+            return decode(data);
+        }
+        return fallback.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (isAvro(data)) {
+            return decode(data);
+        }
+        return fallback.deserialize(topic, headers, data);
+    }
+
+    private static boolean isAvro(byte[] data) {
+        return data != null && data.length >= AvroEventSerializer.HEADER_LENGTH
+                && data[0] == AvroEventSerializer.MAGIC_BYTE;
+    }
+
+    private Object decode(byte[] data) {
+        int schemaId = ByteBuffer.wrap(data, 1, 4).getInt();
+        Schema writer = registry.schema(schemaId);
+        EventCodec<Object> codec = EventCodec.forName(writer.getFullName());
+        if (codec == null) {
+            throw new SerializationException("No event type for schema " + writer.getFullName());
+        }
+        try {
+            GenericRecord record = readers.computeIfAbsent(schemaId,
+                            id -> new GenericDatumReader<>(writer, registry.latest(writer.getFullName())))
+                    .read(null, DecoderFactory.get().binaryDecoder(data, AvroEventSerializer.HEADER_LENGTH,
+                            data.length - AvroEventSerializer.HEADER_LENGTH, null));
+            return codec.decode(record);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to read Avro schema " + schemaId, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
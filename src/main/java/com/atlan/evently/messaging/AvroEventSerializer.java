@@ -0,0 +1,85 @@
+package com.atlan.evently.messaging;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kafka value serializer writing domain events as Avro binary.
+ *
+ * <p>Wire format: magic byte {@code 0x0}, the 4-byte big-endian schema id from
+ * {@link EventSchemaRegistry}, then the Avro-encoded record. Events are written with the
+ * latest schema of their type. Types without a schema (e.g. activity events) are written as
+ * JSON by a {@link JsonSerializer}, which receives this serializer's configuration.
+ */
+public class AvroEventSerializer implements Serializer<Object> {
+
+    static final byte MAGIC_BYTE = 0x0;
+    static final int HEADER_LENGTH = 5;
+
+    private final EventSchemaRegistry registry;
+    private final JsonSerializer<Object> fallback = new JsonSerializer<>();
+    private final Map<Integer, GenericDatumWriter<GenericRecord>> writers = new ConcurrentHashMap<>();
+
+    public AvroEventSerializer() {
+        this(EventSchemaRegistry.fromClasspath());
+    }
+
+    AvroEventSerializer(EventSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        String type = data.getClass().getName();
+        EventCodec<Object> codec = EventCodec.forName(type);
+        Integer schemaId = registry.latestId(type);
+        if (codec == null || schemaId == null) {
+            return headers == null ? fallback.serialize(topic, data) : fallback.serialize(topic, headers, data);
+        }
+
+        Schema schema = registry.schema(schemaId);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(schemaId).array());
+        try {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            writers.computeIfAbsent(schemaId, id -> new GenericDatumWriter<>(schema))
+                    .write(codec.encode(data, schema), encoder);
+            encoder.flush();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to write " + type + " as Avro schema " + schemaId, e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
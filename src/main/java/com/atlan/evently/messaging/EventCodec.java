@@ -0,0 +1,153 @@
+package com.atlan.evently.messaging;
+
+import com.atlan.evently.dto.events.BookingCancelledEvent;
+import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * Maps an event DTO to and from an Avro record of its schema. Written by hand rather than
+ * through reflection so the mapping stays explicit when the DTO and the schema diverge.
+ *
+ * <p>Fields the schema doesn't have are skipped on write and read as {@code null}.
+ * Timestamps travel as epoch millis and are read back in UTC.
+ */
+abstract class EventCodec<T> {
+
+    private static final Map<String, EventCodec<?>> CODECS = Map.of(
+            BookingCancelledEvent.class.getName(), new BookingCancelledCodec(),
+            WaitlistNotificationEvent.class.getName(), new WaitlistNotificationCodec());
+
+    /**
+     * The codec for a DTO class or record name, or {@code null} if the type has no schema.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> EventCodec<T> forName(String fullName) {
+        return (EventCodec<T>) CODECS.get(fullName);
+    }
+
+    abstract void write(T event, Fields record);
+
+    abstract T read(Fields record);
+
+    GenericRecord encode(T event, Schema schema) {
+        Fields record = new Fields(new GenericData.Record(schema));
+        write(event, record);
+        return record.avro;
+    }
+
+    T decode(GenericRecord avro) {
+        return read(new Fields(avro));
+    }
+
+    /**
+     * A record that tolerates fields missing from its schema.
+     */
+    static final class Fields {
+
+        private final GenericRecord avro;
+
+        Fields(GenericRecord avro) {
+            this.avro = avro;
+        }
+
+        void put(String field, Object value) {
+            if (avro.getSchema().getField(field) != null) {
+                avro.put(field, value);
+            }
+        }
+
+        void putTime(String field, ZonedDateTime value) {
+            put(field, value == null ? null : value.toInstant().toEpochMilli());
+        }
+
+        private Object get(String field) {
+            return avro.getSchema().getField(field) == null ? null : avro.get(field);
+        }
+
+        // Avro strings are read as Utf8
+        String getString(String field) {
+            Object value = get(field);
+            return value == null ? null : value.toString();
+        }
+
+        Integer getInt(String field) {
+            return (Integer) get(field);
+        }
+
+        ZonedDateTime getTime(String field) {
+            Object value = get(field);
+            return value == null ? null : Instant.ofEpochMilli((Long) value).atZone(ZoneOffset.UTC);
+        }
+    }
+
+    private static final class BookingCancelledCodec extends EventCodec<BookingCancelledEvent> {
+
+        @Override
+        void write(BookingCancelledEvent event, Fields record) {
+            record.put("bookingId", event.getBookingId());
+            record.put("userId", event.getUserId());
+            record.put("eventId", event.getEventId());
+            record.put("quantity", event.getQuantity());
+            record.putTime("cancelledAt", event.getCancelledAt());
+            record.put("reason", event.getReason());
+        }
+
+        @Override
+        BookingCancelledEvent read(Fields record) {
+            return new BookingCancelledEvent(
+                    record.getString("bookingId"),
+                    record.getString("userId"),
+                    record.getString("eventId"),
+                    record.getInt("quantity"),
+                    record.getTime("cancelledAt"),
+                    record.getString("reason"));
+        }
+    }
+
+    private static final class WaitlistNotificationCodec extends EventCodec<WaitlistNotificationEvent> {
+
+        @Override
+        void write(WaitlistNotificationEvent event, Fields record) {
+            record.put("waitlistId", event.getWaitlistId());
+            record.put("userId", event.getUserId());
+            record.put("userEmail", event.getUserEmail());
+            record.put("userName", event.getUserName());
+            record.put("eventId", event.getEventId());
+            record.put("eventName", event.getEventName());
+            record.put("eventVenue", event.getEventVenue());
+            record.putTime("eventStartTime", event.getEventStartTime());
+            record.put("availableSeats", event.getAvailableSeats());
+            record.putTime("expiresAt", event.getExpiresAt());
+            record.put("bookingUrl", event.getBookingUrl());
+        }
+
+        @Override
+        WaitlistNotificationEvent read(Fields record) {
+            WaitlistNotificationEvent event = new WaitlistNotificationEvent(
+                    record.getString("waitlistId"),
+                    record.getString("userId"),
+                    record.getString("userEmail"),
+                    record.getString("userName"),
+                    record.getString("eventId"),
+                    record.getString("eventName"),
+                    record.getString("eventVenue"),
+                    record.getTime("eventStartTime"),
+                    record.getInt("availableSeats"),
+                    record.getTime("expiresAt"),
+                    record.getString("bookingUrl"));
+            // Not on the wire since v2
+            if (event.getBookingUrl() == null && event.getWaitlistId() != null) {
+                event.setBookingUrl(WaitlistNotificationEvent.bookingUrl(
+                        event.getEventId(), event.getUserId(), event.getWaitlistId()));
+            }
+            return event;
+        }
+    }
+}
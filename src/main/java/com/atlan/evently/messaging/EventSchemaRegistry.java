@@ -0,0 +1,98 @@
+package com.atlan.evently.messaging;
+
+import org.apache.avro.Schema;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * File-based schema registry for the Avro wire format: the schemas listed in
+ * {@code avro/registry.properties} on the classpath, by permanent id.
+ *
+ * <p>Each message carries the id of the schema it was written with. Readers resolve it
+ * against the latest schema of the same record name, so any deployed version can still be
+ * read after a new one is added. No registry service is involved; adding a version means
+ * adding a file and an id, and deploying readers before writers start using it.
+ */
+public final class EventSchemaRegistry {
+
+    private static final String LOCATION = "avro/";
+
+    private final Map<Integer, Schema> schemasById;
+    private final Map<String, Integer> latestIdByName;
+
+    EventSchemaRegistry(Map<Integer, Schema> schemasById) {
+        this.schemasById = Map.copyOf(schemasById);
+        Map<String, Integer> latest = new HashMap<>();
+        schemasById.forEach((id, schema) -> latest.merge(schema.getFullName(), id, Math::max));
+        this.latestIdByName = Map.copyOf(latest);
+    }
+
+    /**
+     * The registry on the classpath, loaded once.
+     */
+    public static EventSchemaRegistry fromClasspath() {
+        return Holder.INSTANCE;
+    }
+
+    public Schema schema(int id) {
+        Schema schema = schemasById.get(id);
+        if (schema == null) {
+            throw new SerializationException("Unknown event schema id " + id);
+        }
+        return schema;
+    }
+
+    /**
+     * Id of the newest schema for a record name (the DTO's class name), or {@code null}.
+     */
+    public Integer latestId(String fullName) {
+        return latestIdByName.get(fullName);
+    }
+
+    public Schema latest(String fullName) {
+        Integer id = latestId(fullName);
+        if (id == null) {
+            throw new SerializationException("No event schema for " + fullName);
+        }
+        return schemasById.get(id);
+    }
+
+    static EventSchemaRegistry load(ClassLoader classLoader) {
+        Properties index = new Properties();
+        try (InputStream in = resource(classLoader, "registry.properties")) {
+            index.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the event schema registry", e);
+        }
+
+        Map<Integer, Schema> schemas = new HashMap<>();
+        for (String id : index.stringPropertyNames()) {
+            String file = index.getProperty(id).trim();
+            try (InputStream in = resource(classLoader, file)) {
+                // One parser per file: versions of a record share its name
+                schemas.put(Integer.parseInt(id.trim()), new Schema.Parser().parse(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read event schema " + file, e);
+            }
+        }
+        return new EventSchemaRegistry(schemas);
+    }
+
+    private static InputStream resource(ClassLoader classLoader, String name) throws IOException {
+        InputStream in = classLoader.getResourceAsStream(LOCATION + name);
+        if (in == null) {
+            throw new IOException("Missing classpath resource " + LOCATION + name);
+        }
+        return in;
+    }
+
+    private static final class Holder {
+        private static final EventSchemaRegistry INSTANCE = load(EventSchemaRegistry.class.getClassLoader());
+    }
+}
@@ -0,0 +1,45 @@
+package com.atlan.evently.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One shard of a running analytics total. Rows are written only by database triggers
+ * (and reconciliation); a counter's value is the sum over its shards.
+ */
+@Entity
+@Table(name = "analytics_counters")
+@IdClass(AnalyticsCounter.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsCounter {
+
+    public static final String EVENTS = "events";
+    public static final String CAPACITY = "capacity";
+    public static final String SOLD_OUT_EVENTS = "sold_out_events";
+    public static final String BOOKINGS = "bookings";
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Id
+    @Column(name = "shard")
+    private Short shard;
+
+    @Column(name = "total", nullable = false)
+    private Long total;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String name;
+        private Short shard;
+    }
+}
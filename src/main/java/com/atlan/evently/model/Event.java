@@ -68,6 +68,20 @@ public class Event {
     @Builder.Default
     private ZonedDateTime createdAt = ZonedDateTime.now();
 
+    // Denormalized engagement counters - written only by atomic UPDATEs in EventRepository
+    @Column(name = "like_count", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private Long likeCount = 0L;
+
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private Long commentCount = 0L;
+
+    // Maintained by a database trigger on bookings (V10); read-only here
+    @Column(name = "confirmed_booking_count", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private Long confirmedBookingCount = 0L;
+
     @Version
     @Column(name = "version")
     private Integer version;
@@ -131,14 +145,4 @@ public class Event {
     public void setTagsList(List<String> tagsList) {
         this.tags = tagsList != null ? String.join(",", tagsList) : null;
     }
-
-    // Like count helper
-    public long getLikeCount() {
-        return likes != null ? likes.size() : 0;
-    }
-
-    // Comment count helper
-    public long getCommentCount() {
-        return comments != null ? comments.size() : 0;
-    }
 }
\ No newline at end of file
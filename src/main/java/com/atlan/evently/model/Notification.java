@@ -64,7 +64,8 @@ public class Notification {
         BOOKING_CONFIRMED,
         BOOKING_CANCELLED,
         EVENT_REMINDER,
-        SYSTEM_ANNOUNCEMENT
+        SYSTEM_ANNOUNCEMENT,
+        DIGEST // several notifications merged by NotificationService
     }
 
     public void markAsRead() {
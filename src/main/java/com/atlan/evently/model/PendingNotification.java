@@ -0,0 +1,63 @@
+package com.atlan.evently.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * An in-app notification waiting for its user's digest ({@code pending_notifications}).
+ */
+@Entity
+@Table(name = "pending_notifications")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 50)
+    private Notification.NotificationType type;
+
+    @Column(name = "title", nullable = false, length = 255)
+    private String title;
+
+    @Column(name = "message", nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "action_url", length = 500)
+    private String actionUrl;
+
+    @Column(name = "metadata", columnDefinition = "TEXT")
+    private String metadata;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private ZonedDateTime createdAt = ZonedDateTime.now();
+
+    public Notification toNotification(User user) {
+        return Notification.builder()
+                .user(user)
+                .type(type)
+                .title(title)
+                .message(message)
+                .actionUrl(actionUrl)
+                .isRead(false)
+                .createdAt(createdAt)
+                .metadata(metadata)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.atlan.evently.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * A booking cancellation whose seats were already offered to the waitlist
+ * ({@code processed_cancellations}).
+ */
+@Entity
+@Table(name = "processed_cancellations")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedCancellation {
+
+    @Id
+    @Column(name = "booking_id")
+    private UUID bookingId;
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    @Column(name = "processed_at", nullable = false)
+    private ZonedDateTime processedAt;
+}
@@ -0,0 +1,60 @@
+package com.atlan.evently.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Transactions aggregated per UTC day, status, type and payment method.
+ * Written through {@code TransactionRollupRepository} upserts only.
+ */
+@Entity
+@Table(name = "transaction_daily_rollups")
+@IdClass(TransactionDailyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionDailyRollup {
+
+    // Stored in place of a null payment method, which can't be part of the primary key
+    public static final String NO_PAYMENT_METHOD = "";
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private Transaction.TransactionStatus status;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", length = 20)
+    private Transaction.TransactionType transactionType;
+
+    @Id
+    @Column(name = "payment_method", length = 50)
+    private String paymentMethod;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private Transaction.TransactionStatus status;
+        private Transaction.TransactionType transactionType;
+        private String paymentMethod;
+    }
+}
@@ -0,0 +1,43 @@
+package com.atlan.evently.repository;
+
+import com.atlan.evently.model.AnalyticsCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AnalyticsCounterRepository extends JpaRepository<AnalyticsCounter, AnalyticsCounter.Key> {
+
+    /**
+     * Current value of every counter: [name, total]. Reads at most 16 rows per counter.
+     */
+    @Query("SELECT c.name, SUM(c.total) FROM AnalyticsCounter c GROUP BY c.name")
+    List<Object[]> sumByName();
+
+    /**
+     * Blocks trigger updates (and waits for in-flight ones to commit) until the
+     * reconciling transaction ends.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE analytics_counters IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForReconciliation();
+
+    @Modifying
+    @Query("DELETE FROM AnalyticsCounter c")
+    int deleteAllCounters();
+
+    /**
+     * Recomputes every counter from the source tables into shard 0
+     */
+    @Modifying
+    @Query(value = "INSERT INTO analytics_counters (name, shard, total) " +
+                   "SELECT 'events', 0, COUNT(*) FROM events " +
+                   "UNION ALL SELECT 'capacity', 0, COALESCE(SUM(capacity), 0) FROM events " +
+                   "UNION ALL SELECT 'sold_out_events', 0, COUNT(*) FROM events WHERE available_seats = 0 " +
+                   "UNION ALL SELECT 'bookings', 0, COUNT(*) FROM bookings",
+           nativeQuery = true)
+    int recomputeCounters();
+}
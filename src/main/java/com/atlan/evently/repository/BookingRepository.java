@@ -1,15 +1,23 @@
 package com.atlan.evently.repository;
 
 import com.atlan.evently.model.Booking;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
@@ -25,6 +33,19 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
     
     List<Booking> findByStatusAndEventId(String status, UUID eventId);
 
+    /**
+     * Forward-only cursor over bookings for exports, optionally filtered by status and/or event.
+     * Must be consumed inside a transaction and closed; rows are fetched 500 at a time.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b FROM Booking b WHERE (:status IS NULL OR b.status = :status) " +
+           "AND (:eventId IS NULL OR b.event.id = :eventId)")
+    Stream<Booking> streamForExport(@Param("status") String status, @Param("eventId") UUID eventId);
+
     // Idempotency support - check for existing booking with same key
     Optional<Booking> findByIdempotencyKey(String idempotencyKey);
 
@@ -46,6 +67,11 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.event.id = :eventId AND b.status = 'CONFIRMED'")
     long countConfirmedBookingsByEventId(@Param("eventId") UUID eventId);
 
+    // Ranking rebuild: confirmed booking counts for every upcoming event in one grouped query
+    @Query("SELECT b.event.id, COUNT(b) FROM Booking b WHERE b.status = 'CONFIRMED' AND b.event.startsAt > :now " +
+           "GROUP BY b.event.id")
+    List<Object[]> countConfirmedBookingsByUpcomingEvent(@Param("now") ZonedDateTime now);
+
     @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.event ORDER BY b.createdAt DESC")
     List<Booking> findAllWithUserAndEvent();
 
@@ -33,6 +33,15 @@ public interface EventCommentRepository extends JpaRepository<EventComment, UUID
      */
     long countByEventId(UUID eventId);
 
+    /**
+     * Count a comment plus all of its nested replies
+     */
+    @Query(value = "WITH RECURSIVE thread AS (" +
+                   "SELECT id FROM event_comments WHERE id = :commentId " +
+                   "UNION ALL SELECT c.id FROM event_comments c JOIN thread t ON c.parent_comment_id = t.id) " +
+                   "SELECT COUNT(*) FROM thread", nativeQuery = true)
+    long countThread(@Param("commentId") UUID commentId);
+
     /**
      * Count top-level comments only
      */
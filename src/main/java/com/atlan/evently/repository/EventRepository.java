@@ -1,46 +1,72 @@
 package com.atlan.evently.repository;
 
 import com.atlan.evently.model.Event;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID> {
 
+    /**
+     * Find an event and lock its row until the surrounding transaction ends; writers that
+     * queue outbox messages for the event without updating it take this first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") UUID id);
+
+    @EntityGraph(attributePaths = "category")
     Page<Event> findAllByStartsAtAfter(ZonedDateTime startsAt, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     Event findByIdAndStartsAtAfter(UUID id, ZonedDateTime startsAt);
 
+    /**
+     * Current capacity and available seats only (live inventory reads)
+     */
+    @Query("SELECT e.capacity, e.availableSeats FROM Event e WHERE e.id = :eventId")
+    List<Object[]> findSeatCounts(@Param("eventId") UUID eventId);
+
     // ========== ENHANCED QUERIES FOR NEW FEATURES ==========
 
     /**
      * Find events by category
      */
+    @EntityGraph(attributePaths = "category")
     Page<Event> findByCategoryIdAndStartsAtAfterOrderByStartsAtAsc(UUID categoryId, ZonedDateTime now, Pageable pageable);
 
     /**
      * Find online events
      */
+    @EntityGraph(attributePaths = "category")
     Page<Event> findByIsOnlineTrueAndStartsAtAfterOrderByStartsAtAsc(ZonedDateTime now, Pageable pageable);
 
     /**
      * Find events by price range
      */
+    @EntityGraph(attributePaths = "category")
     Page<Event> findByTicketPriceBetweenAndStartsAtAfterOrderByTicketPriceAsc(
             BigDecimal minPrice, BigDecimal maxPrice, ZonedDateTime now, Pageable pageable);
 
     /**
      * Search events by name, description, or tags
      */
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT e FROM Event e WHERE e.startsAt > :now AND " +
            "(LOWER(e.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(e.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -50,25 +76,27 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     /**
      * Find events with available seats
      */
+    @EntityGraph(attributePaths = "category")
     Page<Event> findByAvailableSeatsGreaterThanAndStartsAtAfterOrderByStartsAtAsc(
             Integer minSeats, ZonedDateTime now, Pageable pageable);
 
     /**
      * Find sold out events
      */
+    @EntityGraph(attributePaths = "category")
     Page<Event> findByAvailableSeatsEqualsAndStartsAtAfterOrderByStartsAtAsc(
             Integer availableSeats, ZonedDateTime now, Pageable pageable);
 
     /**
-     * Get most popular events by booking count
+     * Upcoming events among the given ids (top-K ranking reads), with their category
      */
-    @Query("SELECT e, COUNT(b) as bookingCount FROM Event e LEFT JOIN e.bookings b " +
-           "WHERE e.startsAt > :now GROUP BY e ORDER BY bookingCount DESC")
-    List<Object[]> getMostPopularEvents(@Param("now") ZonedDateTime now, Pageable pageable);
+    @EntityGraph(attributePaths = "category")
+    List<Event> findByIdInAndStartsAtAfter(Collection<UUID> ids, ZonedDateTime now);
 
     /**
      * Get events by multiple categories
      */
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT e FROM Event e WHERE e.category.id IN :categoryIds AND e.startsAt > :now ORDER BY e.startsAt ASC")
     Page<Event> findByCategoryIdsAndStartsAtAfter(@Param("categoryIds") List<UUID> categoryIds, 
                                                    @Param("now") ZonedDateTime now, Pageable pageable);
@@ -79,22 +107,70 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     List<Event> findByEndsAtBefore(ZonedDateTime endTime);
 
     /**
-     * Get events with high engagement (likes + comments)
+     * Atomically adjust the denormalized like counter (no version bump, so bookings never conflict)
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.likeCount = e.likeCount + :delta WHERE e.id = :eventId")
+    int adjustLikeCount(@Param("eventId") UUID eventId, @Param("delta") long delta);
+
+    /**
+     * Atomically adjust the denormalized comment counter
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.commentCount = e.commentCount + :delta WHERE e.id = :eventId")
+    int adjustCommentCount(@Param("eventId") UUID eventId, @Param("delta") long delta);
+
+    /**
+     * Events with the most confirmed bookings (admin analytics), served from the count index
+     */
+    List<Event> findByOrderByConfirmedBookingCountDesc(Pageable pageable);
+
+    /**
+     * Venues by confirmed bookings, best first: [venue, count]. Limit via the pageable.
+     */
+    @Query("SELECT e.venue, SUM(e.confirmedBookingCount) FROM Event e " +
+           "GROUP BY e.venue ORDER BY SUM(e.confirmedBookingCount) DESC")
+    List<Object[]> findTopVenuesByConfirmedBookings(Pageable pageable);
+
+    /**
+     * Categories by confirmed bookings, best first: [categoryId, name, count]. Limit via the pageable.
+     */
+    @Query("SELECT c.id, c.name, SUM(e.confirmedBookingCount) FROM Event e JOIN e.category c " +
+           "GROUP BY c.id, c.name ORDER BY SUM(e.confirmedBookingCount) DESC")
+    List<Object[]> findTopCategoriesByConfirmedBookings(Pageable pageable);
+
+    /**
+     * Blocks writes to events (and waits for in-flight ones to commit) until the reconciling
+     * transaction ends; reads carry on. Taken before the analytics_counters lock, in the same
+     * order as booking writes, which update the event row before their triggers bump the counters.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE events IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForReconciliation();
+
+    /**
+     * Corrects trigger-maintained booking counts that drifted; returns the number of events fixed
      */
-    @Query("SELECT e, (COUNT(DISTINCT l) + COUNT(DISTINCT c)) as engagement FROM Event e " +
-           "LEFT JOIN e.likes l LEFT JOIN e.comments c " +
-           "WHERE e.startsAt > :now GROUP BY e ORDER BY engagement DESC")
-    List<Object[]> getHighEngagementEvents(@Param("now") ZonedDateTime now, Pageable pageable);
+    @Modifying
+    @Query(value = "UPDATE events e SET confirmed_booking_count = c.cnt " +
+                   "FROM (SELECT ev.id, COUNT(b.id) AS cnt FROM events ev " +
+                   "      LEFT JOIN bookings b ON b.event_id = ev.id AND b.status = 'CONFIRMED' " +
+                   "      GROUP BY ev.id) c " +
+                   "WHERE e.id = c.id AND e.confirmed_booking_count <> c.cnt",
+           nativeQuery = true)
+    int reconcileConfirmedBookingCounts();
 
     /**
      * Find free events
      */
+    @EntityGraph(attributePaths = "category")
     Page<Event> findByTicketPriceEqualsAndStartsAtAfterOrderByStartsAtAsc(
             BigDecimal price, ZonedDateTime now, Pageable pageable);
 
     /**
      * Get venue-based events
      */
+    @EntityGraph(attributePaths = "category")
     Page<Event> findByVenueContainingIgnoreCaseAndStartsAtAfterOrderByStartsAtAsc(
             String venue, ZonedDateTime now, Pageable pageable);
 }
\ No newline at end of file
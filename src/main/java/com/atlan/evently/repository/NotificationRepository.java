@@ -4,9 +4,11 @@ import com.atlan.evently.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,11 +27,22 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     // Count unread notifications for user
     long countByUserIdAndIsReadFalse(UUID userId);
 
+    // Unread counter reconciliation: [userId, count] for the given users; users with none are absent
+    @Query("SELECT n.user.id, COUNT(n) FROM Notification n WHERE n.user.id IN :userIds AND n.isRead = false " +
+           "GROUP BY n.user.id")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<UUID> userIds);
+
     // Get notifications by type for user
     List<Notification> findByUserIdAndTypeOrderByCreatedAtDesc(UUID userId, Notification.NotificationType type);
 
-    // Cleanup expired notifications
+    // Cleanup expired notifications; the created-at bound prunes the scan to recent partitions
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.expiresAt < :now")
-    int deleteByExpiresAtBefore(ZonedDateTime now);
+    @Query("DELETE FROM Notification n WHERE n.expiresAt < :now AND n.createdAt >= :createdSince")
+    int deleteExpiredCreatedSince(@Param("now") ZonedDateTime now, @Param("createdSince") ZonedDateTime createdSince);
+
+    // Unread rows the expiry delete will remove, per user: [userId, count]
+    @Query("SELECT n.user.id, COUNT(n) FROM Notification n WHERE n.expiresAt < :now AND n.createdAt >= :createdSince " +
+           "AND n.isRead = false GROUP BY n.user.id")
+    List<Object[]> countUnreadExpiredCreatedSinceByUser(@Param("now") ZonedDateTime now,
+                                                        @Param("createdSince") ZonedDateTime createdSince);
 }
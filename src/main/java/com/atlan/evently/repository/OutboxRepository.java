@@ -0,0 +1,47 @@
+package com.atlan.evently.repository;
+
+import com.atlan.evently.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the oldest pending messages for the calling transaction. Rows already locked by
+     * another relay are skipped rather than waited for.
+     */
+    @Query(value = "SELECT * FROM event_outbox WHERE parked_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxMessage> claimBatch(@Param("limit") int limit);
+
+    /**
+     * Oldest pending message id per aggregate, locked or not. Parked messages don't count.
+     */
+    @Query("SELECT o.aggregateId, MIN(o.id) FROM OutboxMessage o " +
+           "WHERE o.aggregateId IN :aggregateIds AND o.parkedAt IS NULL GROUP BY o.aggregateId")
+    List<Object[]> findOldestIdPerAggregate(@Param("aggregateIds") Collection<String> aggregateIds);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.attempts = o.attempts + 1, o.lastError = :error WHERE o.id IN :ids")
+    int recordFailure(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+    /**
+     * Parks those of the given messages that have used up their attempts.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.parkedAt = :now WHERE o.id IN :ids AND o.attempts >= :maxAttempts")
+    int parkExhausted(@Param("ids") Collection<Long> ids, @Param("maxAttempts") int maxAttempts,
+                      @Param("now") ZonedDateTime now);
+}
@@ -0,0 +1,39 @@
+package com.atlan.evently.repository;
+
+import com.atlan.evently.model.PendingNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PendingNotificationRepository extends JpaRepository<PendingNotification, Long> {
+
+    /**
+     * Users whose digest is due: the oldest pending item was queued before {@code openedBefore},
+     * or they have {@code maxItems} or more. Limit via the pageable.
+     */
+    @Query("SELECT p.userId FROM PendingNotification p GROUP BY p.userId " +
+           "HAVING MIN(p.createdAt) <= :openedBefore OR COUNT(p) >= :maxItems")
+    List<UUID> findUsersDue(@Param("openedBefore") ZonedDateTime openedBefore, @Param("maxItems") long maxItems,
+                            Pageable pageable);
+
+    /**
+     * Locks a user's pending items for the calling transaction, oldest first. Rows already
+     * locked by another instance are skipped rather than waited for.
+     */
+    @Query(value = "SELECT * FROM pending_notifications WHERE user_id = :userId ORDER BY id FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<PendingNotification> claimForUser(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM PendingNotification p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,25 @@
+package com.atlan.evently.repository;
+
+import com.atlan.evently.model.ProcessedCancellation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ProcessedCancellationRepository extends JpaRepository<ProcessedCancellation, UUID> {
+
+    /**
+     * Records a cancellation as processed.
+     *
+     * @return 1 the first time, 0 if the cancellation was already processed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO processed_cancellations (booking_id, event_id) VALUES (:bookingId, :eventId) " +
+                   "ON CONFLICT (booking_id) DO NOTHING",
+           nativeQuery = true)
+    int markProcessed(@Param("bookingId") UUID bookingId, @Param("eventId") UUID eventId);
+}
@@ -1,9 +1,11 @@
 package com.atlan.evently.repository;
 
 import com.atlan.evently.model.Transaction;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,6 +23,14 @@ import java.util.UUID;
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
 
+    /**
+     * Find a transaction and lock its row until the surrounding transaction ends, so concurrent
+     * status updates apply one after the other and each sees the previous one's status
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id")
+    Optional<Transaction> findByIdForUpdate(@Param("id") UUID id);
+
     /**
      * Find transactions by booking ID
      */
@@ -76,6 +86,13 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     @Query("SELECT t.paymentMethod, COUNT(t), SUM(t.amount) FROM Transaction t WHERE t.status = 'COMPLETED' GROUP BY t.paymentMethod ORDER BY COUNT(t) DESC")
     List<Object[]> getPaymentMethodStatistics();
 
+    /**
+     * Payment methods by completed transactions, best first: [method, count]. Limit via the pageable.
+     */
+    @Query("SELECT t.paymentMethod, COUNT(t) FROM Transaction t WHERE t.status = 'COMPLETED' AND t.paymentMethod IS NOT NULL " +
+           "GROUP BY t.paymentMethod ORDER BY COUNT(t) DESC")
+    List<Object[]> findTopPaymentMethods(Pageable pageable);
+
     /**
      * Find failed transactions for admin review
      */
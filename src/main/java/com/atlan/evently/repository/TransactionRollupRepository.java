@@ -0,0 +1,76 @@
+package com.atlan.evently.repository;
+
+import com.atlan.evently.model.Transaction;
+import com.atlan.evently.model.TransactionDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionDailyRollup, TransactionDailyRollup.Key> {
+
+    /**
+     * Adds {@code count} transactions totalling {@code amount} to a rollup row, creating it if needed.
+     * Negative values remove a transaction from the row (status changes).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transaction_daily_rollups " +
+                   "(day, status, transaction_type, payment_method, transaction_count, total_amount) " +
+                   "VALUES (:day, :status, :type, :paymentMethod, :count, :amount) " +
+                   "ON CONFLICT (day, status, transaction_type, payment_method) DO UPDATE SET " +
+                   "transaction_count = transaction_daily_rollups.transaction_count + EXCLUDED.transaction_count, " +
+                   "total_amount = transaction_daily_rollups.total_amount + EXCLUDED.total_amount",
+           nativeQuery = true)
+    int add(@Param("day") LocalDate day, @Param("status") String status, @Param("type") String type,
+            @Param("paymentMethod") String paymentMethod, @Param("count") long count,
+            @Param("amount") BigDecimal amount);
+
+    @Query("SELECT SUM(r.totalAmount) FROM TransactionDailyRollup r " +
+           "WHERE r.status = :status AND r.transactionType = :type AND r.day BETWEEN :startDay AND :endDay")
+    Optional<BigDecimal> sumAmount(@Param("status") Transaction.TransactionStatus status,
+                                   @Param("type") Transaction.TransactionType type,
+                                   @Param("startDay") LocalDate startDay,
+                                   @Param("endDay") LocalDate endDay);
+
+    @Query("SELECT r.status, SUM(r.transactionCount) FROM TransactionDailyRollup r GROUP BY r.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT r.paymentMethod, SUM(r.transactionCount), SUM(r.totalAmount) FROM TransactionDailyRollup r " +
+           "WHERE r.status = 'COMPLETED' GROUP BY r.paymentMethod ORDER BY SUM(r.transactionCount) DESC")
+    List<Object[]> paymentMethodStatistics();
+
+    @Query("SELECT r.day, SUM(r.totalAmount), SUM(r.transactionCount) FROM TransactionDailyRollup r " +
+           "WHERE r.status = 'COMPLETED' AND r.transactionType = 'PAYMENT' AND r.day >= :startDay " +
+           "GROUP BY r.day ORDER BY r.day")
+    List<Object[]> dailyRevenue(@Param("startDay") LocalDate startDay);
+
+    /**
+     * Blocks concurrent rollup updates until the backfilling transaction ends.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE transaction_daily_rollups IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForBackfill();
+
+    @Modifying
+    @Query("DELETE FROM TransactionDailyRollup r")
+    int deleteAllRollups();
+
+    /**
+     * Rebuilds every rollup row from the transactions table
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transaction_daily_rollups " +
+                   "(day, status, transaction_type, payment_method, transaction_count, total_amount) " +
+                   "SELECT CAST(created_at AT TIME ZONE 'UTC' AS DATE), status, transaction_type, " +
+                   "COALESCE(payment_method, ''), COUNT(*), SUM(amount) " +
+                   "FROM transactions GROUP BY 1, 2, 3, 4",
+           nativeQuery = true)
+    int rebuildFromTransactions();
+}
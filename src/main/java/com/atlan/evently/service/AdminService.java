@@ -1,5 +1,8 @@
 package com.atlan.evently.service;
 
+import com.atlan.evently.cache.EventCacheInvalidator;
+import com.atlan.evently.cache.EventCacheTags;
+import com.atlan.evently.config.Workload;
 import com.atlan.evently.dto.AnalyticsResponse;
 import com.atlan.evently.dto.BookingResponse;
 import com.atlan.evently.dto.EventRequest;
@@ -16,16 +19,20 @@ import com.atlan.evently.model.Event;
 import com.atlan.evently.model.User;
 import com.atlan.evently.repository.BookingRepository;
 import com.atlan.evently.repository.EventRepository;
+import com.atlan.evently.repository.TransactionRepository;
 import com.atlan.evently.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,14 +40,19 @@ import java.util.stream.Collectors;
 @Service
 public class AdminService {
 
+    private static final int MAX_TOP_ENTRIES = 100;
+
     private final EventRepository eventRepository;
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
     private final EventMapper eventMapper;
     private final BookingMapper bookingMapper;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
-    private final EventService eventService; // Add reference to EventService
+    private final EventCacheInvalidator eventCacheInvalidator;
+    private final EventInventoryService eventInventoryService;
+    private final AnalyticsService analyticsService;
 
     @Transactional
     public EventResponse createEvent(EventRequest request) {
@@ -48,8 +60,8 @@ public class AdminService {
         Event event = eventMapper.toEntity(request);
         Event savedEvent = eventRepository.save(event);
         
-        // Invalidate events cache when new event is created
-        eventService.evictAllEventCaches();
+        // Invalidate only the listings the new event can appear in
+        eventCacheInvalidator.invalidateEvent(savedEvent.getId(), EventCacheTags.forEvent(savedEvent));
         
         return eventMapper.toResponse(savedEvent);
     }
@@ -63,6 +75,9 @@ public class AdminService {
                         "EVENT_NOT_FOUND",
                         "Event with ID " + eventId + " does not exist"));
 
+        Set<String> previousFilterTags = EventCacheTags.forEvent(existingEvent);
+        boolean listingOrderChanged = !existingEvent.getStartsAt().isEqual(request.getStartTime());
+
         // Update fields while preserving metadata
         existingEvent.setName(request.getEventName().trim());
         existingEvent.setVenue(request.getVenue().trim());
@@ -72,53 +87,50 @@ public class AdminService {
 
         Event savedEvent = eventRepository.save(existingEvent);
         
-        // Invalidate specific event cache and events list
-        eventService.evictEventCache(eventId);
-        eventService.evictAllEventCaches();
+        // Entries containing this event are always invalidated; whole listings only when
+        // the start time moved, since that changes which page the event lands on
+        Set<String> filterTags = new LinkedHashSet<>();
+        if (listingOrderChanged) {
+            filterTags.addAll(previousFilterTags);
+            filterTags.addAll(EventCacheTags.forEvent(savedEvent));
+        }
+        eventCacheInvalidator.invalidateEvent(savedEvent.getId(), filterTags);
+        eventInventoryService.capacityChanged(savedEvent.getId());
         
         return eventMapper.toResponse(savedEvent);
     }
 
+    @Workload(Workload.Type.ANALYTICS)
     @Transactional(readOnly = true)
     public AnalyticsResponse getAnalytics() {
-        // Basic analytics (existing)
-        long totalBookings = bookingRepository.count();
-        long totalEvents = eventRepository.count();
-        long totalCapacity = totalEvents > 0 ?
-                eventRepository.findAll().stream()
-                        .mapToLong(Event::getCapacity)
-                        .sum() : 0;
-
-        double utilization = totalBookings > 0 && totalCapacity > 0 ?
-                (double) totalBookings / totalCapacity * 100 : 0.0;
-
-        // Enhanced analytics - Most popular events
-        List<AnalyticsResponse.PopularEventResponse> popularEvents = getMostPopularEvents(5);
-        
-        // Sold out events count
-        long soldOutEvents = eventRepository.findAll().stream()
-                .mapToLong(event -> event.getAvailableSeats() == 0 ? 1 : 0)
-                .sum();
+        // Running totals maintained by the database - no scans over events or bookings
+        AnalyticsService.AnalyticsTotals totals = analyticsService.getTotals();
 
         AnalyticsResponse response = new AnalyticsResponse();
-        response.setTotalBookings(totalBookings);
-        response.setTotalCapacity(totalCapacity);
-        response.setTotalEvents(totalEvents);
-        response.setSoldOutEvents(soldOutEvents);
-        response.setUtilizationPercentage(String.format("%.2f", utilization));
-        response.setMostPopularEvents(popularEvents);
+        response.setTotalBookings(totals.totalBookings());
+        response.setTotalCapacity(totals.totalCapacity());
+        response.setTotalEvents(totals.totalEvents());
+        response.setSoldOutEvents(totals.soldOutEvents());
+        response.setUtilizationPercentage(String.format("%.2f", totals.utilizationPercentage()));
+        response.setMostPopularEvents(getMostPopularEvents(5));
         
         return response;
     }
 
+    @Workload(Workload.Type.ANALYTICS)
+    @Transactional
+    public AnalyticsResponse reconcileAnalytics() {
+        analyticsService.reconcile();
+        return getAnalytics();
+    }
+
+    @Workload(Workload.Type.ANALYTICS)
     @Transactional(readOnly = true)
     public List<AnalyticsResponse.PopularEventResponse> getMostPopularEvents(int limit) {
-        // Get events with booking counts
-        List<Event> allEvents = eventRepository.findAll();
-        
-        return allEvents.stream()
+        // Top events straight off the confirmed_booking_count index
+        return eventRepository.findByOrderByConfirmedBookingCountDesc(PageRequest.of(0, limit)).stream()
                 .map(event -> {
-                    long bookingCount = bookingRepository.countConfirmedBookingsByEventId(event.getId());
+                    long bookingCount = event.getConfirmedBookingCount();
                     
                     AnalyticsResponse.PopularEventResponse popularEvent = new AnalyticsResponse.PopularEventResponse();
                     popularEvent.setEventId(event.getId().toString());
@@ -133,11 +145,47 @@ public class AdminService {
                     
                     return popularEvent;
                 })
-                .sorted((a, b) -> Long.compare(b.getTotalBookings(), a.getTotalBookings()))
-                .limit(limit)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Top {@code limit} entries of an analytics breakdown, ranked by the database
+     * (one grouped query with ORDER BY ... LIMIT).
+     *
+     * @param dimension {@code venues}, {@code categories} (confirmed bookings) or
+     *                  {@code payment-methods} (completed transactions)
+     */
+    @Workload(Workload.Type.ANALYTICS)
+    @Transactional(readOnly = true)
+    public List<AnalyticsResponse.TopEntryResponse> getTopEntries(String dimension, int limit) {
+        if (limit < 1 || limit > MAX_TOP_ENTRIES) {
+            throw new EventException("Invalid limit", "INVALID_LIMIT",
+                    "Limit must be between 1 and " + MAX_TOP_ENTRIES);
+        }
+        Pageable top = PageRequest.of(0, limit);
+        return switch (dimension) {
+            case "venues" -> eventRepository.findTopVenuesByConfirmedBookings(top).stream()
+                    .map(row -> topEntry(row[0], row[0], row[1]))
+                    .toList();
+            case "categories" -> eventRepository.findTopCategoriesByConfirmedBookings(top).stream()
+                    .map(row -> topEntry(row[0], row[1], row[2]))
+                    .toList();
+            case "payment-methods" -> transactionRepository.findTopPaymentMethods(top).stream()
+                    .map(row -> topEntry(row[0], row[0], row[1]))
+                    .toList();
+            default -> throw new EventException("Unknown analytics dimension", "INVALID_DIMENSION",
+                    "Supported dimensions: venues, categories, payment-methods");
+        };
+    }
+
+    private static AnalyticsResponse.TopEntryResponse topEntry(Object key, Object label, Object count) {
+        AnalyticsResponse.TopEntryResponse entry = new AnalyticsResponse.TopEntryResponse();
+        entry.setKey(key.toString());
+        entry.setLabel(label.toString());
+        entry.setCount(count != null ? ((Number) count).longValue() : 0L);
+        return entry;
+    }
+
     // Admin Booking Management Methods (new)
     
     @Transactional(readOnly = true)
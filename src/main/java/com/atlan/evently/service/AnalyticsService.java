@@ -0,0 +1,77 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.Workload;
+import com.atlan.evently.model.AnalyticsCounter;
+import com.atlan.evently.repository.AnalyticsCounterRepository;
+import com.atlan.evently.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running platform totals for the admin dashboard.
+ *
+ * <p>Totals live in {@code analytics_counters} and per-event confirmed booking counts in
+ * {@code events.confirmed_booking_count}. Database triggers update both inside the writing
+ * transaction, so a read costs the same however many events or bookings exist.
+ * {@link #reconcile()} recomputes everything from the source tables if they ever drift
+ * (e.g. after manual data fixes with triggers disabled).
+ */
+@Service
+@Workload(Workload.Type.ANALYTICS)
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsService {
+
+    private final AnalyticsCounterRepository analyticsCounterRepository;
+    private final EventRepository eventRepository;
+
+    @Transactional(readOnly = true)
+    public AnalyticsTotals getTotals() {
+        Map<String, Long> counters = new HashMap<>();
+        for (Object[] row : analyticsCounterRepository.sumByName()) {
+            counters.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return new AnalyticsTotals(
+                counters.getOrDefault(AnalyticsCounter.EVENTS, 0L),
+                counters.getOrDefault(AnalyticsCounter.CAPACITY, 0L),
+                counters.getOrDefault(AnalyticsCounter.SOLD_OUT_EVENTS, 0L),
+                counters.getOrDefault(AnalyticsCounter.BOOKINGS, 0L));
+    }
+
+    /**
+     * Recomputes all aggregates from events and bookings. Scans both tables and briefly
+     * blocks booking writes, so run it on demand rather than on a schedule.
+     */
+    @Transactional
+    public AnalyticsTotals reconcile() {
+        long started = System.currentTimeMillis();
+        // Events before counters, as bookings take them; the other order can deadlock
+        eventRepository.lockForReconciliation();
+        analyticsCounterRepository.lockForReconciliation();
+        AnalyticsTotals before = getTotals();
+
+        int eventsCorrected = eventRepository.reconcileConfirmedBookingCounts();
+        analyticsCounterRepository.deleteAllCounters();
+        analyticsCounterRepository.recomputeCounters();
+        AnalyticsTotals after = getTotals();
+
+        if (!before.equals(after) || eventsCorrected > 0) {
+            log.warn("Analytics aggregates drifted: before={}, after={}, event booking counts corrected={}",
+                    before, after, eventsCorrected);
+        }
+        log.info("Reconciled analytics aggregates in {} ms", System.currentTimeMillis() - started);
+        return after;
+    }
+
+    public record AnalyticsTotals(long totalEvents, long totalCapacity, long soldOutEvents, long totalBookings) {
+
+        public double utilizationPercentage() {
+            return totalBookings > 0 && totalCapacity > 0 ? (double) totalBookings / totalCapacity * 100 : 0.0;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.Workload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdb.DuckDBAppender;
+import org.duckdb.DuckDBConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Exports {@code bookings}, {@code transactions} and {@code events} incrementally into
+ * ZSTD-compressed Parquet files on local disk, so heavy reports can run on
+ * {@link SnapshotQueryService} instead of Postgres.
+ *
+ * <p>Each table is read by its watermark column, from the last exported value up to
+ * {@code settle-seconds} ago, which leaves room for transactions still in flight. Every run
+ * writes one {@code <table>/part-<lowerWatermarkMillis>.parquet} file. After a crash, the
+ * next run rewrites that same file before it advances the watermark, so no row is exported
+ * twice.
+ *
+ * <p>bookings and events have no {@code updated_at}, so a booking cancelled or an event edited
+ * after its export isn't reflected until a {@link #rebuild()}. transactions are read by
+ * {@code updated_at}, so every status change is exported as a new version of the row and
+ * the query views keep the latest.
+ */
+@Service
+@Workload(Workload.Type.ANALYTICS)
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsSnapshotService {
+
+    static final String WATERMARK_FILE = "_watermarks.properties";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${evently.snapshots.enabled:false}")
+    private boolean enabled;
+
+    @Value("${evently.snapshots.directory:./data/snapshots}")
+    private String directory;
+
+    @Value("${evently.snapshots.settle-seconds:60}")
+    private long settleSeconds;
+
+    @Value("${evently.snapshots.fetch-size:5000}")
+    private int fetchSize;
+
+    // ========== TABLES ==========
+
+    public enum ColumnType {
+        VARCHAR("VARCHAR"),
+        INTEGER("INTEGER"),
+        BOOLEAN("BOOLEAN"),
+        DECIMAL("DECIMAL(14,2)"),
+        TIMESTAMP("TIMESTAMP"); // UTC
+
+        private final String ddl;
+
+        ColumnType(String ddl) {
+            this.ddl = ddl;
+        }
+    }
+
+    public record Column(String name, ColumnType type) {
+    }
+
+    public enum SnapshotTable {
+        BOOKINGS("bookings", "created_at",
+                new Column("id", ColumnType.VARCHAR),
+                new Column("user_id", ColumnType.VARCHAR),
+                new Column("event_id", ColumnType.VARCHAR),
+                new Column("quantity", ColumnType.INTEGER),
+                new Column("status", ColumnType.VARCHAR),
+                new Column("total_amount", ColumnType.DECIMAL),
+                new Column("currency", ColumnType.VARCHAR),
+                new Column("created_at", ColumnType.TIMESTAMP)),
+        TRANSACTIONS("transactions", "updated_at",
+                new Column("id", ColumnType.VARCHAR),
+                new Column("booking_id", ColumnType.VARCHAR),
+                new Column("user_id", ColumnType.VARCHAR),
+                new Column("event_id", ColumnType.VARCHAR),
+                new Column("transaction_type", ColumnType.VARCHAR),
+                new Column("amount", ColumnType.DECIMAL),
+                new Column("currency", ColumnType.VARCHAR),
+                new Column("payment_method", ColumnType.VARCHAR),
+                new Column("payment_gateway", ColumnType.VARCHAR),
+                new Column("status", ColumnType.VARCHAR),
+                new Column("processed_at", ColumnType.TIMESTAMP),
+                new Column("created_at", ColumnType.TIMESTAMP),
+                new Column("updated_at", ColumnType.TIMESTAMP)),
+        EVENTS("events", "created_at",
+                new Column("id", ColumnType.VARCHAR),
+                new Column("name", ColumnType.VARCHAR),
+                new Column("venue", ColumnType.VARCHAR),
+                new Column("category_id", ColumnType.VARCHAR),
+                new Column("is_online", ColumnType.BOOLEAN),
+                new Column("starts_at", ColumnType.TIMESTAMP),
+                new Column("ends_at", ColumnType.TIMESTAMP),
+                new Column("capacity", ColumnType.INTEGER),
+                new Column("available_seats", ColumnType.INTEGER),
+                new Column("ticket_price", ColumnType.DECIMAL),
+                new Column("created_at", ColumnType.TIMESTAMP));
+
+        private final String tableName;
+        private final String watermarkColumn;
+        private final Column[] columns;
+
+        SnapshotTable(String tableName, String watermarkColumn, Column... columns) {
+            this.tableName = tableName;
+            this.watermarkColumn = watermarkColumn;
+            this.columns = columns;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public String getWatermarkColumn() {
+            return watermarkColumn;
+        }
+
+        String columnList() {
+            return Arrays.stream(columns).map(Column::name).collect(Collectors.joining(", "));
+        }
+
+        String duckDbDefinition() {
+            return Arrays.stream(columns).map(c -> c.name() + " " + c.type().ddl).collect(Collectors.joining(", "));
+        }
+    }
+
+    // ========== EXPORT ==========
+
+    @Scheduled(cron = "${evently.snapshots.export-cron:0 10 * * * *}")
+    public void scheduledExport() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            exportAll();
+        } catch (RuntimeException e) {
+            // Watermarks only advance after a file is in place, so the next run picks up from here
+            log.error("Analytics snapshot export failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Exports every table up to now minus the settle delay; returns rows written per table.
+     */
+    public synchronized Map<String, Long> exportAll() {
+        Instant upper = Instant.now().minusSeconds(settleSeconds);
+        Properties watermarks = loadWatermarks();
+        Map<String, Long> exported = new LinkedHashMap<>();
+
+        for (SnapshotTable table : SnapshotTable.values()) {
+            Instant lower = Instant.parse(watermarks.getProperty(table.getTableName(), Instant.EPOCH.toString()));
+            if (!lower.isBefore(upper)) {
+                exported.put(table.getTableName(), 0L);
+                continue;
+            }
+            long rows = exportTable(table, lower, upper);
+            watermarks.setProperty(table.getTableName(), upper.toString());
+            storeWatermarks(watermarks);
+            exported.put(table.getTableName(), rows);
+        }
+        return exported;
+    }
+
+    /**
+     * Deletes every snapshot file and watermark and exports from scratch; picks up booking
+     * cancellations and event edits that incremental runs miss.
+     */
+    public synchronized Map<String, Long> rebuild() {
+        Path root = snapshotRoot();
+        try {
+            for (SnapshotTable table : SnapshotTable.values()) {
+                Path tableDir = root.resolve(table.getTableName());
+                if (Files.isDirectory(tableDir)) {
+                    try (var files = Files.list(tableDir)) {
+                        for (Path file : files.toList()) {
+                            Files.delete(file);
+                        }
+                    }
+                }
+            }
+            Files.deleteIfExists(root.resolve(WATERMARK_FILE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear analytics snapshots in " + root, e);
+        }
+        log.info("Cleared analytics snapshots in {}; re-exporting", root);
+        return exportAll();
+    }
+
+    public Map<String, Instant> getWatermarks() {
+        Properties watermarks = loadWatermarks();
+        Map<String, Instant> result = new LinkedHashMap<>();
+        for (SnapshotTable table : SnapshotTable.values()) {
+            String value = watermarks.getProperty(table.getTableName());
+            if (value != null) {
+                result.put(table.getTableName(), Instant.parse(value));
+            }
+        }
+        return result;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path snapshotRoot() {
+        return Paths.get(directory).toAbsolutePath();
+    }
+
+    private long exportTable(SnapshotTable table, Instant lower, Instant upper) {
+        long started = System.currentTimeMillis();
+        Path tableDir = snapshotRoot().resolve(table.getTableName());
+        Path target = tableDir.resolve("part-" + lower.toEpochMilli() + ".parquet");
+        Path staging = tableDir.resolve(".part-" + lower.toEpochMilli() + ".parquet.tmp");
+
+        try (Connection duckDb = DriverManager.getConnection("jdbc:duckdb:");
+             Statement statement = duckDb.createStatement()) {
+            statement.execute("CREATE TABLE batch (" + table.duckDbDefinition() + ")");
+
+            long rows;
+            try (DuckDBAppender appender = duckDb.unwrap(DuckDBConnection.class)
+                    .createAppender(DuckDBConnection.DEFAULT_SCHEMA, "batch")) {
+                rows = copyRows(table, lower, upper, appender);
+            }
+            if (rows == 0) {
+                return 0;
+            }
+
+            Files.createDirectories(tableDir);
+            Files.deleteIfExists(staging);
+            statement.execute("COPY batch TO '" + sqlLiteral(staging) + "' (FORMAT PARQUET, COMPRESSION ZSTD)");
+            Files.move(staging, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            log.info("Exported {} {} rows ({} .. {}] to {} in {} ms", rows, table.getTableName(), lower, upper,
+                    target.getFileName(), System.currentTimeMillis() - started);
+            return rows;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Snapshot export of " + table.getTableName() + " failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot " + target, e);
+        }
+    }
+
+    // Streams the source rows with a server-side cursor (needs a transaction on Postgres)
+    private long copyRows(SnapshotTable table, Instant lower, Instant upper, DuckDBAppender appender) {
+        String sql = "SELECT " + table.columnList() + " FROM " + table.getTableName() +
+                " WHERE " + table.getWatermarkColumn() + " > ? AND " + table.getWatermarkColumn() + " <= ?" +
+                " ORDER BY " + table.getWatermarkColumn();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long[] rows = {0};
+        readOnly.executeWithoutResult(tx -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, lower.atOffset(ZoneOffset.UTC));
+            ps.setObject(2, upper.atOffset(ZoneOffset.UTC));
+            return ps;
+        }, resultSet -> {
+            appender.beginRow();
+            for (Column column : table.columns) {
+                append(appender, column, resultSet);
+            }
+            appender.endRow();
+            rows[0]++;
+        }));
+        return rows[0];
+    }
+
+    private static void append(DuckDBAppender appender, Column column, ResultSet rs) throws SQLException {
+        switch (column.type()) {
+            case VARCHAR -> appender.append(rs.getString(column.name()));
+            case INTEGER -> {
+                int value = rs.getInt(column.name());
+                if (rs.wasNull()) {
+                    appender.append((String) null);
+                } else {
+                    appender.append(value);
+                }
+            }
+            case BOOLEAN -> appender.append(rs.getBoolean(column.name()));
+            case DECIMAL -> {
+                // The appender wants the column's exact scale
+                BigDecimal value = rs.getBigDecimal(column.name());
+                appender.appendBigDecimal(value != null ? value.setScale(2, RoundingMode.HALF_UP) : null);
+            }
+            case TIMESTAMP -> {
+                OffsetDateTime value = rs.getObject(column.name(), OffsetDateTime.class);
+                appender.appendLocalDateTime(value != null
+                        ? value.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime()
+                        : null);
+            }
+        }
+    }
+
+    // ========== WATERMARKS ==========
+
+    private Properties loadWatermarks() {
+        Properties watermarks = new Properties();
+        Path file = snapshotRoot().resolve(WATERMARK_FILE);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                watermarks.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read snapshot watermarks " + file, e);
+            }
+        }
+        return watermarks;
+    }
+
+    // Write-then-rename, so a crash never leaves a half-written watermark file
+    private void storeWatermarks(Properties watermarks) {
+        Path root = snapshotRoot();
+        Path file = root.resolve(WATERMARK_FILE);
+        Path staging = root.resolve(WATERMARK_FILE + ".tmp");
+        try {
+            Files.createDirectories(root);
+            try (OutputStream out = Files.newOutputStream(staging)) {
+                watermarks.store(out, "Last exported watermark per table (exclusive lower bound of the next run)");
+            }
+            Files.move(staging, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot watermarks " + file, e);
+        }
+    }
+
+    static String sqlLiteral(Path path) {
+        return path.toString().replace("'", "''");
+    }
+}
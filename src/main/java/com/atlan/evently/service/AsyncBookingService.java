@@ -20,6 +20,7 @@ public class AsyncBookingService {
 
     private final BookingService bookingService;
     private final EventService eventService; 
+    private final EventInventoryService eventInventoryService;
     private final UserService userService;
 
     /**
@@ -42,7 +43,7 @@ public class AsyncBookingService {
     public CompletableFuture<EventResponse> validateEventAsync(String eventId) {
         log.debug("Async validation of event: {}", eventId);
         try {
-            EventResponse event = eventService.getEventByIdAsDto(eventId);
+            EventResponse event = eventInventoryService.withLiveInventory(eventService.getEventByIdAsDto(eventId));
             return CompletableFuture.completedFuture(event);
         } catch (Exception e) {
             log.error("Event validation failed for {}: {}", eventId, e.getMessage());
@@ -1,16 +1,22 @@
 package com.atlan.evently.service;
 
+import com.atlan.evently.config.RetryTopics;
+import com.atlan.evently.config.Workload;
 import com.atlan.evently.dto.events.BookingCancelledEvent;
+import com.atlan.evently.util.KeyOrderedExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -18,64 +24,131 @@ import java.util.UUID;
  * Handles booking cancellations and triggers waitlist processing.
  */
 @Service
+@Workload(Workload.Type.BACKGROUND)
 @RequiredArgsConstructor
 @Slf4j
 public class BookingEventConsumer {
 
     private final WaitlistService waitlistService;
+    private final DeadLetterPublishingRecoverer failedRecordRecoverer;
+    private final KeyOrderedExecutor keyOrderedExecutor;
 
     /**
-     * Process booking cancellation events and trigger waitlist notifications.
-     * This consumer listens to the booking-cancelled topic and notifies
-     * the next person in the waitlist when seats become available.
-     * 
-     * @param event The booking cancellation event
-     * @param partition The Kafka partition (for debugging)
-     * @param offset The message offset (for debugging)
-     * @param acknowledgment Manual acknowledgment to ensure message is processed
+     * Process a poll of booking cancellation events and notify waitlisted users.
+     *
+     * <p>Cancellations are grouped by event, and each event's cancelled bookings are handed to
+     * {@link WaitlistService#processCancelledBookings} in one call (one transaction) instead of
+     * one per cancellation. That call skips bookings whose cancellation was already processed,
+     * so redelivered records free no seats. Different events are processed in parallel on the
+     * {@link KeyOrderedExecutor}; records are keyed by event ID, so one event's cancellations
+     * share a partition and stay in order. If that call fails, the event's cancellations are retried one by
+     * one, and those that still fail move on to {@code booking-cancelled-retry-5s} (see
+     * {@link RetryTopics}). Malformed records go straight to {@code booking-cancelled-dlt}.
+     * The poll is acknowledged once at the end.
+     *
+     * @param records The polled records, in partition order
+     * @param acknowledgment Manual acknowledgment for the whole poll
      */
     @KafkaListener(
         topics = "booking-cancelled",
         groupId = "evently-consumer-group",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = "batchKafkaListenerContainerFactory"
     )
-    @Transactional
-    public void handleBookingCancelled(
-            @Payload BookingCancelledEvent event,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
+    public void handleBookingCancelled(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        process(records);
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * Retries cancellations that failed on the main topic, once they are due. Failures move
+     * on to the next retry topic and finally to {@code booking-cancelled-dlt}.
+     */
+    @KafkaListener(
+        topics = "booking-cancelled" + RetryTopics.RETRY_5S,
+        groupId = "evently-consumer-group",
+        containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    @KafkaListener(
+        topics = "booking-cancelled" + RetryTopics.RETRY_1M,
+        groupId = "evently-consumer-group",
+        containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void retryBookingCancelled(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        long now = System.currentTimeMillis();
+        int due = RetryTopics.dueCount(records, now);
+        process(records.subList(0, due));
+        if (due < records.size()) {
+            // Commit what was processed and come back when the next record is due
+            acknowledgment.nack(due, Duration.ofMillis(RetryTopics.dueAt(records.get(due)) - now));
+        } else {
+            acknowledgment.acknowledge();
+        }
+    }
+
+    private void process(List<ConsumerRecord<String, Object>> records) {
+        Map<UUID, List<ConsumerRecord<String, Object>>> byEvent = new LinkedHashMap<>();
+        for (ConsumerRecord<String, Object> record : records) {
+            try {
+                byEvent.computeIfAbsent(eventIdOf(record), id -> new ArrayList<>()).add(record);
+            } catch (IllegalArgumentException e) {
+                log.error("Malformed booking cancellation at {}-{}, offset {}: {}",
+                        record.topic(), record.partition(), record.offset(), e.getMessage());
+                failedRecordRecoverer.accept(record, e);
+            }
+        }
 
-        log.info("Processing booking cancellation event - booking: {}, event: {}, quantity: {}, partition: {}, offset: {}", 
-                event.getBookingId(), event.getEventId(), event.getQuantity(), partition, offset);
+        // Events in parallel, each event's cancellations in partition order
+        keyOrderedExecutor.forEachKey(byEvent, (eventId, group) -> {
+            // A booking repeated within the poll counts once
+            Map<UUID, Integer> seatsByBooking = new LinkedHashMap<>();
+            group.forEach(record -> seatsByBooking.putIfAbsent(bookingIdOf(record), event(record).getQuantity()));
+            try {
+                int seats = waitlistService.processCancelledBookings(eventId, seatsByBooking);
+                log.info("Processed {} cancellation(s) for event {} - {} seats made available",
+                        group.size(), eventId, seats);
+            } catch (RuntimeException e) {
+                log.warn("Failed to process {} cancellation(s) for event {}, retrying one by one: {}",
+                        group.size(), eventId, e.getMessage());
+                group.forEach(record -> processSingle(eventId, record));
+            }
+        });
+    }
 
+    private void processSingle(UUID eventId, ConsumerRecord<String, Object> record) {
+        BookingCancelledEvent event = event(record);
         try {
-            // Parse event ID and trigger waitlist processing
-            UUID eventId = UUID.fromString(event.getEventId());
-            
-            // Process available seats for waitlisted users
-            // This will notify the next person(s) in line via Kafka
-            waitlistService.processAvailableSeat(eventId, event.getQuantity());
-            
-            log.info("Successfully processed booking cancellation for event {} - {} seats made available", 
-                    event.getEventId(), event.getQuantity());
-            
-            // Acknowledge message processing success
-            acknowledgment.acknowledge();
-            
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid event ID format in booking cancelled event: {}", event.getEventId(), e);
-            // Acknowledge to prevent reprocessing of malformed messages
-            acknowledgment.acknowledge();
-            
-        } catch (Exception e) {
-            log.error("Failed to process booking cancellation event for booking {}: {}", 
+            waitlistService.processCancelledBookings(eventId, Map.of(bookingIdOf(record), event.getQuantity()));
+        } catch (RuntimeException e) {
+            log.error("Failed to process booking cancellation for booking {}: {}",
                     event.getBookingId(), e.getMessage(), e);
-            
-            // Don't acknowledge - message will be retried
-            // Kafka will handle retry logic based on configuration
-            throw new RuntimeException("Failed to process booking cancellation", e);
+            failedRecordRecoverer.accept(record, e);
+        }
+    }
+
+    private static UUID eventIdOf(ConsumerRecord<String, Object> record) {
+        if (!(record.value() instanceof BookingCancelledEvent event)) {
+            throw new IllegalArgumentException("Not a booking cancellation: " + record.value());
         }
+        if (event.getEventId() == null) {
+            throw new IllegalArgumentException("Missing event ID");
+        }
+        if (event.getBookingId() == null) {
+            throw new IllegalArgumentException("Missing booking ID");
+        }
+        // Cancellations are deduplicated by booking ID, so it has to parse
+        UUID.fromString(event.getBookingId());
+        if (event.getQuantity() == null || event.getQuantity() <= 0) {
+            throw new IllegalArgumentException("Invalid quantity: " + event.getQuantity());
+        }
+        return UUID.fromString(event.getEventId());
+    }
+
+    private static UUID bookingIdOf(ConsumerRecord<String, Object> record) {
+        return UUID.fromString(event(record).getBookingId());
+    }
+
+    private static BookingCancelledEvent event(ConsumerRecord<String, Object> record) {
+        return (BookingCancelledEvent) record.value();
     }
 
     /**
@@ -0,0 +1,179 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.Workload;
+import com.atlan.evently.config.WorkloadContext;
+import com.atlan.evently.exception.EventException;
+import com.atlan.evently.model.Booking;
+import com.atlan.evently.repository.BookingRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Streams bookings to the client as CSV or NDJSON in constant memory.
+ *
+ * <p>Rows come from a forward-only JDBC cursor ({@link BookingRepository#streamForExport})
+ * and are written straight to the response; each booking is detached once written and the
+ * persistence context is cleared every {@value #CLEAR_INTERVAL} rows, so neither the heap
+ * nor the session grows with the table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExportService {
+
+    private static final int CLEAR_INTERVAL = 500;
+    private static final String[] COLUMNS = {"bookingId", "userId", "eventId", "quantity", "bookingStatus", "createdAt"};
+
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        ExportFormat(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+
+    public ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new EventException("Invalid export format", "INVALID_EXPORT_FORMAT",
+                    "Supported formats: csv, ndjson");
+        }
+    }
+
+    /**
+     * Validates the filters up front (so bad input still gets a proper error response) and
+     * returns a body that streams the matching bookings when the response is written.
+     */
+    public StreamingResponseBody export(String status, String eventId, ExportFormat format) {
+        UUID eventUuid = eventId != null ? parseUUID(eventId, "Event ID") : null;
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Runs on an async request thread, so the workload is set here rather than by annotation
+        return outputStream -> WorkloadContext.run(Workload.Type.ANALYTICS, () -> readOnly.executeWithoutResult(tx -> {
+            long started = System.currentTimeMillis();
+            try (Stream<Booking> bookings = bookingRepository.streamForExport(status, eventUuid)) {
+                long rows = format == ExportFormat.CSV
+                        ? writeCsv(bookings, outputStream)
+                        : writeNdjson(bookings, outputStream);
+                log.info("Exported {} bookings as {} in {} ms (status={}, eventId={})",
+                        rows, format, System.currentTimeMillis() - started, status, eventId);
+            } catch (IOException e) {
+                // Usually the client went away mid-download
+                throw new UncheckedIOException("Booking export aborted", e);
+            }
+        }));
+    }
+
+    private long writeCsv(Stream<Booking> bookings, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+
+        long rows = 0;
+        for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+            writer.write(booking.getId().toString());
+            writer.write(',');
+            writer.write(booking.getUser().getId().toString());
+            writer.write(',');
+            writer.write(booking.getEvent().getId().toString());
+            writer.write(',');
+            writer.write(String.valueOf(booking.getQuantity()));
+            writer.write(',');
+            writer.write(csvField(booking.getStatus()));
+            writer.write(',');
+            writer.write(booking.getCreatedAt() != null ? booking.getCreatedAt().toOffsetDateTime().toString() : "");
+            writer.write('\n');
+            release(booking, ++rows);
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(Stream<Booking> bookings, OutputStream outputStream) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // One object per line; the generator must not close the servlet stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+                generator.writeStartObject();
+                generator.writeStringField(COLUMNS[0], booking.getId().toString());
+                generator.writeStringField(COLUMNS[1], booking.getUser().getId().toString());
+                generator.writeStringField(COLUMNS[2], booking.getEvent().getId().toString());
+                generator.writeNumberField(COLUMNS[3], booking.getQuantity());
+                generator.writeStringField(COLUMNS[4], booking.getStatus());
+                generator.writeStringField(COLUMNS[5],
+                        booking.getCreatedAt() != null ? booking.getCreatedAt().toOffsetDateTime().toString() : null);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                release(booking, ++rows);
+            }
+        }
+        return rows;
+    }
+
+    // Detach each written row; clearing also drops the user/event proxies it referenced
+    private void release(Booking booking, long rows) {
+        entityManager.detach(booking);
+        if (rows % CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private UUID parseUUID(String id, String fieldName) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + fieldName + " format: " + id);
+        }
+    }
+}
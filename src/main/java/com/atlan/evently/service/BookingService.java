@@ -15,12 +15,15 @@ import com.atlan.evently.repository.EventRepository;
 import com.atlan.evently.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -50,7 +53,9 @@ import java.util.stream.Collectors;
  * 
  * <p><strong>Event-Driven Integration:</strong>
  * Publishes booking cancellation events to Kafka for waitlist processing
- * and analytics pipelines.
+ * and analytics pipelines. With {@code evently.notifications.booking.enabled}, the user
+ * also gets an in-app notice and a mail for each confirmation and cancellation, both
+ * merged into per-user digests.
  * 
  * @author Evently Platform Team
  * @since 1.0.0
@@ -67,6 +72,14 @@ public class BookingService {
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
     private final EventPublisher eventPublisher;
+    private final EventInventoryService eventInventoryService;
+    private final EventRankingService eventRankingService;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+
+    @Value("${evently.notifications.booking.enabled:false}")
+    private boolean bookingNotificationsEnabled;
 
     /**
      * Retrieves booking history for a specific user with optional status filtering.
@@ -84,6 +97,7 @@ public class BookingService {
     @Transactional(readOnly = true)
     public List<Booking> getUserBookings(UUID userId, String status) {
         validateStatus(status);
+        replicaLagGuard.readingFor(userId.toString());
         if (status != null) {
             return bookingRepository.findByUserIdAndStatus(userId, status);
         }
@@ -212,6 +226,8 @@ public class BookingService {
         }
 
         log.info("Successfully reserved {} seats for event {}", request.getQuantity(), eventUuid);
+        eventInventoryService.seatsReserved(eventUuid, request.getQuantity());
+        eventRankingService.recordBooking(eventUuid, categoryIdOf(event), 1);
 
         // Step 8: Booking record creation with rollback protection
         try {
@@ -222,6 +238,8 @@ public class BookingService {
             booking.setCreatedAt(ZonedDateTime.now());
             
             Booking savedBooking = bookingRepository.save(booking);
+            replicaLagGuard.recordWrite(request.getUserId());
+            notifyBookingConfirmed(user, event, savedBooking);
             
             log.info("Booking created successfully: {}", savedBooking.getId());
             return bookingMapper.toResponse(savedBooking);
@@ -244,7 +262,7 @@ public class BookingService {
      *   <li>Validates booking exists and is cancellable</li>
      *   <li>Atomically restores seats to event inventory</li>
      *   <li>Updates booking status to CANCELLED</li>
-     *   <li>Publishes cancellation event to Kafka for waitlist processing</li>
+     *   <li>Queues the cancellation event in the outbox, in the same transaction</li>
      * </ol>
      * 
      * <p><strong>Business Rules:</strong>
@@ -255,7 +273,7 @@ public class BookingService {
      * </ul>
      * 
      * <p><strong>Event-Driven Integration:</strong>
-     * Publishes BookingCancelledEvent to Kafka which triggers:
+     * The BookingCancelledEvent reaches Kafka through {@link OutboxRelay} after commit and triggers:
      * <ul>
      *   <li>Waitlist notification processing</li>
      *   <li>Analytics pipeline updates</li>
@@ -306,25 +324,80 @@ public class BookingService {
         int rowsUpdated = bookingRepository.restoreSeats(booking.getEvent().getId(), booking.getQuantity());
         if (rowsUpdated == 0) {
             log.warn("Failed to restore seats for event {} - event may have been deleted", booking.getEvent().getId());
+        } else {
+            eventInventoryService.seatsReleased(booking.getEvent().getId(), booking.getQuantity());
+            eventRankingService.recordBooking(booking.getEvent().getId(), categoryIdOf(booking.getEvent()), -1);
         }
         
         bookingRepository.save(booking);
+        replicaLagGuard.recordWrite(userId);
+        notifyBookingCancelled(booking.getUser(), booking.getEvent(), bookingId);
         
         log.info("Booking {} cancelled successfully, {} seats restored", bookingId, booking.getQuantity());
 
-        // Event-driven integration: publish cancellation event
-        try {
-            BookingCancelledEvent cancelledEvent = new BookingCancelledEvent(
-                bookingId, userId, eventId, quantity, ZonedDateTime.now(), "USER_CANCELLED"
-            );
+        // Event-driven integration: the outbox row commits with the cancellation, so the
+        // waitlist hears about the freed seats even if Kafka is down right now
+        BookingCancelledEvent cancelledEvent = new BookingCancelledEvent(
+            bookingId, userId, eventId, quantity, ZonedDateTime.now(), "USER_CANCELLED"
+        );
+        eventPublisher.publishBookingCancelled(cancelledEvent);
+    }
 
-            eventPublisher.publishBookingCancelled(cancelledEvent);
-            log.info("Published booking cancelled event for booking {} to trigger waitlist processing", bookingId);
-            
-        } catch (Exception e) {
-            // Non-blocking: cancellation succeeds even if event publishing fails
-            log.error("Failed to publish booking cancelled event for booking {}: {}", bookingId, e.getMessage(), e);
+    // ========== USER NOTIFICATIONS ==========
+
+    // The in-app notice is queued in the booking's transaction; the mail goes once it commits
+    private void notifyBookingConfirmed(User user, Event event, Booking booking) {
+        if (!bookingNotificationsEnabled) {
+            return;
         }
+        String bookingId = booking.getId().toString();
+        notificationService.createBookingConfirmationNotification(user.getId().toString(), event.getName(), bookingId);
+        String email = user.getEmail();
+        String userName = user.getName();
+        String eventName = event.getName();
+        String venue = event.getVenue();
+        String eventTime = EmailService.EVENT_TIME_FORMAT.format(event.getStartsAt());
+        int quantity = booking.getQuantity();
+        afterCommit(bookingId, () ->
+                emailService.sendBookingConfirmationEmail(email, userName, eventName, venue, eventTime, quantity, bookingId));
+    }
+
+    private void notifyBookingCancelled(User user, Event event, String bookingId) {
+        if (!bookingNotificationsEnabled) {
+            return;
+        }
+        notificationService.createBookingCancellationNotification(user.getId().toString(), event.getName(), bookingId);
+        String email = user.getEmail();
+        String userName = user.getName();
+        String eventName = event.getName();
+        String eventTime = EmailService.EVENT_TIME_FORMAT.format(event.getStartsAt());
+        afterCommit(bookingId, () ->
+                emailService.sendBookingCancellationEmail(email, userName, eventName, eventTime, bookingId));
+    }
+
+    // The booking has committed by then, so a failure is only logged
+    private static void afterCommit(String bookingId, Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Failed to queue mail for booking {}: {}", bookingId, e.getMessage(), e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    private static UUID categoryIdOf(Event event) {
+        return event.getCategory() != null ? event.getCategory().getId() : null;
     }
 
     // ========== VALIDATION METHODS ==========
@@ -0,0 +1,135 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.RetryTopics;
+import com.atlan.evently.exception.EventException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Moves dead letters back to their main topic once the cause has been fixed.
+ *
+ * <p>Records are copied as raw bytes with their original headers, minus the ones added by
+ * the retry chain, so they are consumed exactly like the original message. Progress is
+ * committed under the {@value #REPLAY_GROUP} consumer group, so each dead letter is replayed
+ * once and the next replay continues where this one stopped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterReplayService {
+
+    public static final String REPLAY_GROUP = "evently-dlt-replay";
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConsumerFactory<String, byte[]> rawConsumerFactory;
+    private final KafkaTemplate<String, byte[]> rawKafkaTemplate;
+
+    @Value("${evently.kafka.dlt-replay.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    /**
+     * Republishes up to {@code maxRecords} dead letters of {@code topic} (a main topic such
+     * as {@code booking-cancelled}) and returns how many were replayed.
+     */
+    public int replay(String topic, int maxRecords) {
+        if (!RetryTopics.TOPICS.contains(topic)) {
+            throw new IllegalArgumentException("Unknown topic: " + topic + ", expected one of " + RetryTopics.TOPICS);
+        }
+        if (maxRecords <= 0) {
+            throw new IllegalArgumentException("maxRecords must be positive");
+        }
+        String deadLetterTopic = RetryTopics.Stage.DEAD_LETTER.topic(topic);
+
+        try (Consumer<String, byte[]> consumer = rawConsumerFactory.createConsumer(REPLAY_GROUP, "replay")) {
+            Set<TopicPartition> partitions = new HashSet<>();
+            for (PartitionInfo info : consumer.partitionsFor(deadLetterTopic)) {
+                partitions.add(new TopicPartition(info.topic(), info.partition()));
+            }
+            consumer.assign(partitions);
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(partitions);
+            for (TopicPartition partition : partitions) {
+                OffsetAndMetadata offset = committed.get(partition);
+                if (offset == null) {
+                    consumer.seekToBeginning(List.of(partition));
+                } else {
+                    consumer.seek(partition, offset.offset());
+                }
+            }
+
+            List<CompletableFuture<?>> sends = new ArrayList<>();
+            Map<TopicPartition, OffsetAndMetadata> progress = new HashMap<>();
+            while (sends.size() < maxRecords) {
+                var polled = consumer.poll(POLL_TIMEOUT);
+                if (polled.isEmpty()) {
+                    break;
+                }
+                for (ConsumerRecord<String, byte[]> record : polled) {
+                    if (sends.size() == maxRecords) {
+                        break;
+                    }
+                    sends.add(rawKafkaTemplate.send(new ProducerRecord<>(topic, null, record.key(), record.value(),
+                            originalHeaders(record))));
+                    progress.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+
+            awaitAll(sends);
+            if (!progress.isEmpty()) {
+                consumer.commitSync(progress);
+            }
+            log.info("Replayed {} dead letters from {} to {}", sends.size(), deadLetterTopic, topic);
+            return sends.size();
+        }
+    }
+
+    private void awaitAll(List<CompletableFuture<?>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Nothing is committed, so the next replay starts over; some records may be sent twice
+            throw new EventException("Dead-letter replay failed", "DLT_REPLAY_FAILED",
+                    e instanceof ExecutionException ? e.getCause().getMessage() : "Timed out waiting for Kafka");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventException("Dead-letter replay interrupted", "DLT_REPLAY_FAILED", e.getMessage());
+        }
+    }
+
+    private static RecordHeaders originalHeaders(ConsumerRecord<?, ?> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            String key = header.key();
+            if (!key.startsWith(KafkaHeaders.PREFIX + "dlt-") && !key.equals(RetryTopics.DUE_AT_HEADER)) {
+                headers.add(header);
+            }
+        }
+        return headers;
+    }
+}
@@ -1,25 +1,50 @@
 package com.atlan.evently.service;
 
 import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import com.atlan.evently.template.Template;
+import com.atlan.evently.util.Coalescer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.atlan.evently.template.Template.time;
+import static com.atlan.evently.template.Template.value;
 
 /**
  * Email service for sending waitlist notifications and other email communications.
- * Uses JavaMailSender with MailHog for local testing.
+ * Messages are queued on the {@link MailDispatcher}, which sends them over pooled SMTP
+ * connections (MailHog on port 1025 for local testing).
+ *
+ * <p>Booking confirmation and cancellation mails are coalesced per address for
+ * {@code evently.notifications.digest.window-seconds}: several become one digest mail, a
+ * single one is sent as is. Seat-available mails are time-critical and are never delayed.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    static final DateTimeFormatter EVENT_TIME_FORMAT = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy 'at' HH:mm");
+    private static final DateTimeFormatter EXPIRY_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final MailDispatcher mailDispatcher;
 
     @Value("${evently.notifications.email.from-address:noreply@evently.com}")
     private String fromAddress;
@@ -30,29 +55,38 @@ public class EmailService {
     @Value("${evently.waitlist.booking-window-minutes:10}")
     private int bookingWindowMinutes;
 
+    @Value("${evently.notifications.digest.window-seconds:60}")
+    private long digestWindowSeconds;
+
+    @Value("${evently.notifications.digest.max-items:20}")
+    private int digestMaxItems;
+
+    private InternetAddress from;
+    private Coalescer<String, QueuedMail> digest;
+
+    @PostConstruct
+    void init() throws UnsupportedEncodingException {
+        from = new InternetAddress(fromAddress, fromName, StandardCharsets.UTF_8.name());
+        digest = new Coalescer<>("email-digest", Duration.ofSeconds(digestWindowSeconds), digestMaxItems,
+                this::sendDigest);
+    }
+
+    @PreDestroy
+    void stopDigest() {
+        digest.close();
+    }
+
     /**
-     * Send waitlist notification email when a seat becomes available
+     * Queue the waitlist notification email sent when a seat becomes available. The future
+     * fails if the mail server doesn't accept it; the caller decides whether to retry.
      */
-    public void sendWaitlistNotificationEmail(WaitlistNotificationEvent event) {
-        log.info("Sending waitlist notification email to {} for event {}", 
+    public CompletableFuture<Void> sendWaitlistNotificationEmail(WaitlistNotificationEvent event) {
+        log.debug("Queueing waitlist notification email to {} for event {}",
                 event.getUserEmail(), event.getEventName());
 
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(String.format("%s <%s>", fromName, fromAddress));
-            message.setTo(event.getUserEmail());
-            message.setSubject(String.format("🎫 Seat Available: %s", event.getEventName()));
-            message.setText(buildWaitlistEmailContent(event));
-
-            mailSender.send(message);
-            
-            log.info("Successfully sent waitlist notification email to {}", event.getUserEmail());
-            
-        } catch (Exception e) {
-            log.error("Failed to send waitlist notification email to {}: {}", 
-                    event.getUserEmail(), e.getMessage(), e);
-            throw new RuntimeException("Failed to send email notification", e);
-        }
+        return mailDispatcher.submit(message(event.getUserEmail(),
+                WAITLIST_SUBJECT.render(event),
+                WAITLIST_BODY.render(new WaitlistMail(event, bookingWindowMinutes))));
     }
 
     /**
@@ -63,23 +97,10 @@ public class EmailService {
                                            String eventTime, int quantity, String bookingId) {
         log.info("Sending booking confirmation email to {} for event {}", userEmail, eventName);
 
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(String.format("%s <%s>", fromName, fromAddress));
-            message.setTo(userEmail);
-            message.setSubject(String.format("✅ Booking Confirmed: %s", eventName));
-            message.setText(buildBookingConfirmationContent(userName, eventName, eventVenue, 
-                    eventTime, quantity, bookingId));
-
-            mailSender.send(message);
-            
-            log.info("Successfully sent booking confirmation email to {}", userEmail);
-            
-        } catch (Exception e) {
-            log.error("Failed to send booking confirmation email to {}: {}", 
-                    userEmail, e.getMessage(), e);
-            // Don't throw here - booking should succeed even if email fails
-        }
+        // Don't throw here - booking should succeed even if email fails
+        BookingMail mail = new BookingMail(userName, eventName, eventVenue, eventTime, quantity, bookingId);
+        digest.add(userEmail, new QueuedMail(userName, CONFIRMATION_SUBJECT.render(mail),
+                CONFIRMATION_BODY.render(mail), CONFIRMATION_SUMMARY.render(mail)));
     }
 
     /**
@@ -89,46 +110,122 @@ public class EmailService {
                                            String eventName, String eventTime, String bookingId) {
         log.info("Sending booking cancellation email to {} for event {}", userEmail, eventName);
 
+        // Don't throw here - cancellation should succeed even if email fails
+        BookingMail mail = new BookingMail(userName, eventName, null, eventTime, 0, bookingId);
+        digest.add(userEmail, new QueuedMail(userName, CANCELLATION_SUBJECT.render(mail),
+                CANCELLATION_BODY.render(mail), CANCELLATION_SUMMARY.render(mail)));
+    }
+
+    // Runs on the digest thread once the address's window closes
+    void sendDigest(String userEmail, List<QueuedMail> mails) {
+        if (mails.size() == 1) {
+            QueuedMail mail = mails.get(0);
+            sendQuietly(userEmail, "booking", () -> message(userEmail, mail.subject(), mail.body()));
+        } else {
+            log.info("Sending digest of {} mails to {}", mails.size(), userEmail);
+            sendQuietly(userEmail, "digest", () -> message(userEmail,
+                    DIGEST_SUBJECT.render(mails), DIGEST_BODY.render(mails)));
+        }
+    }
+
+    private void sendQuietly(String userEmail, String kind, Supplier<MimeMessage> message) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(String.format("%s <%s>", fromName, fromAddress));
-            message.setTo(userEmail);
-            message.setSubject(String.format("❌ Booking Cancelled: %s", eventName));
-            message.setText(buildBookingCancellationContent(userName, eventName, eventTime, bookingId));
+            mailDispatcher.submit(message.get()).whenComplete((sent, failure) -> {
+                if (failure != null) {
+                    log.error("Failed to send {} email to {}: {}", kind, userEmail, failure.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to send {} email to {}: {}", kind, userEmail, e.getMessage(), e);
+        }
+    }
 
-            mailSender.send(message);
-            
-            log.info("Successfully sent booking cancellation email to {}", userEmail);
-            
-        } catch (Exception e) {
-            log.error("Failed to send booking cancellation email to {}: {}", 
-                    userEmail, e.getMessage(), e);
-            // Don't throw here - cancellation should succeed even if email fails
+    private MimeMessage message(String to, String subject, String text) {
+        MimeMessage message = mailDispatcher.createMessage();
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+            helper.setFrom(from);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(text);
+        } catch (MessagingException e) {
+            throw new MailPreparationException("Invalid email to " + to, e);
         }
+        return message;
     }
 
-    // ========== EMAIL CONTENT BUILDERS ==========
+    // ========== TEMPLATES ==========
+
+    record WaitlistMail(WaitlistNotificationEvent event, int bookingWindowMinutes) {
+    }
+
+    // A coalesced mail: sent as is when alone, as its summary line in a digest
+    record QueuedMail(String userName, String subject, String body, String summary) {
+    }
+
+    record BookingMail(String userName, String eventName, String eventVenue, String eventTime,
+                       int quantity, String bookingId) {
+
+        private static final Map<String, Template.Binding<BookingMail>> BINDINGS = Map.of(
+                "userName", value(BookingMail::userName),
+                "eventName", value(BookingMail::eventName),
+                "eventVenue", value(BookingMail::eventVenue),
+                "eventTime", value(BookingMail::eventTime),
+                "quantity", (mail, out) -> out.append(mail.quantity()),
+                "bookingId", value(BookingMail::bookingId));
+    }
+
+    private static final Template<WaitlistNotificationEvent> WAITLIST_SUBJECT = Template.compile(
+            "🎫 Seat Available: {{eventName}}", Map.of("eventName", value(WaitlistNotificationEvent::getEventName)));
+
+    private static final Template<BookingMail> CONFIRMATION_SUBJECT = Template.compile(
+            "✅ Booking Confirmed: {{eventName}}", Map.of("eventName", value(BookingMail::eventName)));
+
+    private static final Template<BookingMail> CANCELLATION_SUBJECT = Template.compile(
+            "❌ Booking Cancelled: {{eventName}}", Map.of("eventName", value(BookingMail::eventName)));
 
-    private String buildWaitlistEmailContent(WaitlistNotificationEvent event) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy 'at' HH:mm");
-        String formattedEventTime = event.getEventStartTime().format(formatter);
-        String formattedExpiryTime = event.getExpiresAt().format(DateTimeFormatter.ofPattern("HH:mm"));
+    private static final Template<BookingMail> CONFIRMATION_SUMMARY = Template.compile(
+            "✅ Booking {{bookingId}} for {{eventName}} ({{eventTime}}, {{quantity}} tickets) is confirmed.",
+            BookingMail.BINDINGS);
 
-        return String.format("""
-            Hi %s,
+    private static final Template<BookingMail> CANCELLATION_SUMMARY = Template.compile(
+            "❌ Booking {{bookingId}} for {{eventName}} ({{eventTime}}) was cancelled.",
+            BookingMail.BINDINGS);
+
+    private static final Template<List<QueuedMail>> DIGEST_SUBJECT = Template.<List<QueuedMail>>compile(
+            "📬 Your Evently updates ({{count}})", Map.of("count", (mails, out) -> out.append(mails.size())));
+
+    private static final Template<List<QueuedMail>> DIGEST_BODY = Template.<List<QueuedMail>>compile("""
+            Hi {{userName}},
+            
+            Here's what happened with your bookings:
+            
+            {{summaries}}
+            You can see all your bookings on the platform.
+            
+            Thanks for using Evently!
+            
+            Best regards,
+            The Evently Team
+            """, Map.of(
+                    "userName", value(mails -> mails.get(0).userName()),
+                    "summaries", (mails, out) -> mails.forEach(mail -> out.append(mail.summary()).append('\n'))));
+
+    private static final Template<WaitlistMail> WAITLIST_BODY = Template.<WaitlistMail>compile("""
+            Hi {{userName}},
             
             Great news! A seat has become available for the event you're waiting for:
             
             🎪 EVENT DETAILS
-            Event: %s
-            Venue: %s
-            Date & Time: %s
-            Available Seats: %d
+            Event: {{eventName}}
+            Venue: {{eventVenue}}
+            Date & Time: {{eventStartTime}}
+            Available Seats: {{availableSeats}}
             
-            ⏰ URGENT: Book within %d minutes!
-            Your booking window expires at %s today.
+            ⏰ URGENT: Book within {{bookingWindowMinutes}} minutes!
+            Your booking window expires at {{expiresAt}} today.
             
-            👆 BOOK NOW: %s
+            👆 BOOK NOW: {{bookingUrl}}
             
             If you don't book within the time window, we'll offer this seat to the next person on the waitlist.
             
@@ -141,32 +238,27 @@ public class EmailService {
             
             ---
             This is an automated message. Please don't reply directly to this email address.
-            """, 
-            event.getUserName(),
-            event.getEventName(),
-            event.getEventVenue(), 
-            formattedEventTime,
-            event.getAvailableSeats(),
-            bookingWindowMinutes,
-            formattedExpiryTime,
-            event.getBookingUrl()
-        );
-    }
+            """, Map.of(
+                    "userName", value(mail -> mail.event().getUserName()),
+                    "eventName", value(mail -> mail.event().getEventName()),
+                    "eventVenue", value(mail -> mail.event().getEventVenue()),
+                    "eventStartTime", time(mail -> mail.event().getEventStartTime(), EVENT_TIME_FORMAT),
+                    "availableSeats", value(mail -> mail.event().getAvailableSeats()),
+                    "bookingWindowMinutes", (mail, out) -> out.append(mail.bookingWindowMinutes()),
+                    "expiresAt", time(mail -> mail.event().getExpiresAt(), EXPIRY_TIME_FORMAT),
+                    "bookingUrl", value(mail -> mail.event().getBookingUrl())));
 
-    private String buildBookingConfirmationContent(String userName, String eventName, 
-                                                  String eventVenue, String eventTime, 
-                                                  int quantity, String bookingId) {
-        return String.format("""
-            Hi %s,
+    private static final Template<BookingMail> CONFIRMATION_BODY = Template.compile("""
+            Hi {{userName}},
             
             Your booking has been confirmed! Here are your ticket details:
             
             🎫 BOOKING CONFIRMATION
-            Booking ID: %s
-            Event: %s
-            Venue: %s
-            Date & Time: %s
-            Tickets: %d
+            Booking ID: {{bookingId}}
+            Event: {{eventName}}
+            Venue: {{eventVenue}}
+            Date & Time: {{eventTime}}
+            Tickets: {{quantity}}
             
             📱 What's next?
             • Keep this email as your booking confirmation
@@ -180,22 +272,17 @@ public class EmailService {
             
             Best regards,
             The Evently Team
-            """,
-            userName, bookingId, eventName, eventVenue, eventTime, quantity
-        );
-    }
+            """, BookingMail.BINDINGS);
 
-    private String buildBookingCancellationContent(String userName, String eventName, 
-                                                  String eventTime, String bookingId) {
-        return String.format("""
-            Hi %s,
+    private static final Template<BookingMail> CANCELLATION_BODY = Template.compile("""
+            Hi {{userName}},
             
             Your booking has been successfully cancelled.
             
             🚫 CANCELLED BOOKING
-            Booking ID: %s
-            Event: %s
-            Date & Time: %s
+            Booking ID: {{bookingId}}
+            Event: {{eventName}}
+            Date & Time: {{eventTime}}
             
             💰 Refund Information
             If applicable, your refund will be processed within 3-5 business days.
@@ -207,8 +294,5 @@ public class EmailService {
             
             Best regards,
             The Evently Team
-            """,
-            userName, bookingId, eventName, eventTime
-        );
-    }
+            """, BookingMail.BINDINGS);
 }
@@ -32,6 +32,7 @@ public class EventCommentService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final EventCommentMapper eventCommentMapper;
+    private final EventRankingService eventRankingService;
 
     @Transactional
     public EventCommentResponse createComment(EventCommentRequest request) {
@@ -68,6 +69,8 @@ public class EventCommentService {
         }
 
         EventComment savedComment = eventCommentRepository.save(comment);
+        eventRepository.adjustCommentCount(eventUuid, 1);
+        eventRankingService.recordComment(eventUuid, event.getCategory() != null ? event.getCategory().getId() : null);
         log.info("Successfully created comment {} for event {}", savedComment.getId(), request.getEventId());
         
         return eventCommentMapper.toResponse(savedComment);
@@ -118,7 +121,10 @@ public class EventCommentService {
                     "User can only delete their own comments");
         }
 
+        // Replies are removed with the comment, so the counter drops by the whole thread
+        long removed = eventCommentRepository.countThread(commentUuid);
         eventCommentRepository.delete(comment);
+        eventRepository.adjustCommentCount(comment.getEvent().getId(), -removed);
         log.info("Successfully deleted comment {}", commentId);
     }
 
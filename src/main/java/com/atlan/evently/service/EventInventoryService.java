@@ -0,0 +1,110 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.cache.EventInventoryStore;
+import com.atlan.evently.cache.EventInventoryStore.EventInventory;
+import com.atlan.evently.config.Workload;
+import com.atlan.evently.config.WorkloadContext;
+import com.atlan.evently.dto.EventResponse;
+import com.atlan.evently.exception.EventException;
+import com.atlan.evently.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Merges live seat inventory into cached event details.
+ *
+ * <p>The {@code event-details} cache holds the static part of an event and can live for
+ * hours; seat counts come from {@link EventInventoryStore}, which booking and cancellation
+ * keep current, and are overlaid on every response. So are the time-derived flags: an entry
+ * cached before its event started would otherwise still show it as upcoming and bookable.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventInventoryService {
+
+    private final EventInventoryStore inventoryStore;
+    private final EventRepository eventRepository;
+
+    /**
+     * Returns a copy of {@code cached} with current seat counts and time-derived flags. The
+     * cached instance is not modified, as it may be shared between concurrent callers.
+     *
+     * @throws EventException EVENT_NOT_FOUND if the event has started since it was cached,
+     *                        as an uncached lookup would
+     */
+    public EventResponse withLiveInventory(EventResponse cached) {
+        if (cached.getStartTime() != null && !cached.getStartTime().isAfter(ZonedDateTime.now())) {
+            throw new EventException("Event not found or has already started",
+                    "EVENT_NOT_FOUND",
+                    "Event with ID " + cached.getEventId() + " does not exist or is not upcoming");
+        }
+        UUID eventId = UUID.fromString(cached.getEventId());
+        Optional<EventInventory> inventory = inventoryStore.get(eventId).or(() -> loadInventory(eventId));
+
+        EventResponse response = new EventResponse();
+        BeanUtils.copyProperties(cached, response);
+        // Still upcoming, whatever was true when the entry was cached
+        response.setIsActive(true);
+        response.setIsLive(false);
+        response.setHasEnded(false);
+        if (inventory.isEmpty()) {
+            return response;
+        }
+        EventInventory live = inventory.get();
+        response.setCapacity(live.capacity());
+        response.setAvailableSeats(live.availableSeats());
+        response.setBookedSeats(live.bookedSeats());
+        response.setIsSoldOut(live.soldOut());
+        response.setUtilizationPercentage(live.utilizationPercentage());
+        return response;
+    }
+
+    /**
+     * Records seats taken by a booking; applied when the booking transaction commits.
+     */
+    public void seatsReserved(UUID eventId, int quantity) {
+        inventoryStore.adjustAfterCommit(eventId, -quantity);
+    }
+
+    /**
+     * Records seats returned by a cancellation; applied when the cancellation commits.
+     */
+    public void seatsReleased(UUID eventId, int quantity) {
+        inventoryStore.adjustAfterCommit(eventId, quantity);
+    }
+
+    /**
+     * Discards the live inventory after a capacity change so it is re-read from the database.
+     */
+    public void capacityChanged(UUID eventId) {
+        inventoryStore.resetAfterCommit(eventId);
+    }
+
+    private Optional<EventInventory> loadInventory(UUID eventId) {
+        // Taken before the read, so a write committing around it keeps this read from seeding
+        OptionalLong seedGeneration = inventoryStore.beginSeed(eventId);
+        // A replica may be seconds behind, and the seeded hash lives for the inventory TTL:
+        // read the primary, as booking does
+        List<Object[]> rows = WorkloadContext.call(Workload.Type.BOOKING, () -> eventRepository.findSeatCounts(eventId));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        EventInventory inventory = new EventInventory(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+        if (seedGeneration.isPresent() && inventoryStore.seed(eventId, seedGeneration.getAsLong(), inventory)) {
+            log.debug("Seeded live inventory for event {}: {}", eventId, inventory);
+            // Re-read, so writes applied since the seed show
+            return Optional.of(inventoryStore.get(eventId).orElse(inventory));
+        }
+        return Optional.of(inventory);
+    }
+}
@@ -30,6 +30,7 @@ public class EventLikeService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final EventLikeMapper eventLikeMapper;
+    private final EventRankingService eventRankingService;
 
     @Transactional
     public EventLikeResponse likeEvent(String userId, String eventId) {
@@ -57,6 +58,8 @@ public class EventLikeService {
                 .build();
 
         EventLike savedLike = eventLikeRepository.save(eventLike);
+        eventRepository.adjustLikeCount(eventUuid, 1);
+        eventRankingService.recordLike(eventUuid, categoryIdOf(event), 1);
         log.info("User {} successfully liked event {}", userId, eventId);
         
         return eventLikeMapper.toResponse(savedLike);
@@ -77,6 +80,8 @@ public class EventLikeService {
         }
 
         eventLikeRepository.delete(existingLike.get());
+        eventRepository.adjustLikeCount(eventUuid, -1);
+        eventRankingService.recordLike(eventUuid, categoryIdOf(existingLike.get().getEvent()), -1);
         log.info("User {} successfully unliked event {}", userId, eventId);
     }
 
@@ -125,6 +130,10 @@ public class EventLikeService {
                         "Event with ID " + eventId + " does not exist"));
     }
 
+    private static UUID categoryIdOf(Event event) {
+        return event.getCategory() != null ? event.getCategory().getId() : null;
+    }
+
     private UUID parseUUID(String id, String fieldName) {
         try {
             return UUID.fromString(id);
@@ -1,49 +1,146 @@
 package com.atlan.evently.service;
 
 import com.atlan.evently.dto.events.BookingCancelledEvent;
+import com.atlan.evently.dto.events.EventActivityEvent;
 import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import com.atlan.evently.exception.EventException;
+import com.atlan.evently.model.OutboxMessage;
+import com.atlan.evently.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes domain events to Kafka.
+ *
+ * <p>Booking cancellations and waitlist notifications go through the transactional outbox:
+ * they are inserted into {@code event_outbox} in the caller's transaction and sent by
+ * {@link OutboxRelay} after commit. The caller never waits on the broker, a rolled-back
+ * transaction publishes nothing, and a committed one is delivered at least once, even if
+ * Kafka is down at the time. Both are grouped and keyed by event id, so messages about one
+ * event reach Kafka, and the consumers, in the order they were written.
+ *
+ * <p>Notification deliveries are published directly by the consumer that stored them,
+ * which commits its input only once Kafka has them.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EventPublisher {
 
+    // Payload format of outbox rows; kept independent of the application's ObjectMapper
+    static final ObjectMapper OUTBOX_JSON = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaTemplate<String, EventActivityEvent> activityKafkaTemplate;
+    private final OutboxRepository outboxRepository;
 
     private static final String BOOKING_CANCELLED_TOPIC = "booking-cancelled";
     private static final String WAITLIST_NOTIFICATION_TOPIC = "waitlist-notification";
+    public static final String EVENT_ACTIVITY_TOPIC = "event-activity";
+    public static final String NOTIFICATION_PUSH_TOPIC = "notification-push";
+    public static final String NOTIFICATION_EMAIL_TOPIC = "notification-email";
+
+    @Value("${evently.notifications.channels.send-timeout-ms:10000}")
+    private long channelSendTimeoutMs;
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishBookingCancelled(BookingCancelledEvent event) {
-        log.info("Publishing booking cancelled event for booking: {}, event: {}", 
+        log.info("Queueing booking cancelled event for booking: {}, event: {}",
                 event.getBookingId(), event.getEventId());
-        
-        kafkaTemplate.send(BOOKING_CANCELLED_TOPIC, event.getEventId(), event)
-                .whenComplete((result, failure) -> {
-                    if (failure != null) {
-                        log.error("Failed to publish booking cancelled event: {}", failure.getMessage());
-                    } else {
-                        log.debug("Successfully published booking cancelled event to partition: {}, offset: {}",
-                                result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
-                    }
-                });
+
+        enqueue(BOOKING_CANCELLED_TOPIC, event.getEventId(), event.getEventId(), event);
+    }
+
+    /**
+     * Fire-and-forget: activity feeds rankings only, so failures are logged and never
+     * propagated to the request that caused them. Sent through a producer that blocks for at
+     * most {@code evently.trending.activity-max-block-ms}, as callers are request threads.
+     */
+    public void publishActivity(EventActivityEvent event) {
+        log.debug("Publishing {} activity for event: {}", event.getActivityType(), event.getEventId());
+
+        try {
+            activityKafkaTemplate.send(EVENT_ACTIVITY_TOPIC, event.getEventId(), event)
+                    .whenComplete((result, failure) -> {
+                        if (failure != null) {
+                            log.warn("Failed to publish event activity: {}", failure.getMessage());
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish event activity: {}", e.getMessage());
+        }
     }
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishWaitlistNotification(WaitlistNotificationEvent event) {
-        log.info("Publishing waitlist notification for user: {}, event: {}", 
+        log.info("Queueing waitlist notification for user: {}, event: {}",
                 event.getUserId(), event.getEventId());
-        
-        kafkaTemplate.send(WAITLIST_NOTIFICATION_TOPIC, event.getUserId(), event)
-                .whenComplete((result, failure) -> {
-                    if (failure != null) {
-                        log.error("Failed to publish waitlist notification: {}", failure.getMessage());
-                    } else {
-                        log.debug("Successfully published waitlist notification to partition: {}, offset: {}",
-                                result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
-                    }
-                });
+
+        // Keyed by event, like cancellations, so an event's notifications keep waitlist order
+        enqueue(WAITLIST_NOTIFICATION_TOPIC, event.getEventId(), event.getEventId(), event);
+    }
+
+    /**
+     * Hands stored waitlist notifications to the delivery channels, one message per channel
+     * ({@link #NOTIFICATION_PUSH_TOPIC}, {@link #NOTIFICATION_EMAIL_TOPIC}), and waits until
+     * Kafka has them all, so the caller can commit its own input afterwards.
+     *
+     * @throws EventException if any send fails or times out; the caller retries the whole batch
+     */
+    public void publishNotificationDeliveries(List<WaitlistNotificationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size() * 2);
+        for (WaitlistNotificationEvent event : events) {
+            sends.add(kafkaTemplate.send(NOTIFICATION_PUSH_TOPIC, event.getEventId(), event));
+            sends.add(kafkaTemplate.send(NOTIFICATION_EMAIL_TOPIC, event.getEventId(), event));
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(channelSendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new EventException("Failed to hand notifications to delivery channels", "NOTIFICATION_FANOUT_FAILED",
+                    e instanceof ExecutionException ? e.getCause().getMessage() : "Timed out waiting for Kafka");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventException("Notification fan-out interrupted", "NOTIFICATION_FANOUT_FAILED", e.getMessage());
+        }
+        log.debug("Handed {} waitlist notifications to push and email delivery", events.size());
+    }
+
+    private void enqueue(String topic, String aggregateId, String key, Object payload) {
+        try {
+            outboxRepository.save(OutboxMessage.builder()
+                    .aggregateId(aggregateId)
+                    .topic(topic)
+                    .messageKey(key)
+                    .payloadType(payload.getClass().getName())
+                    .payload(OUTBOX_JSON.writeValueAsString(payload))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + payload.getClass().getSimpleName(), e);
+        }
     }
 }
@@ -0,0 +1,234 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.Workload;
+import com.atlan.evently.dto.events.EventActivityEvent;
+import com.atlan.evently.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entry point for event rankings.
+ *
+ * <p><strong>Popular:</strong> confirmed booking count per upcoming event, kept incrementally
+ * in a Redis sorted set and rebuildable from the database by {@link #rebuild()}: nightly, at
+ * startup when the set is missing, and on demand from the admin API. Readers drop events
+ * that have started with {@link #removePopular}.<br>
+ * <strong>Trending:</strong> every booking, like, comment and view is published to the
+ * {@code event-activity} topic; {@link TrendingStreamProcessor} turns it into decayed
+ * sliding-window scores and publishes the top N, which is read here with a single GET.
+ *
+ * <p>All updates happen after the originating transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventRankingService {
+
+    // Hash-tagged so all ranking keys share a slot on Redis Cluster
+    static final String POPULAR_KEY = "{ranking}:popular";
+    static final String TRENDING_TOP_KEY = "{ranking}:trending:top";
+    static final String TRENDING_CATEGORY_KEY_PREFIX = "{ranking}:trending:category:";
+
+    static final String ACTIVITY_BOOKING = "BOOKING";
+    static final String ACTIVITY_LIKE = "LIKE";
+    static final String ACTIVITY_UNLIKE = "UNLIKE";
+    static final String ACTIVITY_COMMENT = "COMMENT";
+    static final String ACTIVITY_VIEW = "VIEW";
+
+    private final StringRedisTemplate redisTemplate;
+    private final BookingRepository bookingRepository;
+    private final EventPublisher eventPublisher;
+
+    // ========== ACTIVITY ==========
+
+    /**
+     * @param delta +1 for a confirmed booking, -1 for a cancellation
+     */
+    public void recordBooking(UUID eventId, UUID categoryId, int delta) {
+        afterCommit(() -> {
+            redisTemplate.opsForZSet().incrementScore(POPULAR_KEY, eventId.toString(), delta);
+            if (delta > 0) {
+                publish(eventId, categoryId, ACTIVITY_BOOKING);
+            }
+        });
+    }
+
+    /**
+     * @param delta +1 for a like, -1 for an unlike
+     */
+    public void recordLike(UUID eventId, UUID categoryId, int delta) {
+        afterCommit(() -> publish(eventId, categoryId, delta > 0 ? ACTIVITY_LIKE : ACTIVITY_UNLIKE));
+    }
+
+    public void recordComment(UUID eventId, UUID categoryId) {
+        afterCommit(() -> publish(eventId, categoryId, ACTIVITY_COMMENT));
+    }
+
+    public void recordView(String eventId, String categoryId) {
+        afterCommit(() -> publish(eventId, categoryId, ACTIVITY_VIEW));
+    }
+
+    private void publish(UUID eventId, UUID categoryId, String activityType) {
+        publish(eventId.toString(), categoryId != null ? categoryId.toString() : null, activityType);
+    }
+
+    private void publish(String eventId, String categoryId, String activityType) {
+        eventPublisher.publishActivity(new EventActivityEvent(eventId, categoryId, activityType, ZonedDateTime.now()));
+    }
+
+    // ========== TOP-K READS ==========
+
+    /**
+     * Event ids with the most confirmed bookings, best first.
+     */
+    public List<UUID> topPopular(int k) {
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(POPULAR_KEY, 0, k - 1L);
+        return members == null ? List.of() : members.stream().map(UUID::fromString).toList();
+    }
+
+    /**
+     * Event ids currently trending, best first (last snapshot from the stream processor).
+     */
+    public List<UUID> topTrending(int k) {
+        return readSnapshot(TRENDING_TOP_KEY, k);
+    }
+
+    /**
+     * Event ids currently trending within one category, best first.
+     */
+    public List<UUID> topTrendingInCategory(UUID categoryId, int k) {
+        return readSnapshot(TRENDING_CATEGORY_KEY_PREFIX + categoryId, k);
+    }
+
+    /**
+     * Drops events from the popular board, e.g. once they have started.
+     */
+    public void removePopular(Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().remove(POPULAR_KEY, eventIds.stream().map(UUID::toString).toArray());
+        } catch (DataAccessException e) {
+            // The nightly rebuild drops them anyway
+            log.warn("Failed to remove {} events from popular ranking: {}", eventIds.size(), e.getMessage());
+        }
+    }
+
+    private List<UUID> readSnapshot(String key, int k) {
+        String snapshot = redisTemplate.opsForValue().get(key);
+        if (snapshot == null || snapshot.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(snapshot.split(",")).limit(k).map(UUID::fromString).toList();
+    }
+
+    // ========== REBUILD ==========
+
+    @Workload(Workload.Type.BACKGROUND)
+    @Scheduled(cron = "${evently.ranking.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Seeds the popular board on first deploy or after Redis lost it; otherwise /popular
+     * would stay empty until the nightly rebuild.
+     */
+    @Workload(Workload.Type.BACKGROUND)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(POPULAR_KEY))) {
+                return;
+            }
+            log.info("Popular ranking missing, rebuilding from the database");
+            rebuild();
+        } catch (DataAccessException e) {
+            // Startup goes on; the admin endpoint or the nightly run rebuilds it
+            log.error("Failed to rebuild popular ranking at startup: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recomputes the popular board from the database in one grouped query and swaps it in
+     * atomically, dropping events that have started. Bookings committed while the rebuild
+     * runs may be missed until the next rebuild.
+     *
+     * @return number of events on the rebuilt board
+     */
+    @Workload(Workload.Type.BACKGROUND)
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        Map<String, Double> popular = new HashMap<>();
+        for (Object[] row : bookingRepository.countConfirmedBookingsByUpcomingEvent(ZonedDateTime.now())) {
+            popular.put(row[0].toString(), ((Number) row[1]).doubleValue());
+        }
+
+        try {
+            replaceBoard(popular);
+            log.info("Rebuilt popular ranking in {} ms: {} events", System.currentTimeMillis() - started, popular.size());
+        } catch (DataAccessException e) {
+            log.error("Failed to store rebuilt popular ranking: {}", e.getMessage(), e);
+        }
+        return popular.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replaceBoard(Map<String, Double> scores) {
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.multi();
+                ops.delete(POPULAR_KEY);
+                scores.forEach((member, score) -> ops.opsForZSet().add(POPULAR_KEY, member, score));
+                return ops.exec();
+            }
+        });
+    }
+
+    // ========== HELPERS ==========
+
+    private static void afterCommit(Runnable update) {
+        Runnable guarded = () -> {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                // Rankings are advisory; the rebuild and the decaying window absorb missed updates
+                log.warn("Failed to record event activity: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+}
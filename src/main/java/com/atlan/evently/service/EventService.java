@@ -17,7 +17,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
@@ -26,6 +30,13 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
+    private final EventRankingService eventRankingService;
+
+    // Ranked ids are over-fetched so events that have started since the last rebuild can be skipped
+    private static final int RANKING_OVERFETCH = 2;
+
+    // Popular reads drop started events from the board and re-read it at most this often
+    private static final int POPULAR_MAX_PASSES = 3;
 
     @Transactional(readOnly = true)
     public Page<Event> getUpcomingEvents(Pageable pageable) {
@@ -34,9 +45,10 @@ public class EventService {
 
     /**
      * Cached event listing for high-frequency access
-     * Cache key includes page parameters for proper pagination caching
+     * Cache key includes page parameters for proper pagination caching.
+     * sync = true lets readers be served a stale page while a single thread reloads it.
      */
-    @Cacheable(value = "events", key = "#pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort.toString()")
+    @Cacheable(value = "events", key = "#pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort.toString()", sync = true)
     @Transactional(readOnly = true)
     public Page<EventResponse> getUpcomingEventsAsDto(Pageable pageable) {
         log.debug("Cache miss - fetching events from database for page: {}", pageable.getPageNumber());
@@ -48,7 +60,7 @@ public class EventService {
      * Cached event details for individual event access
      * High cache hit ratio expected for popular events
      */
-    @Cacheable(value = "event-details", key = "#eventId")
+    @Cacheable(value = "event-details", key = "#eventId", sync = true)
     @Transactional(readOnly = true)
     public EventResponse getEventByIdAsDto(String eventId) {
         log.debug("Cache miss - fetching event details from database for eventId: {}", eventId);
@@ -67,7 +79,7 @@ public class EventService {
     /**
      * Find events by category with caching
      */
-    @Cacheable(value = "events-by-category", key = "#categoryId + '-' + #pageable.pageNumber + '-' + #pageable.pageSize")
+    @Cacheable(value = "events-by-category", key = "#categoryId + '-' + #pageable.pageNumber + '-' + #pageable.pageSize", sync = true)
     @Transactional(readOnly = true)
     public Page<EventResponse> getEventsByCategory(String categoryId, Pageable pageable) {
         log.debug("Cache miss - fetching events by category {} from database", categoryId);
@@ -103,7 +115,7 @@ public class EventService {
     /**
      * Find online events only
      */
-    @Cacheable(value = "online-events", key = "#pageable.pageNumber + '-' + #pageable.pageSize")
+    @Cacheable(value = "online-events", key = "#pageable.pageNumber + '-' + #pageable.pageSize", sync = true)
     @Transactional(readOnly = true)
     public Page<EventResponse> getOnlineEvents(Pageable pageable) {
         log.debug("Cache miss - fetching online events from database");
@@ -115,7 +127,7 @@ public class EventService {
     /**
      * Find free events
      */
-    @Cacheable(value = "free-events", key = "#pageable.pageNumber + '-' + #pageable.pageSize")
+    @Cacheable(value = "free-events", key = "#pageable.pageNumber + '-' + #pageable.pageSize", sync = true)
     @Transactional(readOnly = true)
     public Page<EventResponse> getFreeEvents(Pageable pageable) {
         log.debug("Cache miss - fetching free events from database");
@@ -169,55 +181,81 @@ public class EventService {
     }
 
     /**
-     * Get most popular events with enhanced analytics
+     * Get most popular events (by confirmed bookings) from the incremental ranking
      */
-    @Cacheable(value = "popular-events", key = "#limit")
+    @Cacheable(value = "popular-events", key = "#limit", sync = true)
     @Transactional(readOnly = true)
     public List<EventResponse> getMostPopularEvents(int limit, Pageable pageable) {
-        log.debug("Cache miss - fetching popular events from database");
-        return eventRepository.getMostPopularEvents(ZonedDateTime.now(), pageable)
-                .stream()
-                .limit(limit)
-                .map(result -> {
-                    Event event = (Event) result[0];
-                    // Long bookingCount = (Long) result[1]; // Available for additional analytics
-                    return eventMapper.toResponse(event);
-                })
-                .toList();
+        log.debug("Cache miss - reading popular events from ranking");
+        int window = limit * RANKING_OVERFETCH;
+        List<EventResponse> popular = List.of();
+        for (int pass = 0; pass < POPULAR_MAX_PASSES; pass++) {
+            List<UUID> rankedIds = eventRankingService.topPopular(window);
+            Map<UUID, Event> upcoming = findUpcoming(rankedIds);
+            List<UUID> started = rankedIds.stream().filter(id -> !upcoming.containsKey(id)).toList();
+            eventRankingService.removePopular(started);
+            popular = toRanked(rankedIds, upcoming, limit);
+            // Re-read only if dropping started events can bring in new ones
+            if (popular.size() == limit || started.isEmpty() || rankedIds.size() < window) {
+                break;
+            }
+        }
+        return popular;
     }
 
     /**
-     * Get high engagement events (likes + comments)
+     * Get trending events from the latest stream-processor snapshot (cached for seconds only)
      */
-    @Cacheable(value = "high-engagement-events", key = "#limit")
+    @Cacheable(value = "high-engagement-events", key = "#limit", sync = true)
     @Transactional(readOnly = true)
     public List<EventResponse> getHighEngagementEvents(int limit, Pageable pageable) {
-        log.debug("Cache miss - fetching high engagement events from database");
-        return eventRepository.getHighEngagementEvents(ZonedDateTime.now(), pageable)
+        log.debug("Cache miss - reading trending events from ranking");
+        return loadRanked(eventRankingService.topTrending(limit * RANKING_OVERFETCH), limit);
+    }
+
+    /**
+     * Get trending events within a category from the latest stream-processor snapshot
+     */
+    @Cacheable(value = "trending-by-category", key = "#categoryId + '-' + #limit", sync = true)
+    @Transactional(readOnly = true)
+    public List<EventResponse> getTrendingEventsByCategory(String categoryId, int limit) {
+        log.debug("Cache miss - reading trending events for category {} from ranking", categoryId);
+        UUID categoryUuid = parseUUID(categoryId, "Category ID");
+        return loadRanked(eventRankingService.topTrendingInCategory(categoryUuid, limit * RANKING_OVERFETCH), limit);
+    }
+
+    // Loads ranked ids in one query, keeping rank order and skipping events that have started
+    private List<EventResponse> loadRanked(List<UUID> rankedIds, int limit) {
+        return toRanked(rankedIds, findUpcoming(rankedIds), limit);
+    }
+
+    private Map<UUID, Event> findUpcoming(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return eventRepository.findByIdInAndStartsAtAfter(ids, ZonedDateTime.now())
                 .stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+    }
+
+    private List<EventResponse> toRanked(List<UUID> rankedIds, Map<UUID, Event> events, int limit) {
+        return rankedIds.stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
                 .limit(limit)
-                .map(result -> {
-                    Event event = (Event) result[0];
-                    // Long engagement = (Long) result[1]; // Available for sorting/filtering
-                    return eventMapper.toResponse(event);
-                })
+                .map(eventMapper::toResponse)
                 .toList();
     }
 
     /**
-     * Evict caches when event is updated
-     * Ensures cache consistency after admin modifications
+     * Full flush of every event cache.
+     * Regular writes go through EventCacheInvalidator, which only touches affected entries;
+     * this remains for operational use (e.g. after bulk data fixes).
      */
     @CacheEvict(value = {"events", "event-details", "events-by-category", "online-events", 
                         "free-events", "popular-events", "high-engagement-events"}, allEntries = true)
     public void evictAllEventCaches() {
-        log.info("Evicting all event caches due to event modification");
-    }
-
-    @CacheEvict(value = {"event-details", "events-by-category", "popular-events", 
-                        "high-engagement-events"}, key = "#eventId")
-    public void evictEventCache(String eventId) {
-        log.info("Evicting event cache for eventId: {}", eventId);
+        log.info("Evicting all event caches");
     }
 
     private UUID parseUUID(String id, String fieldName) {
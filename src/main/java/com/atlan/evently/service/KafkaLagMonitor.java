@@ -0,0 +1,163 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.RetryTopics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes consumer lag and dead-letter depth for the topics with a retry chain.
+ *
+ * <ul>
+ *   <li>{@code evently.kafka.consumer.lag{topic}}: records on the main and retry topics not
+ *       yet committed by {@code evently-consumer-group}.</li>
+ *   <li>{@code evently.kafka.dlt.depth{topic}}: dead letters not yet replayed by
+ *       {@link DeadLetterReplayService}, i.e. waiting for someone to look at them.</li>
+ * </ul>
+ * Values are refreshed every {@code evently.kafka.metrics-interval-ms}; a failed refresh
+ * keeps the previous values.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaLagMonitor {
+
+    private static final String CONSUMER_GROUP = "evently-consumer-group";
+    private static final long ADMIN_TIMEOUT_SECONDS = 10;
+
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> lag = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> deadLetterDepth = new ConcurrentHashMap<>();
+    private volatile AdminClient adminClient;
+
+    @Value("${evently.kafka.metrics-enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(fixedDelayString = "${evently.kafka.metrics-interval-ms:30000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            AdminClient admin = adminClient();
+            List<String> consumed = new ArrayList<>();
+            List<String> deadLetters = new ArrayList<>();
+            for (String topic : RetryTopics.TOPICS) {
+                consumed.add(topic);
+                consumed.add(RetryTopics.Stage.FIRST_RETRY.topic(topic));
+                consumed.add(RetryTopics.Stage.SECOND_RETRY.topic(topic));
+                deadLetters.add(RetryTopics.Stage.DEAD_LETTER.topic(topic));
+            }
+
+            Map<String, Long> consumerLag = outstanding(admin, consumed, CONSUMER_GROUP);
+            Map<String, Long> depth = outstanding(admin, deadLetters, DeadLetterReplayService.REPLAY_GROUP);
+
+            for (String topic : RetryTopics.TOPICS) {
+                long topicLag = consumerLag.getOrDefault(topic, 0L)
+                        + consumerLag.getOrDefault(RetryTopics.Stage.FIRST_RETRY.topic(topic), 0L)
+                        + consumerLag.getOrDefault(RetryTopics.Stage.SECOND_RETRY.topic(topic), 0L);
+                gauge(lag, "evently.kafka.consumer.lag", topic).set(topicLag);
+                gauge(deadLetterDepth, "evently.kafka.dlt.depth", topic)
+                        .set(depth.getOrDefault(RetryTopics.Stage.DEAD_LETTER.topic(topic), 0L));
+            }
+        } catch (ExecutionException | TimeoutException | KafkaException e) {
+            log.warn("Failed to refresh Kafka lag metrics: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Dead letters waiting per main topic, as of the last refresh.
+     */
+    public Map<String, Long> getDeadLetterDepths() {
+        Map<String, Long> depths = new LinkedHashMap<>();
+        for (String topic : RetryTopics.TOPICS) {
+            AtomicLong depth = deadLetterDepth.get(topic);
+            depths.put(topic, depth == null ? 0L : depth.get());
+        }
+        return depths;
+    }
+
+    // Per topic: end offset minus the group's committed offset (or the log start if none)
+    private static Map<String, Long> outstanding(AdminClient admin, List<String> topics, String groupId)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Map<String, TopicDescription> descriptions = admin.describeTopics(topics).allTopicNames()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        Map<TopicPartition, OffsetSpec> earliest = new HashMap<>();
+        descriptions.values().forEach(description -> description.partitions().forEach(partition -> {
+            TopicPartition tp = new TopicPartition(description.name(), partition.partition());
+            latest.put(tp, OffsetSpec.latest());
+            earliest.put(tp, OffsetSpec.earliest());
+        }));
+
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends =
+                admin.listOffsets(latest).all().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> starts =
+                admin.listOffsets(earliest).all().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Map<String, Long> outstanding = new HashMap<>();
+        ends.forEach((partition, end) -> {
+            OffsetAndMetadata offset = committed.get(partition);
+            long from = Math.max(starts.get(partition).offset(), offset == null ? 0L : offset.offset());
+            outstanding.merge(partition.topic(), Math.max(0L, end.offset() - from), Long::sum);
+        });
+        return outstanding;
+    }
+
+    private AtomicLong gauge(Map<String, AtomicLong> values, String name, String topic) {
+        return values.computeIfAbsent(topic, key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder(name, value, AtomicLong::get)
+                    .tag("topic", key)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    private AdminClient adminClient() {
+        if (adminClient == null) {
+            synchronized (this) {
+                if (adminClient == null) {
+                    adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+                }
+            }
+        }
+        return adminClient;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+}
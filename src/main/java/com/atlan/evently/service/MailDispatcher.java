@@ -0,0 +1,246 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.exception.EventException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends mail over a small pool of persistent SMTP connections.
+ *
+ * <p>{@link #submit} puts a message on a bounded queue and returns at once. Each of
+ * {@code evently.notifications.email.connections} worker threads owns one SMTP connection and
+ * takes up to {@code batch-size} queued messages at a time, sending them in one session
+ * instead of connecting, handshaking and quitting per mail. A connection left idle for
+ * {@code idle-timeout-ms} is closed, and one the server has dropped is reopened once before a
+ * message is failed. When the queue is full, {@link #submit} blocks for up to
+ * {@code queue-timeout-ms}, which slows the caller (the email consumer) down to the rate the
+ * mail server accepts.
+ *
+ * <p>Messages are sent in queue order per connection, not across connections.
+ */
+@Service
+@Slf4j
+public class MailDispatcher {
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<PendingMail> queue;
+    private final int connections;
+    private final int batchSize;
+    private final long idleTimeoutMs;
+    private final long queueTimeoutMs;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public MailDispatcher(JavaMailSender mailSender,
+                          MeterRegistry meterRegistry,
+                          @Value("${evently.notifications.email.connections:4}") int connections,
+                          @Value("${evently.notifications.email.batch-size:50}") int batchSize,
+                          @Value("${evently.notifications.email.queue-capacity:1000}") int queueCapacity,
+                          @Value("${evently.notifications.email.idle-timeout-ms:30000}") long idleTimeoutMs,
+                          @Value("${evently.notifications.email.queue-timeout-ms:5000}") long queueTimeoutMs) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.connections = connections;
+        this.batchSize = batchSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.sentCounter = Counter.builder("evently.mail.sent")
+                .description("Mails accepted by the SMTP server")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("evently.mail.failed")
+                .description("Mails the SMTP server rejected or that couldn't be sent")
+                .register(meterRegistry);
+        Gauge.builder("evently.mail.queue.size", queue, BlockingQueue::size)
+                .description("Mails waiting for an SMTP connection")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < connections; i++) {
+            Thread worker = new Thread(this::work, "mail-sender-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        List<PendingMail> unsent = new ArrayList<>();
+        queue.drainTo(unsent);
+        unsent.forEach(mail -> mail.result().completeExceptionally(
+                new MailSendException("Mail dispatcher stopped before sending")));
+    }
+
+    public MimeMessage createMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /**
+     * Queues a message for sending. The future completes when the server has accepted it, or
+     * exceptionally with a {@link MailException}.
+     *
+     * @throws EventException if the queue stays full for {@code queue-timeout-ms}
+     */
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        PendingMail mail = new PendingMail(message, new CompletableFuture<>());
+        try {
+            if (!queue.offer(mail, queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new EventException("Mail queue is full", "MAIL_QUEUE_FULL",
+                        queue.size() + " mails waiting for " + connections + " SMTP connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventException("Interrupted while queueing mail", "MAIL_QUEUE_FULL", e.getMessage());
+        }
+        return mail.result();
+    }
+
+    // ========== WORKERS ==========
+
+    private void work() {
+        SmtpConnection connection = new SmtpConnection();
+        List<PendingMail> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                PendingMail first = queue.poll(idleTimeoutMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    connection.close();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                send(connection, batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connection.close();
+            batch.forEach(mail -> mail.result().completeExceptionally(
+                    new MailSendException("Mail dispatcher stopped before sending")));
+        }
+    }
+
+    void send(SmtpConnection connection, List<PendingMail> batch) {
+        if (!(mailSender instanceof JavaMailSenderImpl)) {
+            sendThroughMailSender(batch);
+            return;
+        }
+        for (PendingMail mail : batch) {
+            try {
+                connection.send(mail.message());
+                sentCounter.increment();
+                mail.result().complete(null);
+            } catch (MessagingException | RuntimeException e) {
+                failedCounter.increment();
+                mail.result().completeExceptionally(new MailSendException("Failed to send mail", e));
+            }
+        }
+        log.debug("Sent batch of {} mails on one SMTP session", batch.size());
+    }
+
+    // Any other JavaMailSender: one send call per batch, which it may run in one session
+    private void sendThroughMailSender(List<PendingMail> batch) {
+        try {
+            mailSender.send(batch.stream().map(PendingMail::message).toArray(MimeMessage[]::new));
+            sentCounter.increment(batch.size());
+            batch.forEach(mail -> mail.result().complete(null));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (PendingMail mail : batch) {
+                Exception failure = failed.isEmpty() ? e : failed.get(mail.message());
+                if (failure == null) {
+                    sentCounter.increment();
+                    mail.result().complete(null);
+                } else {
+                    failedCounter.increment();
+                    mail.result().completeExceptionally(new MailSendException("Failed to send mail", failure));
+                }
+            }
+        } catch (MailException e) {
+            failedCounter.increment(batch.size());
+            batch.forEach(mail -> mail.result().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * One worker's SMTP connection, opened on first use and kept until it idles out or fails.
+     */
+    final class SmtpConnection {
+
+        private Transport transport;
+
+        void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            try {
+                transport().sendMessage(message, message.getAllRecipients());
+            } catch (SendFailedException e) {
+                // Rejected by the server; the connection is fine
+                throw e;
+            } catch (MessagingException | IllegalStateException e) {
+                // Usually the server closed the connection while it was idle; try a fresh one once
+                log.debug("SMTP connection lost ({}), reconnecting", e.getMessage());
+                close();
+                transport().sendMessage(message, message.getAllRecipients());
+            }
+        }
+
+        private Transport transport() throws MessagingException {
+            if (transport == null) {
+                JavaMailSenderImpl sender = (JavaMailSenderImpl) mailSender;
+                Transport opened = sender.getSession().getTransport(
+                        sender.getProtocol() == null ? "smtp" : sender.getProtocol());
+                opened.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+                transport = opened;
+            }
+            return transport;
+        }
+
+        void close() {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    log.debug("Failed to close SMTP connection: {}", e.getMessage());
+                }
+                transport = null;
+            }
+        }
+    }
+
+    record PendingMail(MimeMessage message, CompletableFuture<Void> result) {
+    }
+}
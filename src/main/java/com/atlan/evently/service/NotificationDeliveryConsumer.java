@@ -0,0 +1,179 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.RetryTopics;
+import com.atlan.evently.config.Workload;
+import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Push and email stages of waitlist notification delivery, fed by
+ * {@link WaitlistNotificationConsumer} once the in-app notification is stored.
+ *
+ * <p>Each channel has its own topic and listener container, so its concurrency, poll size and
+ * retry policy are set independently ({@code evently.notifications.channels.*}) and a backlog
+ * in one never delays the other. Back-pressure is the consumer's own pace: a slow channel
+ * builds lag on its topic (see {@link KafkaLagMonitor}) instead of blocking its producers.
+ * <ul>
+ *   <li>Push: best effort, no retries. A notification that couldn't be pushed is still in the
+ *       user's in-app list, and a late push is worse than none.</li>
+ *   <li>Email: failures move along {@code notification-email}'s retry chain
+ *       ({@link RetryTopics}) and end up in {@code notification-email-dlt}.</li>
+ * </ul>
+ * Both drop offers that have already expired.
+ */
+@Service
+@Workload(Workload.Type.BACKGROUND)
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDeliveryConsumer {
+
+    private final WebSocketNotificationService webSocketNotificationService;
+    private final EmailService emailService;
+    private final DeadLetterPublishingRecoverer failedRecordRecoverer;
+
+    @Value("${evently.notifications.email.send-timeout-ms:30000}")
+    private long emailTimeoutMs;
+
+    // ========== PUSH ==========
+
+    @KafkaListener(
+        topics = EventPublisher.NOTIFICATION_PUSH_TOPIC,
+        groupId = "evently-consumer-group",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        concurrency = "${evently.notifications.channels.push.concurrency:3}"
+    )
+    public void pushNotifications(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        ZonedDateTime now = ZonedDateTime.now();
+        int pushed = 0;
+        for (ConsumerRecord<String, Object> record : records) {
+            if (!(record.value() instanceof WaitlistNotificationEvent event)) {
+                log.error("Dropping malformed push notification at partition {}, offset {}",
+                        record.partition(), record.offset());
+                continue;
+            }
+            if (isExpired(event, now)) {
+                continue;
+            }
+            try {
+                webSocketNotificationService.sendWaitlistNotification(event);
+                pushed++;
+            } catch (RuntimeException e) {
+                log.debug("WebSocket notification failed for user {}: {}", event.getUserId(), e.getMessage());
+            }
+        }
+        acknowledgment.acknowledge();
+        log.debug("Pushed {} of {} waitlist notifications", pushed, records.size());
+    }
+
+    // ========== EMAIL ==========
+
+    /**
+     * Queues the emails of a poll on the {@link MailDispatcher}, which sends them in batches
+     * over its SMTP connections, and waits for the results. The small default poll keeps a
+     * slow mail server within the consumer's poll interval.
+     */
+    @KafkaListener(
+        topics = EventPublisher.NOTIFICATION_EMAIL_TOPIC,
+        groupId = "evently-consumer-group",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        concurrency = "${evently.notifications.channels.email.concurrency:3}",
+        properties = "max.poll.records=${evently.notifications.channels.email.max-poll-records:20}"
+    )
+    public void emailNotifications(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        sendEmails(records);
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * Retries emails that failed, once they are due. Failures move on to the next retry topic
+     * and finally to {@code notification-email-dlt}.
+     */
+    @KafkaListener(
+        topics = EventPublisher.NOTIFICATION_EMAIL_TOPIC + RetryTopics.RETRY_5S,
+        groupId = "evently-consumer-group",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        properties = "max.poll.records=${evently.notifications.channels.email.max-poll-records:20}"
+    )
+    @KafkaListener(
+        topics = EventPublisher.NOTIFICATION_EMAIL_TOPIC + RetryTopics.RETRY_1M,
+        groupId = "evently-consumer-group",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        properties = "max.poll.records=${evently.notifications.channels.email.max-poll-records:20}"
+    )
+    public void retryEmailNotifications(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        long now = System.currentTimeMillis();
+        int due = RetryTopics.dueCount(records, now);
+        sendEmails(records.subList(0, due));
+        if (due < records.size()) {
+            // Commit what was processed and come back when the next record is due
+            acknowledgment.nack(due, Duration.ofMillis(RetryTopics.dueAt(records.get(due)) - now));
+        } else {
+            acknowledgment.acknowledge();
+        }
+    }
+
+    private void sendEmails(List<ConsumerRecord<String, Object>> records) {
+        ZonedDateTime now = ZonedDateTime.now();
+        Map<ConsumerRecord<String, Object>, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+        for (ConsumerRecord<String, Object> record : records) {
+            if (!(record.value() instanceof WaitlistNotificationEvent event)) {
+                log.error("Malformed email notification at partition {}, offset {}", record.partition(), record.offset());
+                failedRecordRecoverer.accept(record,
+                        new IllegalArgumentException("Not a waitlist notification: " + record.value()));
+            } else if (!isExpired(event, now)) {
+                try {
+                    // Blocks while the mail queue is full
+                    sends.put(record, emailService.sendWaitlistNotificationEmail(event));
+                } catch (RuntimeException e) {
+                    emailFailed(record, e);
+                }
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(emailTimeoutMs);
+        for (Map.Entry<ConsumerRecord<String, Object>, CompletableFuture<Void>> send : sends.entrySet()) {
+            try {
+                send.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                emailFailed(send.getKey(), e.getCause() instanceof Exception cause ? cause : e);
+            } catch (TimeoutException e) {
+                // May still go out; the retry then sends it a second time
+                emailFailed(send.getKey(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emailFailed(send.getKey(), e);
+            }
+        }
+    }
+
+    private void emailFailed(ConsumerRecord<String, Object> record, Exception e) {
+        log.warn("Email notification failed for user {}, will retry: {}",
+                ((WaitlistNotificationEvent) record.value()).getUserId(), e.getMessage());
+        failedRecordRecoverer.accept(record, e);
+    }
+
+    private static boolean isExpired(WaitlistNotificationEvent event, ZonedDateTime now) {
+        if (event.getExpiresAt() != null && event.getExpiresAt().isBefore(now)) {
+            log.debug("Skipping expired waitlist offer {} for user {}", event.getWaitlistId(), event.getUserId());
+            return true;
+        }
+        return false;
+    }
+}
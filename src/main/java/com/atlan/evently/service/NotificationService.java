@@ -1,24 +1,52 @@
 package com.atlan.evently.service;
 
+import com.atlan.evently.cache.UnreadNotificationCounter;
+import com.atlan.evently.config.Workload;
 import com.atlan.evently.dto.events.WaitlistNotificationEvent;
 import com.atlan.evently.exception.EventException;
 import com.atlan.evently.model.Notification;
+import com.atlan.evently.model.PendingNotification;
 import com.atlan.evently.model.User;
 import com.atlan.evently.repository.NotificationRepository;
+import com.atlan.evently.repository.PendingNotificationRepository;
 import com.atlan.evently.repository.UserRepository;
+import com.atlan.evently.template.JsonWriter;
+import com.atlan.evently.template.NotificationTemplates;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing in-app notifications for users.
  * Stores notifications in database for later retrieval via API.
+ *
+ * <p>Booking confirmations and cancellations are coalesced per user: they are queued in
+ * {@code pending_notifications} within the caller's transaction, and once the user's oldest
+ * queued item is {@code evently.notifications.digest.window-seconds} old (or they have
+ * {@code max-items}), {@link #flushDigests} stores them as one {@code DIGEST} notification
+ * (a single one is stored unchanged). Queued items survive restarts. Seat-available alerts
+ * are time-critical and are always stored at once.
+ *
+ * <p>Unread counts come from {@link UnreadNotificationCounter} rather than a {@code COUNT}
+ * query: every insert, read and expiry adjusts the user's counter after commit and pushes the
+ * new count over STOMP, and a background job corrects counters that drifted from the table.
  */
 @Service
 @RequiredArgsConstructor
@@ -26,7 +54,26 @@ import java.util.UUID;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final PendingNotificationRepository pendingNotificationRepository;
     private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final UnreadNotificationCounter unreadCounter;
+    private final WebSocketNotificationService webSocketNotificationService;
+
+    @Value("${evently.notifications.cleanup-expired-hours:72}")
+    private long cleanupLookbackHours;
+
+    @Value("${evently.notifications.digest.window-seconds:60}")
+    private long digestWindowSeconds;
+
+    @Value("${evently.notifications.digest.max-items:20}")
+    private int digestMaxItems;
+
+    @Value("${evently.notifications.digest.flush-batch-size:500}")
+    private int digestFlushBatchSize;
+
+    @Value("${evently.notifications.unread-counter.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
 
     /**
      * Create in-app notification for waitlist seat availability
@@ -39,24 +86,9 @@ public class NotificationService {
             UUID userUuid = parseUUID(event.getUserId(), "User ID");
             User user = getUserById(userUuid);
 
-            long minutesRemaining = java.time.Duration.between(ZonedDateTime.now(), event.getExpiresAt()).toMinutes();
-            
-            Notification notification = Notification.builder()
-                    .user(user)
-                    .type(Notification.NotificationType.WAITLIST_SEAT_AVAILABLE)
-                    .title("Seat Available!")
-                    .message(String.format("A seat is now available for '%s'. Book within %d minutes!", 
-                            event.getEventName(), Math.max(1, (int) minutesRemaining)))
-                    .actionUrl(event.getBookingUrl())
-                    .isRead(false)
-                    .createdAt(ZonedDateTime.now())
-                    .expiresAt(event.getExpiresAt())
-                    .metadata(String.format("{\"eventId\":\"%s\",\"eventName\":\"%s\",\"waitlistId\":\"%s\"}", 
-                            event.getEventId(), event.getEventName(), event.getWaitlistId()))
-                    .build();
+            notificationRepository.save(waitlistNotification(user, event));
+            adjustUnreadCount(userUuid, 1);
 
-            notificationRepository.save(notification);
-            
             log.info("Successfully created in-app waitlist notification for user {}", event.getUserId());
             
         } catch (Exception e) {
@@ -67,32 +99,68 @@ public class NotificationService {
     }
 
     /**
-     * Create booking confirmation notification
+     * Creates the in-app notifications for a batch of waitlist events with one user lookup
+     * and one batched insert. Unlike {@link #createWaitlistNotification}, failures propagate:
+     * if any event is invalid or its user doesn't exist, nothing is saved.
+     */
+    @Transactional
+    public void createWaitlistNotifications(List<WaitlistNotificationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Set<UUID> userIds = new HashSet<>();
+        events.forEach(event -> userIds.add(parseUUID(event.getUserId(), "User ID")));
+        Map<UUID, User> users = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), user));
+
+        List<Notification> notifications = new ArrayList<>(events.size());
+        for (WaitlistNotificationEvent event : events) {
+            User user = users.get(UUID.fromString(event.getUserId()));
+            if (user == null) {
+                throw new EventException("User not found",
+                        "USER_NOT_FOUND",
+                        "User with ID " + event.getUserId() + " does not exist");
+            }
+            notifications.add(waitlistNotification(user, event));
+        }
+        notificationRepository.saveAll(notifications);
+        notifications.stream()
+                .collect(Collectors.groupingBy(notification -> notification.getUser().getId(), Collectors.counting()))
+                .forEach(this::adjustUnreadCount);
+        log.info("Created {} in-app waitlist notifications", notifications.size());
+    }
+
+    private static Notification waitlistNotification(User user, WaitlistNotificationEvent event) {
+        return Notification.builder()
+                .user(user)
+                .type(Notification.NotificationType.WAITLIST_SEAT_AVAILABLE)
+                .title("Seat Available!")
+                .message(NotificationTemplates.SEAT_AVAILABLE.render(event))
+                .actionUrl(event.getBookingUrl())
+                .isRead(false)
+                .createdAt(ZonedDateTime.now())
+                .expiresAt(event.getExpiresAt())
+                .metadata(JsonWriter.object("eventId", event.getEventId(), "eventName", event.getEventName(),
+                        "waitlistId", event.getWaitlistId()))
+                .build();
+    }
+
+    /**
+     * Create booking confirmation notification, merged into the user's digest
      */
     @Transactional
     public void createBookingConfirmationNotification(String userId, String eventName, String bookingId) {
-        log.info("Creating booking confirmation notification for user {}", userId);
+        log.info("Queueing booking confirmation notification for user {}", userId);
 
         try {
-            UUID userUuid = parseUUID(userId, "User ID");
-            User user = getUserById(userUuid);
-
-            Notification notification = Notification.builder()
-                    .user(user)
+            queueForDigest(PendingNotification.builder()
+                    .userId(parseUUID(userId, "User ID"))
                     .type(Notification.NotificationType.BOOKING_CONFIRMED)
                     .title("Booking Confirmed!")
-                    .message(String.format("Your booking for '%s' has been confirmed. Booking ID: %s", 
-                            eventName, bookingId))
+                    .message(NotificationTemplates.BOOKING_CONFIRMED.render(new NotificationTemplates.Booking(eventName, bookingId)))
                     .actionUrl("/bookings/" + bookingId)
-                    .isRead(false)
-                    .createdAt(ZonedDateTime.now())
-                    .metadata(String.format("{\"bookingId\":\"%s\",\"eventName\":\"%s\"}", 
-                            bookingId, eventName))
-                    .build();
-
-            notificationRepository.save(notification);
-            log.info("Successfully created booking confirmation notification for user {}", userId);
-            
+                    .metadata(JsonWriter.object("bookingId", bookingId, "eventName", eventName))
+                    .build());
         } catch (Exception e) {
             log.error("Failed to create booking confirmation notification for user {}: {}", 
                     userId, e.getMessage(), e);
@@ -100,38 +168,103 @@ public class NotificationService {
     }
 
     /**
-     * Create booking cancellation notification
+     * Create booking cancellation notification, merged into the user's digest
      */
     @Transactional
     public void createBookingCancellationNotification(String userId, String eventName, String bookingId) {
-        log.info("Creating booking cancellation notification for user {}", userId);
+        log.info("Queueing booking cancellation notification for user {}", userId);
 
         try {
-            UUID userUuid = parseUUID(userId, "User ID");
-            User user = getUserById(userUuid);
-
-            Notification notification = Notification.builder()
-                    .user(user)
+            queueForDigest(PendingNotification.builder()
+                    .userId(parseUUID(userId, "User ID"))
                     .type(Notification.NotificationType.BOOKING_CANCELLED)
                     .title("Booking Cancelled")
-                    .message(String.format("Your booking for '%s' has been cancelled. Booking ID: %s", 
-                            eventName, bookingId))
+                    .message(NotificationTemplates.BOOKING_CANCELLED.render(new NotificationTemplates.Booking(eventName, bookingId)))
                     .actionUrl("/events") // Redirect to events list
-                    .isRead(false)
-                    .createdAt(ZonedDateTime.now())
-                    .metadata(String.format("{\"bookingId\":\"%s\",\"eventName\":\"%s\"}", 
-                            bookingId, eventName))
-                    .build();
-
-            notificationRepository.save(notification);
-            log.info("Successfully created booking cancellation notification for user {}", userId);
-            
+                    .metadata(JsonWriter.object("bookingId", bookingId, "eventName", eventName))
+                    .build());
         } catch (Exception e) {
             log.error("Failed to create booking cancellation notification for user {}: {}", 
                     userId, e.getMessage(), e);
         }
     }
 
+    // A zero window stores each notification on its own, as before digests
+    private void queueForDigest(PendingNotification pending) {
+        if (digestWindowSeconds <= 0) {
+            notificationRepository.save(pending.toNotification(userRepository.getReferenceById(pending.getUserId())));
+            adjustUnreadCount(pending.getUserId(), 1);
+            return;
+        }
+        pendingNotificationRepository.save(pending);
+    }
+
+    /**
+     * Stores the digest of every user whose window has closed, one transaction per user.
+     * Several instances can flush at once: a user's queued items are locked while their
+     * digest is stored, and another instance skips them.
+     */
+    @Workload(Workload.Type.BACKGROUND)
+    @Scheduled(fixedDelayString = "${evently.notifications.digest.flush-interval-ms:5000}")
+    public void flushDigests() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            ZonedDateTime openedBefore = ZonedDateTime.now().minusSeconds(digestWindowSeconds);
+            List<UUID> due = pendingNotificationRepository.findUsersDue(openedBefore, digestMaxItems,
+                    PageRequest.of(0, digestFlushBatchSize));
+            for (UUID userId : due) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> flushDigest(userId, openedBefore));
+                } catch (DataAccessException e) {
+                    log.warn("Failed to store digest for user {}: {}", userId, e.getMessage());
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Notification digest flush failed: {}", e.getMessage());
+        }
+    }
+
+    // Must run inside a transaction, which holds the row locks until the deletes commit
+    void flushDigest(UUID userId, ZonedDateTime openedBefore) {
+        List<PendingNotification> pending = pendingNotificationRepository.claimForUser(userId);
+        // Another instance flushed the items that made the user due; the rest wait for their own window
+        if (pending.isEmpty()
+                || (pending.get(0).getCreatedAt().isAfter(openedBefore) && pending.size() < digestMaxItems)) {
+            return;
+        }
+        storeDigest(userId, pending);
+        pendingNotificationRepository.deleteByIdIn(pending.stream().map(PendingNotification::getId).toList());
+    }
+
+    private void storeDigest(UUID userId, List<PendingNotification> pending) {
+        User user = userRepository.getReferenceById(userId);
+        if (pending.size() == 1) {
+            notificationRepository.save(pending.get(0).toNotification(user));
+            adjustUnreadCount(userId, 1);
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        for (PendingNotification notification : pending) {
+            if (!message.isEmpty()) {
+                message.append('\n');
+            }
+            message.append(notification.getMessage());
+        }
+        notificationRepository.save(Notification.builder()
+                .user(user)
+                .type(Notification.NotificationType.DIGEST)
+                .title(NotificationTemplates.DIGEST_TITLE.render(pending.size()))
+                .message(message.toString())
+                .actionUrl("/bookings")
+                .isRead(false)
+                .createdAt(ZonedDateTime.now())
+                .metadata(JsonWriter.object("count", String.valueOf(pending.size()),
+                        "from", pending.get(0).getCreatedAt().toString()))
+                .build());
+        adjustUnreadCount(userId, 1);
+        log.info("Stored digest of {} notifications for user {}", pending.size(), userId);
+    }
+
     /**
      * Get unread notifications for user
      */
@@ -168,6 +301,7 @@ public class NotificationService {
         if (!notification.getIsRead()) {
             notification.markAsRead();
             notificationRepository.save(notification);
+            adjustUnreadCount(notification.getUser().getId(), -1);
             log.info("Marked notification {} as read for user {}", notificationId, notification.getUser().getId());
         }
     }
@@ -183,31 +317,81 @@ public class NotificationService {
         
         unreadNotifications.forEach(Notification::markAsRead);
         notificationRepository.saveAll(unreadNotifications);
-        
+        if (!unreadNotifications.isEmpty()) {
+            // A delta rather than zero, so notifications committed meanwhile stay counted
+            adjustUnreadCount(userUuid, -unreadNotifications.size());
+        }
+
         log.info("Marked {} notifications as read for user {}", unreadNotifications.size(), userId);
     }
 
     /**
-     * Get notification count for user
+     * Get notification count for user: a Redis read, or a {@code COUNT} on the primary that
+     * seeds the counter when it isn't cached. No transaction, so a hit never takes a connection.
      */
-    @Transactional(readOnly = true)
     public long getUnreadCount(String userId) {
         UUID userUuid = parseUUID(userId, "User ID");
-        return notificationRepository.countByUserIdAndIsReadFalse(userUuid);
+        return unreadCounter.get(userUuid).orElseGet(() -> {
+            long count = notificationRepository.countByUserIdAndIsReadFalse(userUuid);
+            unreadCounter.seed(userUuid, count);
+            return count;
+        });
     }
 
     /**
-     * Cleanup expired notifications (scheduled job - every hour)
+     * Cleanup expired notifications (scheduled job - every hour).
+     * Only recent partitions are searched; older notifications leave with their partition
+     * (see PartitionMaintenanceService).
      */
+    @Workload(Workload.Type.BACKGROUND)
     @Scheduled(fixedRate = 3600000) // 1 hour
     @Transactional
     public void cleanupExpiredNotifications() {
-        int deletedCount = notificationRepository.deleteByExpiresAtBefore(ZonedDateTime.now());
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime createdSince = now.minusHours(cleanupLookbackHours);
+        List<Object[]> unreadByUser = notificationRepository.countUnreadExpiredCreatedSinceByUser(now, createdSince);
+        int deletedCount = notificationRepository.deleteExpiredCreatedSince(now, createdSince);
+        unreadByUser.forEach(row -> adjustUnreadCount((UUID) row[0], -((Number) row[1]).longValue()));
         if (deletedCount > 0) {
             log.info("Cleaned up {} expired notifications", deletedCount);
         }
     }
 
+    /**
+     * Corrects cached unread counts that drifted from the table, e.g. a seed that raced an
+     * insert or a notification read while the expiry job was deleting it. Only users with a
+     * cached counter are recounted, one grouped query per batch.
+     */
+    @Workload(Workload.Type.BACKGROUND)
+    @Scheduled(fixedDelayString = "${evently.notifications.unread-counter.reconcile-interval-ms:600000}")
+    public void reconcileUnreadCounts() {
+        try {
+            int corrected = unreadCounter.reconcile(reconcileBatchSize, this::countUnread, correction -> {
+                log.debug("Corrected unread count for user {} from {} to {}",
+                        correction.userId(), correction.was(), correction.count());
+                webSocketNotificationService.sendNotificationCountUpdate(
+                        correction.userId().toString(), correction.count());
+            });
+            if (corrected > 0) {
+                log.info("Corrected {} drifted unread notification counts", corrected);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Unread count reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    private List<Long> countUnread(List<UUID> userIds) {
+        Map<UUID, Long> counts = notificationRepository.countUnreadByUserIds(userIds).stream()
+                .collect(Collectors.toMap(row -> (UUID) row[0], row -> ((Number) row[1]).longValue()));
+        return userIds.stream().map(userId -> counts.getOrDefault(userId, 0L)).toList();
+    }
+
+    // Applied after commit; a user without a cached counter has no badge to update
+    private void adjustUnreadCount(UUID userId, long delta) {
+        unreadCounter.adjustAfterCommit(userId, delta,
+                count -> webSocketNotificationService.sendNotificationCountUpdate(userId.toString(), count));
+    }
+
     // ========== UTILITY METHODS ==========
 
     private User getUserById(UUID userId) {
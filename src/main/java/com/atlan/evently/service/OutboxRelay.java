@@ -0,0 +1,233 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.Workload;
+import com.atlan.evently.model.OutboxMessage;
+import com.atlan.evently.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the transactional outbox ({@code event_outbox}) to Kafka.
+ *
+ * <p>Each batch runs in one transaction: it locks the oldest pending rows with
+ * {@code FOR UPDATE SKIP LOCKED}, sends them without waiting in between, waits for the
+ * acknowledgements, then deletes what was delivered. Several instances can relay at once;
+ * each locks a different set of rows.
+ *
+ * <p>Messages of one aggregate (event id) are sent in id order. Writers of one event
+ * serialize on the event row (cancellations update it, waitlist processing locks it before
+ * queueing), so id order is commit order. A batch only sends an aggregate if it holds that
+ * aggregate's oldest pending row, and if a send fails, the aggregate's later messages in the
+ * batch are kept for the next run even if they were delivered. Delivery is therefore at
+ * least once: the waitlist skips cancellations it has already processed (see
+ * {@link WaitlistService#processCancelledBookings}), while a repeated waitlist notification
+ * can store a second in-app notice for the same offer.
+ *
+ * <p>A message that fails for reasons of its own (an undecodable payload, or a send error
+ * Kafka won't retry) is parked once it has failed {@code evently.outbox.max-attempts} times,
+ * and its aggregate's later messages go out without it. Transient failures, such as an
+ * unreachable broker, are retried indefinitely.
+ */
+@Service
+@Workload(Workload.Type.BACKGROUND)
+@Slf4j
+public class OutboxRelay {
+
+    private static final String PAYLOAD_PACKAGE = "com.atlan.evently.dto.events.";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+
+    @Value("${evently.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${evently.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${evently.outbox.max-attempts:50}")
+    private int maxAttempts;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sentCounter = Counter.builder("evently.outbox.sent")
+                .description("Outbox messages delivered to Kafka")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("evently.outbox.failed")
+                .description("Outbox send attempts that failed and will be retried")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("evently.outbox.parked")
+                .description("Outbox messages given up on after repeated permanent failures")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays full batches back to back until the outbox is drained or a send fails.
+     */
+    @Scheduled(fixedDelayString = "${evently.outbox.relay-interval-ms:200}")
+    public void relay() {
+        try {
+            BatchResult result;
+            do {
+                result = transactionTemplate.execute(status -> relayBatch());
+            } while (result != null && result.claimed() == batchSize && result.failed() == 0);
+        } catch (DataAccessException e) {
+            log.warn("Outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    // Must run inside a transaction, which holds the row locks until the deletes commit
+    BatchResult relayBatch() {
+        List<OutboxMessage> claimed = outboxRepository.claimBatch(batchSize);
+        if (claimed.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
+
+        Set<String> aggregates = new LinkedHashSet<>();
+        Set<Long> claimedIds = new HashSet<>();
+        for (OutboxMessage message : claimed) {
+            aggregates.add(message.getAggregateId());
+            claimedIds.add(message.getId());
+        }
+        // Another relay holds an older message of these aggregates; leave them to it
+        for (Object[] row : outboxRepository.findOldestIdPerAggregate(aggregates)) {
+            if (!claimedIds.contains(((Number) row[1]).longValue())) {
+                aggregates.remove((String) row[0]);
+            }
+        }
+
+        // Per aggregate, the first message that didn't go out; nothing after it is deleted
+        Map<String, Long> firstFailure = new HashMap<>();
+        List<Long> failed = new ArrayList<>();
+        // Failures that retrying the same message can't fix
+        List<Long> permanent = new ArrayList<>();
+        Map<OutboxMessage, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        String error = null;
+        for (OutboxMessage message : claimed) {
+            if (!aggregates.contains(message.getAggregateId())
+                    || firstFailure.containsKey(message.getAggregateId())) {
+                continue;
+            }
+            Object payload;
+            try {
+                payload = decode(message);
+            } catch (IllegalStateException e) {
+                log.error("Outbox message {} cannot be sent: {}", message.getId(), e.getMessage());
+                error = e.getMessage();
+                firstFailure.put(message.getAggregateId(), message.getId());
+                failed.add(message.getId());
+                permanent.add(message.getId());
+                continue;
+            }
+            try {
+                sends.put(message, kafkaTemplate.send(message.getTopic(), message.getMessageKey(), payload));
+            } catch (RuntimeException e) {
+                // Usually the broker is unreachable; the rest of the batch would fail the same way
+                error = e.getMessage();
+                failed.add(message.getId());
+                break;
+            }
+        }
+
+        List<OutboxMessage> acknowledged = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (Map.Entry<OutboxMessage, CompletableFuture<?>> send : sends.entrySet()) {
+            OutboxMessage message = send.getKey();
+            try {
+                send.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(message);
+                continue;
+            } catch (ExecutionException e) {
+                error = e.getCause().getMessage();
+                if (!(NestedExceptionUtils.getMostSpecificCause(e.getCause()) instanceof RetriableException)) {
+                    permanent.add(message.getId());
+                }
+            } catch (TimeoutException e) {
+                error = "send timed out after " + sendTimeoutMs + " ms";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = "relay interrupted";
+            }
+            firstFailure.merge(message.getAggregateId(), message.getId(), Math::min);
+            failed.add(message.getId());
+        }
+
+        List<Long> delivered = acknowledged.stream()
+                .filter(message -> message.getId() < firstFailure.getOrDefault(message.getAggregateId(), Long.MAX_VALUE))
+                .map(OutboxMessage::getId)
+                .toList();
+
+        if (!delivered.isEmpty()) {
+            outboxRepository.deleteByIdIn(delivered);
+            sentCounter.increment(delivered.size());
+        }
+        if (!failed.isEmpty()) {
+            outboxRepository.recordFailure(failed, truncate(error));
+            failedCounter.increment(failed.size());
+            log.warn("Outbox relay: {} of {} messages failed, will retry: {}", failed.size(), claimed.size(), error);
+        }
+        if (!permanent.isEmpty()) {
+            int parked = outboxRepository.parkExhausted(permanent, maxAttempts, ZonedDateTime.now());
+            if (parked > 0) {
+                parkedCounter.increment(parked);
+                log.error("Outbox relay: parked {} messages after {} attempts: {}", parked, maxAttempts, error);
+            }
+        }
+        log.debug("Outbox relay: claimed {}, delivered {}", claimed.size(), delivered.size());
+        return new BatchResult(claimed.size(), delivered.size(), failed.size());
+    }
+
+    private static Object decode(OutboxMessage message) {
+        if (!message.getPayloadType().startsWith(PAYLOAD_PACKAGE)) {
+            throw new IllegalStateException("Unexpected outbox payload type " + message.getPayloadType());
+        }
+        try {
+            return EventPublisher.OUTBOX_JSON.readValue(message.getPayload(), Class.forName(message.getPayloadType()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Undecodable outbox message " + message.getId() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    record BatchResult(int claimed, int delivered, int failed) {
+    }
+}
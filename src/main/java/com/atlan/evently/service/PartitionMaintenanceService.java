@@ -0,0 +1,133 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.Workload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} and {@code notifications} (V12) rolling.
+ *
+ * <p>Daily, and once at startup, it:
+ * <ul>
+ *   <li>creates partitions for the current month and the next {@code months-ahead} months,
+ *       so inserts never fall into the default partition;</li>
+ *   <li>drops notification partitions older than the retention period, which replaces
+ *       deleting old notifications row by row;</li>
+ *   <li>detaches transaction partitions older than the archive threshold and moves them to
+ *       the {@code archive} schema, where they stay queryable for audits.</li>
+ * </ul>
+ * A retention or archive setting of 0 disables that step.
+ */
+@Service
+@Workload(Workload.Type.BACKGROUND)
+@ConditionalOnProperty(name = "evently.partitions.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceService {
+
+    static final String TRANSACTIONS = "transactions";
+    static final String NOTIFICATIONS = "notifications";
+
+    private static final Pattern PARTITION_SUFFIX = Pattern.compile("_p(\\d{4})_(\\d{2})$");
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String LIST_PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+            "WHERE p.relname = ? AND n.nspname = current_schema()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${evently.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${evently.partitions.notifications.retention-months:6}")
+    private int notificationRetentionMonths;
+
+    @Value("${evently.partitions.transactions.archive-after-months:24}")
+    private int transactionArchiveMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${evently.partitions.maintenance-cron:0 15 2 * * *}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        try {
+            createFuturePartitions(TRANSACTIONS, current);
+            createFuturePartitions(NOTIFICATIONS, current);
+            if (notificationRetentionMonths > 0) {
+                dropPartitionsBefore(NOTIFICATIONS, current.minusMonths(notificationRetentionMonths));
+            }
+            if (transactionArchiveMonths > 0) {
+                archivePartitionsBefore(TRANSACTIONS, current.minusMonths(transactionArchiveMonths));
+            }
+        } catch (DataAccessException e) {
+            // Next run retries; months-ahead leaves weeks of slack before inserts need a new partition
+            log.error("Partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void createFuturePartitions(String table, YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate monthStart = current.plusMonths(i).atDay(1);
+            String partition = jdbcTemplate.queryForObject(
+                    "SELECT create_monthly_partition(?, ?)", String.class, table, monthStart);
+            log.debug("Ensured partition {}", partition);
+        }
+    }
+
+    void dropPartitionsBefore(String table, YearMonth cutoff) {
+        for (String partition : partitionsBefore(table, cutoff)) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            log.info("Dropped partition {} (older than {})", partition, cutoff);
+        }
+    }
+
+    void archivePartitionsBefore(String table, YearMonth cutoff) {
+        for (String partition : partitionsBefore(table, cutoff)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA archive");
+            log.info("Archived partition {} to archive.{} (older than {})", partition, partition, cutoff);
+        }
+    }
+
+    // Monthly partitions whose whole month precedes the cutoff; the default partition never matches
+    private List<String> partitionsBefore(String table, YearMonth cutoff) {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS, String.class, table).stream()
+                .filter(partition -> {
+                    YearMonth month = monthOf(partition);
+                    return month != null && month.isBefore(cutoff);
+                })
+                .sorted()
+                .toList();
+    }
+
+    static YearMonth monthOf(String partition) {
+        Matcher matcher = PARTITION_SUFFIX.matcher(partition);
+        if (!matcher.find()) {
+            return null;
+        }
+        return YearMonth.parse(matcher.group(1) + "_" + matcher.group(2), SUFFIX_FORMAT);
+    }
+}
@@ -0,0 +1,128 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.WorkloadRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Keeps replica reads from going backwards in time.
+ *
+ * <ul>
+ *   <li><strong>Read-your-writes:</strong> {@link #recordWrite(String)} marks a user in Redis
+ *       for {@code read-your-writes-seconds} once the write commits. While the mark exists,
+ *       {@link #readingFor(String)} pins that user's read-only transaction to the primary.
+ *       The mark is shared by every instance.</li>
+ *   <li><strong>Lag probe:</strong> every {@code lag-check-interval-ms} each replica reports
+ *       its replay lag. Replicas behind by more than {@code max-lag-seconds}, or failing the
+ *       probe, leave the read rotation until they catch up.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReplicaLagGuard {
+
+    private static final String KEY_PREFIX = "replica-ryw::";
+
+    // Zero when the replica has replayed everything it received (an idle primary sends nothing)
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final StringRedisTemplate redisTemplate;
+    private final WorkloadRoutingDataSource routingDataSource;
+
+    @Value("${evently.datasource.replicas.read-your-writes-seconds:10}")
+    private long readYourWritesSeconds;
+
+    @Value("${evently.datasource.replicas.max-lag-seconds:5}")
+    private double maxLagSeconds;
+
+    /**
+     * Records that {@code userId} wrote in the current transaction; applied after commit.
+     */
+    public void recordWrite(String userId) {
+        if (routingDataSource.getReplicas().isEmpty() || userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markWrite(userId);
+                }
+            });
+        } else {
+            markWrite(userId);
+        }
+    }
+
+    /**
+     * Call at the start of a read-only transaction that reads {@code userId}'s own data,
+     * before its first query.
+     */
+    public void readingFor(String userId) {
+        if (routingDataSource.getReplicas().isEmpty() || userId == null) {
+            return;
+        }
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + userId))) {
+                WorkloadRoutingDataSource.usePrimaryForCurrentTransaction();
+            }
+        } catch (DataAccessException e) {
+            // Can't tell whether the user just wrote, so don't risk a stale read
+            log.warn("Read-your-writes check failed for user {}: {}", userId, e.getMessage());
+            WorkloadRoutingDataSource.usePrimaryForCurrentTransaction();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${evently.datasource.replicas.lag-check-interval-ms:5000}")
+    public void checkReplicaLag() {
+        for (Map.Entry<String, DataSource> replica : routingDataSource.getReplicas().entrySet()) {
+            String key = replica.getKey();
+            try {
+                double lagSeconds = lagSeconds(replica.getValue());
+                boolean lagging = lagSeconds > maxLagSeconds;
+                if (lagging && !routingDataSource.isLagging(key)) {
+                    log.warn("Replica {} is {} s behind (limit {} s)", key, lagSeconds, maxLagSeconds);
+                }
+                routingDataSource.markLagging(key, lagging);
+            } catch (SQLException e) {
+                log.warn("Replica {} lag probe failed: {}", key, e.getMessage());
+                routingDataSource.markLagging(key, true);
+            }
+        }
+    }
+
+    private void markWrite(String userId) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, "1", Duration.ofSeconds(readYourWritesSeconds));
+        } catch (DataAccessException e) {
+            log.warn("Failed to record write for user {}; their next read may hit a replica: {}", userId, e.getMessage());
+        }
+    }
+
+    private static double lagSeconds(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            rs.next();
+            return rs.getDouble(1);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.exception.EventException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs analytics queries on the Parquet snapshots written by {@link AnalyticsSnapshotService}
+ * through an embedded, in-memory DuckDB, so heavy reports never touch Postgres or its pool.
+ *
+ * <p>Each query opens its own DuckDB connection with one view per snapshot table. The view
+ * keeps the latest version of each row by its watermark column. Results are as fresh as
+ * the last export; see {@link AnalyticsSnapshotService#getWatermarks()}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotQueryService {
+
+    private final AnalyticsSnapshotService analyticsSnapshotService;
+
+    /**
+     * The snapshot equivalent of {@link TransactionService#getTransactionAnalytics}. Days are
+     * UTC dates of {@code created_at}, matching the live rollups.
+     */
+    public TransactionService.TransactionAnalyticsResponse getTransactionAnalytics(ZonedDateTime startDate,
+                                                                                  ZonedDateTime endDate) {
+        long started = System.currentTimeMillis();
+        try (Connection duckDb = openSnapshot(AnalyticsSnapshotService.SnapshotTable.TRANSACTIONS)) {
+            BigDecimal totalRevenue = BigDecimal.ZERO;
+            try (PreparedStatement ps = duckDb.prepareStatement(
+                    "SELECT SUM(amount) FROM transactions WHERE status = 'COMPLETED' " +
+                    "AND transaction_type = 'PAYMENT' AND CAST(created_at AS DATE) BETWEEN CAST(? AS DATE) AND CAST(? AS DATE)")) {
+                ps.setString(1, TransactionRollupService.dayOf(startDate).toString());
+                ps.setString(2, TransactionRollupService.dayOf(endDate).toString());
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next() && rs.getBigDecimal(1) != null) {
+                        totalRevenue = rs.getBigDecimal(1);
+                    }
+                }
+            }
+
+            Map<String, Long> statusCounts = new LinkedHashMap<>();
+            try (Statement statement = duckDb.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT status, COUNT(*) FROM transactions GROUP BY status ORDER BY status")) {
+                while (rs.next()) {
+                    statusCounts.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+
+            List<TransactionService.PaymentMethodStatResponse> paymentMethods = new ArrayList<>();
+            try (Statement statement = duckDb.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT payment_method, COUNT(*), SUM(amount) FROM transactions " +
+                         "WHERE status = 'COMPLETED' GROUP BY payment_method ORDER BY COUNT(*) DESC")) {
+                while (rs.next()) {
+                    paymentMethods.add(new TransactionService.PaymentMethodStatResponse(
+                            rs.getString(1), rs.getLong(2), rs.getBigDecimal(3)));
+                }
+            }
+
+            List<TransactionService.DailyRevenueResponse> dailyRevenue = new ArrayList<>();
+            try (PreparedStatement ps = duckDb.prepareStatement(
+                    "SELECT CAST(created_at AS DATE) AS day, SUM(amount), COUNT(*) FROM transactions " +
+                    "WHERE status = 'COMPLETED' AND transaction_type = 'PAYMENT' " +
+                    "AND CAST(created_at AS DATE) >= CAST(? AS DATE) GROUP BY day ORDER BY day")) {
+                ps.setString(1, TransactionRollupService.dayOf(startDate).toString());
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        dailyRevenue.add(new TransactionService.DailyRevenueResponse(
+                                rs.getString(1), rs.getBigDecimal(2), rs.getLong(3)));
+                    }
+                }
+            }
+
+            log.info("Served transaction analytics from snapshot in {} ms", System.currentTimeMillis() - started);
+            return TransactionService.TransactionAnalyticsResponse.builder()
+                    .totalRevenue(totalRevenue)
+                    .transactionCountsByStatus(statusCounts)
+                    .paymentMethodStats(paymentMethods)
+                    .dailyRevenue(dailyRevenue)
+                    .reportPeriod(new TransactionService.ReportPeriod(startDate, endDate))
+                    .build();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Snapshot analytics query failed", e);
+        }
+    }
+
+    /**
+     * How far each snapshot table reaches, as of the last export.
+     */
+    public Map<String, ZonedDateTime> getFreshness() {
+        Map<String, ZonedDateTime> freshness = new LinkedHashMap<>();
+        analyticsSnapshotService.getWatermarks()
+                .forEach((table, watermark) -> freshness.put(table, watermark.atZone(ZoneOffset.UTC)));
+        return freshness;
+    }
+
+    // In-memory DuckDB with a deduplicating view over each requested table's Parquet files
+    Connection openSnapshot(AnalyticsSnapshotService.SnapshotTable... tables) throws SQLException {
+        if (!analyticsSnapshotService.isEnabled()) {
+            throw new EventException("Analytics snapshots are disabled", "SNAPSHOTS_DISABLED",
+                    "Set evently.snapshots.enabled=true or query the live analytics");
+        }
+        Connection duckDb = DriverManager.getConnection("jdbc:duckdb:");
+        try (Statement statement = duckDb.createStatement()) {
+            for (AnalyticsSnapshotService.SnapshotTable table : tables) {
+                Path tableDir = analyticsSnapshotService.snapshotRoot().resolve(table.getTableName());
+                if (!hasParquetFiles(tableDir)) {
+                    throw new EventException("Analytics snapshot not available", "SNAPSHOT_NOT_AVAILABLE",
+                            "No " + table.getTableName() + " snapshot has been exported yet");
+                }
+                String files = AnalyticsSnapshotService.sqlLiteral(tableDir.resolve("*.parquet"));
+                statement.execute("CREATE VIEW " + table.getTableName() + " AS " +
+                        "SELECT * FROM read_parquet('" + files + "') " +
+                        "QUALIFY row_number() OVER (PARTITION BY id ORDER BY " + table.getWatermarkColumn() + " DESC) = 1");
+            }
+            return duckDb;
+        } catch (SQLException | RuntimeException e) {
+            duckDb.close();
+            throw e;
+        }
+    }
+
+    private static boolean hasParquetFiles(Path tableDir) {
+        if (!Files.isDirectory(tableDir)) {
+            return false;
+        }
+        try (var files = Files.list(tableDir)) {
+            return files.anyMatch(file -> file.getFileName().toString().endsWith(".parquet"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list snapshot files in " + tableDir, e);
+        }
+    }
+}
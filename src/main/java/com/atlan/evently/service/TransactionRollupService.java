@@ -0,0 +1,91 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.Workload;
+import com.atlan.evently.model.Transaction;
+import com.atlan.evently.model.TransactionDailyRollup;
+import com.atlan.evently.repository.TransactionRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Maintains {@code transaction_daily_rollups}: transaction counts and amounts per UTC day,
+ * status, type and payment method.
+ *
+ * <p>Updates run inside the caller's transaction, so a rollup never counts a transaction
+ * that rolled back. A status change moves the transaction from its old status row to the
+ * new one; rows are always touched in status order so two concurrent changes can't
+ * deadlock. {@link #backfill()} rebuilds everything from the transactions table, e.g.
+ * after transactions are removed by a booking cascade.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionRollupService {
+
+    private final TransactionRollupRepository rollupRepository;
+
+    /**
+     * Counts a newly created transaction under its initial status.
+     */
+    public void transactionCreated(Transaction transaction) {
+        add(transaction, transaction.getStatus(), 1);
+    }
+
+    /**
+     * Moves a transaction from {@code previousStatus} to its current status.
+     */
+    public void statusChanged(Transaction transaction, Transaction.TransactionStatus previousStatus) {
+        Transaction.TransactionStatus currentStatus = transaction.getStatus();
+        if (previousStatus == currentStatus) {
+            return;
+        }
+        if (previousStatus.name().compareTo(currentStatus.name()) < 0) {
+            add(transaction, previousStatus, -1);
+            add(transaction, currentStatus, 1);
+        } else {
+            add(transaction, currentStatus, 1);
+            add(transaction, previousStatus, -1);
+        }
+    }
+
+    /**
+     * Recomputes every rollup row from the transactions table. Concurrent transaction
+     * writes wait until the backfill commits.
+     */
+    @Workload(Workload.Type.ANALYTICS)
+    @Transactional
+    public int backfill() {
+        long started = System.currentTimeMillis();
+        rollupRepository.lockForBackfill();
+        rollupRepository.deleteAllRollups();
+        int rows = rollupRepository.rebuildFromTransactions();
+        log.info("Backfilled {} transaction rollup rows in {} ms", rows, System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    /**
+     * The rollup day a timestamp falls on.
+     */
+    public static LocalDate dayOf(ZonedDateTime timestamp) {
+        return timestamp.withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private void add(Transaction transaction, Transaction.TransactionStatus status, int sign) {
+        ZonedDateTime createdAt = transaction.getCreatedAt() != null ? transaction.getCreatedAt() : ZonedDateTime.now();
+        BigDecimal amount = transaction.getAmount() != null ? transaction.getAmount() : BigDecimal.ZERO;
+        rollupRepository.add(
+                dayOf(createdAt),
+                status.name(),
+                transaction.getTransactionType().name(),
+                transaction.getPaymentMethod() != null ? transaction.getPaymentMethod() : TransactionDailyRollup.NO_PAYMENT_METHOD,
+                sign,
+                sign < 0 ? amount.negate() : amount);
+    }
+}
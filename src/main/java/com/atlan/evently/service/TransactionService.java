@@ -1,13 +1,16 @@
 package com.atlan.evently.service;
 
+import com.atlan.evently.config.Workload;
 import com.atlan.evently.dto.TransactionRequest;
 import com.atlan.evently.dto.TransactionResponse;
 import com.atlan.evently.exception.EventException;
 import com.atlan.evently.mapper.TransactionMapper;
 import com.atlan.evently.model.Booking;
 import com.atlan.evently.model.Transaction;
+import com.atlan.evently.model.TransactionDailyRollup;
 import com.atlan.evently.repository.BookingRepository;
 import com.atlan.evently.repository.TransactionRepository;
+import com.atlan.evently.repository.TransactionRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -33,6 +36,8 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final BookingRepository bookingRepository;
     private final TransactionMapper transactionMapper;
+    private final TransactionRollupService transactionRollupService;
+    private final TransactionRollupRepository transactionRollupRepository;
 
     @Transactional
     public TransactionResponse createTransaction(TransactionRequest request) {
@@ -48,6 +53,7 @@ public class TransactionService {
         transaction.setEvent(booking.getEvent());
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionRollupService.transactionCreated(savedTransaction);
         log.info("Successfully created transaction {} for booking {}", 
                 savedTransaction.getId(), request.getBookingId());
 
@@ -61,11 +67,13 @@ public class TransactionService {
         log.info("Updating transaction {} status to {}", transactionId, status);
 
         UUID transactionUuid = parseUUID(transactionId, "Transaction ID");
-        Transaction transaction = transactionRepository.findById(transactionUuid)
+        // Locked, so a concurrent update can't move the rollup from the same previous status
+        Transaction transaction = transactionRepository.findByIdForUpdate(transactionUuid)
                 .orElseThrow(() -> new EventException("Transaction not found",
                         "TRANSACTION_NOT_FOUND",
                         "Transaction with ID " + transactionId + " does not exist"));
 
+        Transaction.TransactionStatus previousStatus = transaction.getStatus();
         switch (status) {
             case COMPLETED -> transaction.markAsCompleted();
             case FAILED -> transaction.markAsFailed(failureReason);
@@ -77,6 +85,7 @@ public class TransactionService {
         }
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionRollupService.statusChanged(savedTransaction, previousStatus);
         log.info("Successfully updated transaction {} status to {}", transactionId, status);
 
         return transactionMapper.toResponse(savedTransaction);
@@ -105,42 +114,48 @@ public class TransactionService {
                 .map(transactionMapper::toResponse);
     }
 
+    /**
+     * Payment analytics served from the daily rollups (a few hundred rows) rather than the
+     * transactions table. The revenue period is resolved to whole UTC days.
+     */
+    @Workload(Workload.Type.ANALYTICS)
     @Transactional(readOnly = true)
     public TransactionAnalyticsResponse getTransactionAnalytics(ZonedDateTime startDate, 
                                                                ZonedDateTime endDate) {
         log.info("Generating transaction analytics for period {} to {}", startDate, endDate);
 
         // Revenue analytics
-        BigDecimal totalRevenue = transactionRepository.getTotalRevenueByDateRange(
+        BigDecimal totalRevenue = transactionRollupRepository.sumAmount(
                 Transaction.TransactionStatus.COMPLETED,
                 Transaction.TransactionType.PAYMENT,
-                startDate, endDate).orElse(BigDecimal.ZERO);
+                TransactionRollupService.dayOf(startDate),
+                TransactionRollupService.dayOf(endDate)).orElse(BigDecimal.ZERO);
 
         // Transaction counts by status
-        List<Object[]> statusCounts = transactionRepository.getTransactionCountByStatus();
+        List<Object[]> statusCounts = transactionRollupRepository.countByStatus();
         Map<String, Long> statusCountMap = statusCounts.stream()
                 .collect(Collectors.toMap(
                     row -> row[0].toString(),
-                    row -> (Long) row[1]
+                    row -> ((Number) row[1]).longValue()
                 ));
 
         // Payment method statistics
-        List<Object[]> paymentMethodStats = transactionRepository.getPaymentMethodStatistics();
+        List<Object[]> paymentMethodStats = transactionRollupRepository.paymentMethodStatistics();
         List<PaymentMethodStatResponse> paymentMethods = paymentMethodStats.stream()
                 .map(row -> new PaymentMethodStatResponse(
-                    (String) row[0],
-                    (Long) row[1],
+                    TransactionDailyRollup.NO_PAYMENT_METHOD.equals(row[0]) ? null : (String) row[0],
+                    ((Number) row[1]).longValue(),
                     (BigDecimal) row[2]
                 ))
                 .toList();
 
         // Daily revenue report
-        List<Object[]> dailyRevenue = transactionRepository.getDailyRevenueReport(startDate);
+        List<Object[]> dailyRevenue = transactionRollupRepository.dailyRevenue(TransactionRollupService.dayOf(startDate));
         List<DailyRevenueResponse> dailyRevenueList = dailyRevenue.stream()
                 .map(row -> new DailyRevenueResponse(
                     row[0].toString(), // Date
                     (BigDecimal) row[1],
-                    (Long) row[2]
+                    ((Number) row[2]).longValue()
                 ))
                 .toList();
 
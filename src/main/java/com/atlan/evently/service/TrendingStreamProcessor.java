@@ -0,0 +1,223 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.dto.events.EventActivityEvent;
+import com.atlan.evently.util.DecayedSlidingWindow;
+import com.atlan.evently.util.TopK;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-app stream processor computing trending scores from the {@code event-activity} topic.
+ *
+ * <p>Keeps a {@link DecayedSlidingWindow} per event and per category and, every few seconds,
+ * publishes the top N event ids overall and per category to Redis for
+ * {@link EventRankingService#topTrending(int)}.
+ *
+ * <p>Each instance consumes the whole topic under its own consumer group and rebuilds its
+ * window by replaying the topic from the earliest retained offset, so every instance
+ * publishes the same snapshot and a restart needs no external state. Publishing waits
+ * until the replay has caught up.
+ *
+ * <p>The group id is stable per instance ({@code evently.trending.group-id}, by default
+ * derived from the host name) so restarts reuse the group rather than leaving one behind
+ * each time; committed offsets are ignored on startup, which always replays from the start.
+ * Instances must not share a group id, or they would split the partitions between them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingStreamProcessor implements ConsumerSeekAware {
+
+    private static final Comparator<Scored> BY_SCORE = Comparator.comparingDouble(Scored::score);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final ConcurrentMap<String, DecayedSlidingWindow> eventWindows = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DecayedSlidingWindow> categoryWindows = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> eventCategories = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean replayStarted = new AtomicBoolean();
+
+    private volatile long lastOccurredAtMillis;
+    private volatile long lastReceivedAtMillis;
+
+    @Value("${evently.trending.window-minutes:360}")
+    private long windowMinutes;
+
+    @Value("${evently.trending.bucket-minutes:5}")
+    private long bucketMinutes;
+
+    @Value("${evently.trending.half-life-minutes:60}")
+    private long halfLifeMinutes;
+
+    @Value("${evently.trending.top-n:50}")
+    private int topN;
+
+    @Value("${evently.trending.publish-interval-ms:5000}")
+    private long publishIntervalMs;
+
+    @Value("${evently.ranking.weights.booking:3.0}")
+    private double bookingWeight;
+
+    @Value("${evently.ranking.weights.comment:2.0}")
+    private double commentWeight;
+
+    @Value("${evently.ranking.weights.like:1.0}")
+    private double likeWeight;
+
+    @Value("${evently.ranking.weights.view:0.1}")
+    private double viewWeight;
+
+    @KafkaListener(
+        topics = EventPublisher.EVENT_ACTIVITY_TOPIC,
+        groupId = "${evently.trending.group-id:evently-trending-${HOSTNAME:local}}",
+        containerFactory = "kafkaListenerContainerFactory",
+        concurrency = "1"
+    )
+    public void onActivity(@Payload EventActivityEvent activity, Acknowledgment acknowledgment) {
+        try {
+            apply(activity);
+        } catch (RuntimeException e) {
+            // A malformed activity must not stall the stream
+            log.warn("Skipping invalid activity for event {}: {}", activity.getEventId(), e.getMessage());
+        }
+        acknowledgment.acknowledge();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        // Replay once per start; a later rebalance keeps the window built so far
+        if (replayStarted.compareAndSet(false, true)) {
+            callback.seekToBeginning(assignments.keySet());
+        }
+    }
+
+    void apply(EventActivityEvent activity) {
+        double weight = weightOf(activity.getActivityType());
+        long occurredAt = activity.getOccurredAt().toInstant().toEpochMilli();
+
+        eventWindows.computeIfAbsent(activity.getEventId(), id -> newWindow()).add(occurredAt, weight);
+        if (activity.getCategoryId() != null) {
+            eventCategories.put(activity.getEventId(), activity.getCategoryId());
+            categoryWindows.computeIfAbsent(activity.getCategoryId(), id -> newWindow()).add(occurredAt, weight);
+        }
+
+        lastOccurredAtMillis = Math.max(lastOccurredAtMillis, occurredAt);
+        lastReceivedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Publishes the current top N overall and per category.
+     */
+    @Scheduled(fixedDelayString = "${evently.trending.publish-interval-ms:5000}")
+    public void publishSnapshot() {
+        long now = System.currentTimeMillis();
+        if (!caughtUp(now)) {
+            log.debug("Trending replay still catching up, snapshot not published");
+            return;
+        }
+
+        eventWindows.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().isExpired(now);
+            if (expired) {
+                eventCategories.remove(entry.getKey());
+            }
+            return expired;
+        });
+        categoryWindows.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+
+        Map<String, TopK<Scored>> perCategory = new HashMap<>();
+        TopK<Scored> overall = new TopK<>(topN, BY_SCORE);
+        eventWindows.forEach((eventId, window) -> {
+            double score = window.score(now);
+            if (score <= 0) {
+                return;
+            }
+            Scored scored = new Scored(eventId, score);
+            overall.offer(scored);
+            String categoryId = eventCategories.get(eventId);
+            if (categoryId != null) {
+                perCategory.computeIfAbsent(categoryId, id -> new TopK<>(topN, BY_SCORE)).offer(scored);
+            }
+        });
+
+        try {
+            write(toSnapshot(overall), perCategory);
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish trending snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Current decayed score of a category (for diagnostics and admin views).
+     */
+    public double categoryScore(String categoryId) {
+        DecayedSlidingWindow window = categoryWindows.get(categoryId);
+        return window != null ? window.score(System.currentTimeMillis()) : 0;
+    }
+
+    private static String toSnapshot(TopK<Scored> top) {
+        return String.join(",", top.toList().stream().map(Scored::eventId).toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(String overall, Map<String, TopK<Scored>> perCategory) {
+        // Snapshots expire if no instance publishes, so readers never see a frozen ranking
+        Duration ttl = Duration.ofMillis(publishIntervalMs * 6);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForValue().set(EventRankingService.TRENDING_TOP_KEY, overall, ttl);
+                perCategory.forEach((categoryId, top) -> ops.opsForValue().set(
+                        EventRankingService.TRENDING_CATEGORY_KEY_PREFIX + categoryId, toSnapshot(top), ttl));
+                return null;
+            }
+        });
+    }
+
+    // Caught up once replayed activity is recent, or the stream has gone quiet
+    private boolean caughtUp(long now) {
+        return lastOccurredAtMillis >= now - Duration.ofMinutes(1).toMillis()
+                || now - lastReceivedAtMillis > publishIntervalMs;
+    }
+
+    private DecayedSlidingWindow newWindow() {
+        return new DecayedSlidingWindow(Duration.ofMinutes(bucketMinutes).toMillis(),
+                (int) (windowMinutes / bucketMinutes), Duration.ofMinutes(halfLifeMinutes).toMillis());
+    }
+
+    private double weightOf(String activityType) {
+        return switch (activityType) {
+            case EventRankingService.ACTIVITY_BOOKING -> bookingWeight;
+            case EventRankingService.ACTIVITY_COMMENT -> commentWeight;
+            case EventRankingService.ACTIVITY_LIKE -> likeWeight;
+            case EventRankingService.ACTIVITY_UNLIKE -> -likeWeight;
+            case EventRankingService.ACTIVITY_VIEW -> viewWeight;
+            default -> throw new IllegalArgumentException("Unknown activity type: " + activityType);
+        };
+    }
+
+    private record Scored(String eventId, double score) {
+    }
+}
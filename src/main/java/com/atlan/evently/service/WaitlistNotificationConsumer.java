@@ -1,88 +1,131 @@
 package com.atlan.evently.service;
 
+import com.atlan.evently.config.RetryTopics;
+import com.atlan.evently.config.Workload;
 import com.atlan.evently.dto.events.WaitlistNotificationEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Enhanced Kafka consumer that processes waitlist notification events.
- * Sends emails, creates in-app notifications, and pushes real-time WebSocket notifications.
+ * First stage of waitlist notification delivery: stores the in-app notifications, then hands
+ * each stored event to the push and email stages ({@link NotificationDeliveryConsumer}) through
+ * their own topics. Neither a slow mail server nor a push failure holds up this stage.
  */
 @Service
+@Workload(Workload.Type.BACKGROUND)
 @RequiredArgsConstructor
 @Slf4j
 public class WaitlistNotificationConsumer {
 
-    private final EmailService emailService;
     private final NotificationService notificationService;
-    private final WebSocketNotificationService webSocketNotificationService;
+    private final EventPublisher eventPublisher;
+    private final DeadLetterPublishingRecoverer failedRecordRecoverer;
 
     /**
-     * Process waitlist notification events with triple delivery:
-     * 1. In-app notification (database)
-     * 2. Email notification  
-     * 3. Real-time WebSocket notification
-     * 
-     * @param event The waitlist notification event
-     * @param partition The Kafka partition (for debugging)
-     * @param offset The message offset (for debugging)
-     * @param acknowledgment Manual acknowledgment to ensure message is processed
+     * Process a poll of waitlist notification events: one batched insert of the in-app
+     * notifications, then one push and one email message per stored notification.
+     *
+     * <p>If the batched insert fails, the events are inserted one by one, and those that
+     * still fail move on to {@code waitlist-notification-retry-5s} (see {@link RetryTopics})
+     * without being pushed or emailed. Malformed records go straight to
+     * {@code waitlist-notification-dlt}. The poll is acknowledged once Kafka has the channel
+     * messages; if it can't take them, the container retries the poll, which may store some
+     * in-app notifications twice.
+     *
+     * @param records The polled records, in partition order
+     * @param acknowledgment Manual acknowledgment for the whole poll
      */
     @KafkaListener(
         topics = "waitlist-notification",
         groupId = "evently-consumer-group",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = "batchKafkaListenerContainerFactory"
     )
-    @Transactional
-    public void handleWaitlistNotification(
-            @Payload WaitlistNotificationEvent event,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
+    public void handleWaitlistNotifications(List<ConsumerRecord<String, Object>> records,
+                                            Acknowledgment acknowledgment) {
+        process(records);
+        acknowledgment.acknowledge();
+    }
 
-        log.info("Processing waitlist notification - user: {}, event: {}, partition: {}, offset: {}", 
-                event.getUserId(), event.getEventName(), partition, offset);
+    /**
+     * Retries notifications that failed on the main topic, once they are due. Failures move
+     * on to the next retry topic and finally to {@code waitlist-notification-dlt}.
+     */
+    @KafkaListener(
+        topics = "waitlist-notification" + RetryTopics.RETRY_5S,
+        groupId = "evently-consumer-group",
+        containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    @KafkaListener(
+        topics = "waitlist-notification" + RetryTopics.RETRY_1M,
+        groupId = "evently-consumer-group",
+        containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void retryWaitlistNotifications(List<ConsumerRecord<String, Object>> records,
+                                           Acknowledgment acknowledgment) {
+        long now = System.currentTimeMillis();
+        int due = RetryTopics.dueCount(records, now);
+        process(records.subList(0, due));
+        if (due < records.size()) {
+            // Commit what was processed and come back when the next record is due
+            acknowledgment.nack(due, Duration.ofMillis(RetryTopics.dueAt(records.get(due)) - now));
+        } else {
+            acknowledgment.acknowledge();
+        }
+    }
 
-        try {
-            // 1. Create in-app notification (most reliable)
-            notificationService.createWaitlistNotification(event);
-            
-            // 2. Send real-time WebSocket notification (for immediate user experience)
-            try {
-                webSocketNotificationService.sendWaitlistNotification(event);
-            } catch (Exception wsError) {
-                log.debug("WebSocket notification failed for user {}: {}", 
-                        event.getUserId(), wsError.getMessage());
+    private void process(List<ConsumerRecord<String, Object>> records) {
+        List<ConsumerRecord<String, Object>> valid = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, Object> record : records) {
+            if (record.value() instanceof WaitlistNotificationEvent) {
+                valid.add(record);
+            } else {
+                log.error("Malformed waitlist notification at partition {}, offset {}",
+                        record.partition(), record.offset());
+                failedRecordRecoverer.accept(record,
+                        new IllegalArgumentException("Not a waitlist notification: " + record.value()));
             }
-            
-            // 3. Send email notification (can fail without affecting others)
-            try {
-                emailService.sendWaitlistNotificationEmail(event);
-            } catch (Exception emailError) {
-                log.warn("Email notification failed for user {}, but other notifications succeeded: {}", 
-                        event.getUserId(), emailError.getMessage());
+        }
+
+        // 1. Create in-app notifications (most reliable)
+        List<WaitlistNotificationEvent> stored = new ArrayList<>(valid.size());
+        try {
+            List<WaitlistNotificationEvent> events = valid.stream().map(WaitlistNotificationConsumer::event).toList();
+            notificationService.createWaitlistNotifications(events);
+            stored.addAll(events);
+        } catch (RuntimeException e) {
+            log.warn("Batched insert of {} waitlist notifications failed, retrying one by one: {}",
+                    valid.size(), e.getMessage());
+            for (ConsumerRecord<String, Object> record : valid) {
+                try {
+                    notificationService.createWaitlistNotifications(List.of(event(record)));
+                    stored.add(event(record));
+                } catch (RuntimeException recordError) {
+                    log.error("Failed to process waitlist notification for user {}: {}",
+                            event(record).getUserId(), recordError.getMessage(), recordError);
+                    failedRecordRecoverer.accept(record, recordError);
+                }
             }
-            
-            log.info("Successfully processed waitlist notification for user {} event {}", 
-                    event.getUserId(), event.getEventName());
-            
-            // Acknowledge message processing success
-            acknowledgment.acknowledge();
-            
-        } catch (Exception e) {
-            log.error("Failed to process waitlist notification for user {}: {}", 
-                    event.getUserId(), e.getMessage(), e);
-            
-            // Don't acknowledge - message will be retried
-            throw new RuntimeException("Failed to process waitlist notification", e);
         }
+
+        // 2. and 3. Push and email, each delivered by its own stage
+        eventPublisher.publishNotificationDeliveries(stored);
+
+        if (!records.isEmpty()) {
+            log.info("Processed {} waitlist notifications ({} failed)", records.size(), records.size() - stored.size());
+        }
+    }
+
+    private static WaitlistNotificationEvent event(ConsumerRecord<String, Object> record) {
+        return (WaitlistNotificationEvent) record.value();
     }
 
     /**
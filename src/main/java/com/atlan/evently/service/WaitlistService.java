@@ -1,5 +1,6 @@
 package com.atlan.evently.service;
 
+import com.atlan.evently.config.Workload;
 import com.atlan.evently.dto.events.WaitlistNotificationEvent;
 import com.atlan.evently.exception.BookingConflictException;
 import com.atlan.evently.exception.DuplicateBookingException;
@@ -8,6 +9,7 @@ import com.atlan.evently.model.Event;
 import com.atlan.evently.model.User;
 import com.atlan.evently.model.Waitlist;
 import com.atlan.evently.repository.EventRepository;
+import com.atlan.evently.repository.ProcessedCancellationRepository;
 import com.atlan.evently.repository.UserRepository;
 import com.atlan.evently.repository.WaitlistRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -62,9 +65,11 @@ import java.util.UUID;
 public class WaitlistService {
 
     private final WaitlistRepository waitlistRepository;
+    private final ProcessedCancellationRepository processedCancellationRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final EventPublisher eventPublisher;
+    private final ReplicaLagGuard replicaLagGuard;
 
     @Value("${evently.waitlist.booking-window-minutes:10}")
     private int bookingWindowMinutes;
@@ -177,6 +182,7 @@ public class WaitlistService {
                     .build();
 
             Waitlist savedEntry = waitlistRepository.save(waitlistEntry);
+            replicaLagGuard.recordWrite(userId);
             
             log.info("User {} joined waitlist for event {} at position {}", 
                     userId, eventId, nextPosition);
@@ -199,6 +205,36 @@ public class WaitlistService {
         }
     }
 
+    /**
+     * Offers the seats freed by cancelled bookings to the waitlist, once per booking.
+     *
+     * <p>Cancellations are delivered at least once (outbox retries, retry topics, dead-letter
+     * replays). Each booking id is recorded in {@code processed_cancellations} in the same
+     * transaction as the offers it leads to, so a redelivered cancellation frees no seats.
+     * The event row is locked first, which also serializes concurrent deliveries.
+     *
+     * @param eventId UUID of the event the bookings belonged to
+     * @param seatsByBooking seats freed per cancelled booking id
+     * @return seats offered to the waitlist; 0 if every cancellation was already processed
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int processCancelledBookings(UUID eventId, Map<UUID, Integer> seatsByBooking) {
+        eventRepository.findByIdForUpdate(eventId);
+
+        int seats = 0;
+        for (Map.Entry<UUID, Integer> cancellation : seatsByBooking.entrySet()) {
+            if (processedCancellationRepository.markProcessed(cancellation.getKey(), eventId) == 1) {
+                seats += cancellation.getValue();
+            } else {
+                log.info("Cancellation of booking {} already processed, skipping", cancellation.getKey());
+            }
+        }
+        if (seats > 0) {
+            processAvailableSeat(eventId, seats);
+        }
+        return seats;
+    }
+
     /**
      * Processes newly available seats and notifies waitlisted users.
      * 
@@ -230,6 +266,9 @@ public class WaitlistService {
     public void processAvailableSeat(UUID eventId, int quantity) {
         log.info("Processing {} available seats for event {}", quantity, eventId);
 
+        // Serialize with other writers of this event so its outbox messages commit in id order
+        eventRepository.findByIdForUpdate(eventId);
+
         // Notify waitlisted users (one at a time to maintain FIFO order)
         for (int i = 0; i < quantity; i++) {
             Optional<Waitlist> nextInLine = waitlistRepository.findNextInLine(eventId);
@@ -277,10 +316,10 @@ public class WaitlistService {
             waitlistEntry.getEvent().getStartsAt(),
             waitlistEntry.getEvent().getAvailableSeats(),
             waitlistEntry.getExpiresAt(),
-            String.format("http://localhost:8080/api/v1/bookings?eventId=%s&userId=%s&waitlistId=%s",
-                    waitlistEntry.getEvent().getId(),
-                    waitlistEntry.getUser().getId(),
-                    waitlistEntry.getId())
+            WaitlistNotificationEvent.bookingUrl(
+                    waitlistEntry.getEvent().getId().toString(),
+                    waitlistEntry.getUser().getId().toString(),
+                    waitlistEntry.getId().toString())
         );
 
         // Publish to Kafka for email/WebSocket notifications
@@ -304,6 +343,7 @@ public class WaitlistService {
     @Transactional(readOnly = true)
     public List<WaitlistResponse> getUserWaitlistEntries(String userId) {
         UUID userUuid = parseUUID(userId, "User ID");
+        replicaLagGuard.readingFor(userId);
         List<Waitlist> entries = waitlistRepository.findByUserIdOrderByCreatedAtDesc(userUuid);
         
         return entries.stream()
@@ -329,6 +369,7 @@ public class WaitlistService {
     public WaitlistResponse getWaitlistPosition(String userId, String eventId) {
         UUID userUuid = parseUUID(userId, "User ID");
         UUID eventUuid = parseUUID(eventId, "Event ID");
+        replicaLagGuard.readingFor(userId);
         
         Waitlist entry = waitlistRepository.findActiveWaitlistEntry(userUuid, eventUuid)
                 .orElseThrow(() -> new EventException("Not on waitlist", 
@@ -426,6 +467,7 @@ public class WaitlistService {
      * 
      * @since 1.0.0
      */
+    @Workload(Workload.Type.BACKGROUND)
     @Scheduled(fixedRate = 300000) // 5 minutes
     @Transactional
     public void cleanupExpiredNotifications() {
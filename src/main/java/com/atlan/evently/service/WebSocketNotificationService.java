@@ -1,6 +1,7 @@
 package com.atlan.evently.service;
 
 import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import com.atlan.evently.template.NotificationTemplates;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -29,9 +30,7 @@ public class WebSocketNotificationService {
             Map<String, Object> notification = Map.of(
                 "type", "WAITLIST_SEAT_AVAILABLE",
                 "title", "Seat Available!",
-                "message", String.format("A seat is now available for '%s'. Book within %d minutes!", 
-                        event.getEventName(), 
-                        java.time.Duration.between(java.time.ZonedDateTime.now(), event.getExpiresAt()).toMinutes()),
+                "message", NotificationTemplates.SEAT_AVAILABLE.render(event),
                 "eventId", event.getEventId(),
                 "eventName", event.getEventName(),
                 "bookingUrl", event.getBookingUrl(),
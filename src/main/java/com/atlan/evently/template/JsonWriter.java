@@ -0,0 +1,74 @@
+package com.atlan.evently.template;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes small flat JSON objects, such as notification metadata, with Jackson's streaming
+ * generator: values are escaped, and the output goes into a per-thread buffer that is reused
+ * across calls, with no object tree or mapper in between.
+ */
+public final class JsonWriter {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final ThreadLocal<BuilderWriter> BUFFER = ThreadLocal.withInitial(BuilderWriter::new);
+
+    private JsonWriter() {
+    }
+
+    /**
+     * A JSON object of string fields, given as name, value, name, value... A {@code null}
+     * value is written as JSON {@code null}.
+     */
+    public static String object(String... namesAndValues) {
+        if (namesAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Expected name/value pairs");
+        }
+        BuilderWriter out = BUFFER.get();
+        out.buffer.setLength(0);
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            for (int i = 0; i < namesAndValues.length; i += 2) {
+                generator.writeStringField(namesAndValues[i], namesAndValues[i + 1]);
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            // Writing to memory
+            throw new UncheckedIOException(e);
+        }
+        return out.buffer.toString();
+    }
+
+    // An unsynchronized StringWriter
+    private static final class BuilderWriter extends Writer {
+
+        private final StringBuilder buffer = new StringBuilder(256);
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            buffer.append(text, offset, offset + length);
+        }
+
+        @Override
+        public void write(int c) {
+            buffer.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.atlan.evently.template;
+
+import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import static com.atlan.evently.template.Template.value;
+
+/**
+ * Message texts shared by in-app and real-time notifications.
+ */
+public final class NotificationTemplates {
+
+    public static final Template<WaitlistNotificationEvent> SEAT_AVAILABLE = Template.<WaitlistNotificationEvent>compile(
+            "A seat is now available for '{{eventName}}'. Book within {{minutesLeft}} minutes!",
+            Map.of("eventName", value(WaitlistNotificationEvent::getEventName),
+                    "minutesLeft", (event, out) -> out.append(minutesLeft(event))));
+
+    public static final Template<Booking> BOOKING_CONFIRMED = Template.compile(
+            "Your booking for '{{eventName}}' has been confirmed. Booking ID: {{bookingId}}",
+            Booking.BINDINGS);
+
+    public static final Template<Booking> BOOKING_CANCELLED = Template.compile(
+            "Your booking for '{{eventName}}' has been cancelled. Booking ID: {{bookingId}}",
+            Booking.BINDINGS);
+
+    public static final Template<Integer> DIGEST_TITLE = Template.compile(
+            "You have {{count}} updates", Map.of("count", (count, out) -> out.append(count)));
+
+    private NotificationTemplates() {
+    }
+
+    /**
+     * Whole minutes until the offer expires, at least 1.
+     */
+    public static long minutesLeft(WaitlistNotificationEvent event) {
+        return Math.max(1, Duration.between(ZonedDateTime.now(), event.getExpiresAt()).toMinutes());
+    }
+
+    public record Booking(String eventName, String bookingId) {
+
+        private static final Map<String, Template.Binding<Booking>> BINDINGS = Map.of(
+                "eventName", value(Booking::eventName),
+                "bookingId", value(Booking::bookingId));
+    }
+}
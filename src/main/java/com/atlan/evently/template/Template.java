@@ -0,0 +1,119 @@
+package com.atlan.evently.template;
+
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A text template compiled once into a flat list of literal and value nodes.
+ *
+ * <p>Placeholders are written {@code {{name}}} and each must have a {@link Binding} when the
+ * template is compiled, so a typo fails at startup rather than in a sent message. Rendering
+ * walks the nodes and appends straight into a per-thread buffer that is reused across
+ * messages: no format string is parsed and no intermediate strings are built, which leaves
+ * the returned {@code String} as the only allocation for most templates.
+ *
+ * <p>Compiled templates are immutable and safe to share; keep them in static fields.
+ *
+ * @param <T> the model a message is rendered from
+ */
+public final class Template<T> {
+
+    // Buffers that grew past this are dropped after use instead of being kept per thread
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final Binding<T>[] nodes;
+
+    private Template(Binding<T>[] nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Parses {@code source} and resolves each placeholder against {@code bindings}.
+     *
+     * @throws IllegalArgumentException if a placeholder is unclosed or has no binding
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Template<T> compile(String source, Map<String, Binding<T>> bindings) {
+        List<Binding<T>> nodes = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                nodes.add(literal(source.substring(position)));
+                break;
+            }
+            if (open > position) {
+                nodes.add(literal(source.substring(position, open)));
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String name = source.substring(open + 2, close).trim();
+            Binding<T> binding = bindings.get(name);
+            if (binding == null) {
+                throw new IllegalArgumentException("No binding for placeholder {{" + name + "}}");
+            }
+            nodes.add(binding);
+            position = close + 2;
+        }
+        return new Template<>(nodes.toArray(Binding[]::new));
+    }
+
+    public String render(T model) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        renderTo(model, out);
+        String rendered = out.toString();
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    public void renderTo(T model, StringBuilder out) {
+        for (Binding<T> node : nodes) {
+            node.appendTo(model, out);
+        }
+    }
+
+    // ========== BINDINGS ==========
+
+    /**
+     * Appends one placeholder's value for a model.
+     */
+    @FunctionalInterface
+    public interface Binding<T> {
+        void appendTo(T model, StringBuilder out);
+    }
+
+    /**
+     * A value appended as {@link StringBuilder#append(Object)} would, {@code "null"} included.
+     */
+    public static <T> Binding<T> value(Function<T, ?> getter) {
+        return (model, out) -> out.append(getter.apply(model));
+    }
+
+    /**
+     * A date/time formatted straight into the output.
+     */
+    public static <T> Binding<T> time(Function<T, ? extends TemporalAccessor> getter, DateTimeFormatter formatter) {
+        return (model, out) -> {
+            TemporalAccessor time = getter.apply(model);
+            if (time == null) {
+                out.append("null");
+            } else {
+                formatter.formatTo(time, out);
+            }
+        };
+    }
+
+    private static <T> Binding<T> literal(String text) {
+        return (model, out) -> out.append(text);
+    }
+}
@@ -0,0 +1,123 @@
+package com.atlan.evently.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Buffers items per key and hands each key's items over together.
+ *
+ * <p>The first item for a key opens a window of fixed length; when it closes, everything
+ * added in the meantime is passed to the flush callback in one call, in the order added. A
+ * key that reaches {@code maxItems} is flushed at once. With a zero window, {@link #add}
+ * flushes every item on its own, on the caller's thread.
+ *
+ * <p>Buffered items live in memory only: {@link #close} flushes them, but a crash loses them.
+ * Flushes run on one background thread; a failing callback is logged and its items dropped.
+ * Items added after {@link #close} are flushed on their own, on the caller's thread.
+ */
+@Slf4j
+public class Coalescer<K, V> implements AutoCloseable {
+
+    private final Duration window;
+    private final int maxItems;
+    private final BiConsumer<K, List<V>> flush;
+    private final Map<K, Buffer<V>> buffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+
+    public Coalescer(String name, Duration window, int maxItems, BiConsumer<K, List<V>> flush) {
+        this.window = window;
+        this.maxItems = maxItems;
+        this.flush = flush;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void add(K key, V item) {
+        if (window.isZero() || closed) {
+            deliver(key, List.of(item));
+            return;
+        }
+        boolean[] full = {false};
+        Buffer<V> buffer;
+        try {
+            buffer = buffers.compute(key, (k, current) -> {
+                if (current == null) {
+                    Buffer<V> opened = new Buffer<>();
+                    opened.timer = scheduler.schedule(() -> flush(k, opened), window.toMillis(), TimeUnit.MILLISECONDS);
+                    current = opened;
+                }
+                current.items.add(item);
+                full[0] = current.items.size() >= maxItems;
+                return current;
+            });
+        } catch (RejectedExecutionException e) {
+            // Closed while opening a buffer; nothing was added
+            deliver(key, List.of(item));
+            return;
+        }
+        if (full[0]) {
+            try {
+                scheduler.execute(() -> flush(key, buffer));
+            } catch (RejectedExecutionException e) {
+                flush(key, buffer);
+            }
+        }
+    }
+
+    /**
+     * Keys with buffered items.
+     */
+    public int pendingKeys() {
+        return buffers.size();
+    }
+
+    // Only the buffer the caller scheduled: a timer outliving an early flush mustn't cut the next window short
+    private void flush(K key, Buffer<V> buffer) {
+        if (buffers.remove(key, buffer)) {
+            buffer.timer.cancel(false);
+            deliver(key, buffer.items);
+        }
+    }
+
+    private void deliver(K key, List<V> items) {
+        try {
+            flush.accept(key, items);
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} coalesced items for {}: {}", items.size(), key, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Flushes everything buffered and stops the background thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        for (Map.Entry<K, Buffer<V>> entry : List.copyOf(buffers.entrySet())) {
+            flush(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // Items for one key and the timer that closes their window; both guarded by the map entry
+    private static final class Buffer<V> {
+
+        private final List<V> items = new ArrayList<>();
+        private ScheduledFuture<?> timer;
+    }
+}
@@ -0,0 +1,69 @@
+package com.atlan.evently.util;
+
+import java.util.Arrays;
+
+/**
+ * Sliding-window counter whose contributions decay exponentially with age.
+ *
+ * <p>The window is a ring of fixed-width time buckets. A bucket is reused once the window
+ * has slid past it, so activity older than {@code bucketCount * bucketMillis} drops out
+ * entirely; inside the window each bucket is weighted by {@code 2^(-age / halfLife)}
+ * measured from its midpoint. Timestamps are the activity's own, so replaying a log
+ * yields the same scores as live consumption.
+ */
+public class DecayedSlidingWindow {
+
+    private final long bucketMillis;
+    private final double halfLifeMillis;
+    private final long[] bucketStarts;
+    private final double[] bucketSums;
+
+    public DecayedSlidingWindow(long bucketMillis, int bucketCount, long halfLifeMillis) {
+        this.bucketMillis = bucketMillis;
+        this.halfLifeMillis = halfLifeMillis;
+        this.bucketStarts = new long[bucketCount];
+        this.bucketSums = new double[bucketCount];
+        Arrays.fill(bucketStarts, Long.MIN_VALUE);
+    }
+
+    public synchronized void add(long timestampMillis, double weight) {
+        long start = timestampMillis - Math.floorMod(timestampMillis, bucketMillis);
+        int index = (int) Math.floorMod(start / bucketMillis, (long) bucketStarts.length);
+        if (bucketStarts[index] != start) {
+            if (start < bucketStarts[index]) {
+                return; // Older than the window: the slot already holds a newer bucket
+            }
+            bucketStarts[index] = start;
+            bucketSums[index] = 0;
+        }
+        bucketSums[index] += weight;
+    }
+
+    /**
+     * Decayed sum of every bucket still inside the window at {@code nowMillis}.
+     */
+    public synchronized double score(long nowMillis) {
+        long windowStart = nowMillis - bucketMillis * bucketStarts.length;
+        double total = 0;
+        for (int i = 0; i < bucketStarts.length; i++) {
+            if (bucketStarts[i] >= windowStart && bucketSums[i] != 0) {
+                double age = Math.max(0, nowMillis - (bucketStarts[i] + bucketMillis / 2.0));
+                total += bucketSums[i] * Math.pow(2, -age / halfLifeMillis);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * True when no bucket is inside the window any more, i.e. the counter can be dropped.
+     */
+    public synchronized boolean isExpired(long nowMillis) {
+        long windowStart = nowMillis - bucketMillis * bucketStarts.length;
+        for (long start : bucketStarts) {
+            if (start >= windowStart) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
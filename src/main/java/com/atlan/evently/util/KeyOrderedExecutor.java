@@ -0,0 +1,69 @@
+package com.atlan.evently.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs grouped work in parallel across keys and in order within a key.
+ *
+ * <p>{@link #forEachKey} hands each key's items to one task, so they are processed in list
+ * order on a single thread, while different keys run concurrently on the executor. It
+ * returns once every key is done, which lets a Kafka listener process one poll with more
+ * threads than the topic has partitions and still acknowledge it as a whole, without
+ * reordering records that share a key.
+ */
+public class KeyOrderedExecutor {
+
+    private final Executor executor;
+
+    public KeyOrderedExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Calls {@code task} once per key and waits for all of them. The first key's task runs on
+     * the calling thread. If tasks throw, the first failure is rethrown after all have finished.
+     */
+    public <K, T> void forEachKey(Map<K, List<T>> groups, BiConsumer<K, List<T>> task) {
+        if (groups.isEmpty()) {
+            return;
+        }
+        Iterator<Map.Entry<K, List<T>>> entries = groups.entrySet().iterator();
+        Map.Entry<K, List<T>> first = entries.next();
+
+        List<CompletableFuture<Void>> others = new ArrayList<>(groups.size() - 1);
+        while (entries.hasNext()) {
+            Map.Entry<K, List<T>> entry = entries.next();
+            others.add(CompletableFuture.runAsync(() -> task.accept(entry.getKey(), entry.getValue()), executor));
+        }
+
+        RuntimeException failure = null;
+        try {
+            task.accept(first.getKey(), first.getValue());
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (CompletableFuture<Void> other : others) {
+            try {
+                other.join();
+            } catch (CompletionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException runtime
+                        ? runtime : new IllegalStateException(e.getCause());
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
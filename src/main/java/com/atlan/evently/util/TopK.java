@@ -0,0 +1,61 @@
+package com.atlan.evently.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+
+/**
+ * Keeps the {@code k} greatest items seen, by {@code comparator}, in a bounded min-heap.
+ *
+ * <p>Offering n items costs O(n log k) time and O(k) memory, against O(n log n) and O(n)
+ * for sorting everything and keeping the head. Not thread-safe; use {@link #collector}
+ * for parallel streams.
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+
+    public TopK(int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.max(1, k), comparator);
+    }
+
+    public void offer(T item) {
+        if (heap.size() < k) {
+            heap.offer(item);
+        } else if (k > 0 && comparator.compare(heap.peek(), item) < 0) {
+            heap.poll();
+            heap.offer(item);
+        }
+    }
+
+    public TopK<T> merge(TopK<T> other) {
+        other.heap.forEach(this::offer);
+        return this;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * The retained items, greatest first.
+     */
+    public List<T> toList() {
+        List<T> items = new ArrayList<>(heap);
+        items.sort(comparator.reversed());
+        return items;
+    }
+
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> comparator) {
+        return Collector.of(() -> new TopK<T>(k, comparator), TopK::offer, TopK::merge, TopK::toList);
+    }
+}
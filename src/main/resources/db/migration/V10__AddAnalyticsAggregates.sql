@@ -0,0 +1,97 @@
+-- Running analytics aggregates so the admin dashboard never scans events or bookings.
+-- Triggers keep them current in the writing transaction, covering every write path
+-- including the bulk seat UPDATEs; AnalyticsService.reconcile() recomputes them on demand.
+
+-- Confirmed bookings per event (popular events, per-event utilization)
+ALTER TABLE events ADD COLUMN confirmed_booking_count BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE events e SET confirmed_booking_count =
+    (SELECT COUNT(*) FROM bookings b WHERE b.event_id = e.id AND b.status = 'CONFIRMED');
+
+CREATE INDEX idx_events_confirmed_booking_count ON events (confirmed_booking_count DESC);
+
+-- Global totals, striped over 16 rows per counter so concurrent bookings don't queue on one row.
+-- A counter's value is the SUM over its shards.
+CREATE TABLE analytics_counters (
+    name VARCHAR(50) NOT NULL,
+    shard SMALLINT NOT NULL,
+    total BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (name, shard)
+);
+
+INSERT INTO analytics_counters (name, shard, total)
+SELECT 'events', 0, COUNT(*) FROM events
+UNION ALL SELECT 'capacity', 0, COALESCE(SUM(capacity), 0) FROM events
+UNION ALL SELECT 'sold_out_events', 0, COUNT(*) FROM events WHERE available_seats = 0
+UNION ALL SELECT 'bookings', 0, COUNT(*) FROM bookings;
+
+-- One shard per transaction, so a transaction touching several counters can't deadlock another
+CREATE OR REPLACE FUNCTION bump_analytics_counter(counter_name VARCHAR, delta BIGINT)
+RETURNS VOID AS $$
+BEGIN
+    IF delta <> 0 THEN
+        INSERT INTO analytics_counters (name, shard, total)
+        VALUES (counter_name, (txid_current() % 16)::SMALLINT, delta)
+        ON CONFLICT (name, shard) DO UPDATE SET total = analytics_counters.total + EXCLUDED.total;
+    END IF;
+END;
+$$ language 'plpgsql';
+
+CREATE OR REPLACE FUNCTION track_event_aggregates()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM bump_analytics_counter('events', 1);
+        PERFORM bump_analytics_counter('capacity', NEW.capacity);
+        PERFORM bump_analytics_counter('sold_out_events', CASE WHEN NEW.available_seats = 0 THEN 1 ELSE 0 END);
+        RETURN NEW;
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM bump_analytics_counter('capacity', NEW.capacity - OLD.capacity);
+        PERFORM bump_analytics_counter('sold_out_events',
+            (CASE WHEN NEW.available_seats = 0 THEN 1 ELSE 0 END) - (CASE WHEN OLD.available_seats = 0 THEN 1 ELSE 0 END));
+        RETURN NEW;
+    ELSE
+        PERFORM bump_analytics_counter('events', -1);
+        PERFORM bump_analytics_counter('capacity', -OLD.capacity);
+        PERFORM bump_analytics_counter('sold_out_events', CASE WHEN OLD.available_seats = 0 THEN -1 ELSE 0 END);
+        RETURN OLD;
+    END IF;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER track_events_aggregates
+    AFTER INSERT OR UPDATE OF capacity, available_seats OR DELETE ON events
+    FOR EACH ROW
+    EXECUTE FUNCTION track_event_aggregates();
+
+-- The event row is already locked by the seat reservation, so the per-event count adds no contention
+CREATE OR REPLACE FUNCTION track_booking_aggregates()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- Hibernate rewrites every column on save, so most updates change nothing we track
+    IF TG_OP = 'UPDATE' AND OLD.status = NEW.status AND OLD.event_id = NEW.event_id THEN
+        RETURN NEW;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.status = 'CONFIRMED' THEN
+        UPDATE events SET confirmed_booking_count = confirmed_booking_count - 1 WHERE id = OLD.event_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.status = 'CONFIRMED' THEN
+        UPDATE events SET confirmed_booking_count = confirmed_booking_count + 1 WHERE id = NEW.event_id;
+    END IF;
+
+    IF TG_OP = 'INSERT' THEN
+        PERFORM bump_analytics_counter('bookings', 1);
+        RETURN NEW;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM bump_analytics_counter('bookings', -1);
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER track_bookings_aggregates
+    AFTER INSERT OR UPDATE OF status, event_id OR DELETE ON bookings
+    FOR EACH ROW
+    EXECUTE FUNCTION track_booking_aggregates();
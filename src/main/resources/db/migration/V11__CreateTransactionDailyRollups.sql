@@ -0,0 +1,19 @@
+-- Per-day transaction aggregates so payment analytics read a few hundred rows instead of
+-- scanning transactions. Maintained by TransactionService on create and status change;
+-- TransactionRollupService.backfill() rebuilds them from transactions.
+CREATE TABLE transaction_daily_rollups (
+    day DATE NOT NULL,                      -- UTC date of the transaction's created_at
+    status VARCHAR(20) NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    payment_method VARCHAR(50) NOT NULL,    -- '' when the transaction has none
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, status, transaction_type, payment_method)
+);
+
+CREATE INDEX idx_transaction_rollups_status_day ON transaction_daily_rollups (status, day);
+
+INSERT INTO transaction_daily_rollups (day, status, transaction_type, payment_method, transaction_count, total_amount)
+SELECT (created_at AT TIME ZONE 'UTC')::DATE, status, transaction_type, COALESCE(payment_method, ''), COUNT(*), SUM(amount)
+FROM transactions
+GROUP BY 1, 2, 3, 4;
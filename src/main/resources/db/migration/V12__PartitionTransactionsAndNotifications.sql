@@ -0,0 +1,106 @@
+-- V12__PartitionTransactionsAndNotifications.sql
+-- Monthly range partitioning on created_at for transactions and notifications, so date-range
+-- reports prune to the months they cover and old data leaves by dropping or detaching a
+-- partition instead of a DELETE. PartitionMaintenanceService creates future partitions and
+-- retires old ones.
+--
+-- bookings stays unpartitioned: a partitioned table's unique constraints must include the
+-- partition key, which would defeat uk_user_event_booking, uk_bookings_idempotency_key and
+-- the transactions -> bookings foreign key.
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+-- Creates the partition of <parent> for the month starting at month_start (idempotent).
+-- Partitions are named <parent>_pYYYY_MM and bounded in UTC.
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    first_day DATE := date_trunc('month', month_start::TIMESTAMP)::DATE;
+    partition_name TEXT := parent || '_p' || to_char(first_day, 'YYYY_MM');
+    range_start TEXT := to_char(first_day, 'YYYY-MM-DD') || ' 00:00:00+00';
+    range_end TEXT := to_char(first_day + INTERVAL '1 month', 'YYYY-MM-DD') || ' 00:00:00+00';
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, parent, range_start, range_end);
+    END IF;
+    RETURN partition_name;
+END;
+$$ language 'plpgsql';
+
+-- ========== TRANSACTIONS ==========
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+
+CREATE TABLE transactions (LIKE transactions_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (created_at);
+
+-- Rows outside every monthly partition land here; maintenance keeps it empty
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at) AT TIME ZONE 'UTC'), date_trunc('month', NOW() AT TIME ZONE 'UTC'))
+      INTO month_start FROM transactions_unpartitioned;
+    WHILE month_start <= date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '3 months' LOOP
+        PERFORM create_monthly_partition('transactions', month_start);
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO transactions SELECT * FROM transactions_unpartitioned;
+DROP TABLE transactions_unpartitioned;
+
+ALTER TABLE transactions ADD CONSTRAINT pk_transactions PRIMARY KEY (id, created_at);
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_booking
+    FOREIGN KEY (booking_id) REFERENCES bookings(id) ON DELETE CASCADE;
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users(id);
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_event FOREIGN KEY (event_id) REFERENCES events(id);
+
+CREATE INDEX idx_transactions_booking_id ON transactions(booking_id);
+CREATE INDEX idx_transactions_user_id ON transactions(user_id);
+CREATE INDEX idx_transactions_event_id ON transactions(event_id);
+CREATE INDEX idx_transactions_status ON transactions(status);
+CREATE INDEX idx_transactions_type ON transactions(transaction_type);
+CREATE INDEX idx_transactions_created_at ON transactions(created_at);
+
+-- ========== NOTIFICATIONS ==========
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+
+CREATE TABLE notifications (LIKE notifications_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (created_at);
+
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at) AT TIME ZONE 'UTC'), date_trunc('month', NOW() AT TIME ZONE 'UTC'))
+      INTO month_start FROM notifications_unpartitioned;
+    WHILE month_start <= date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '3 months' LOOP
+        PERFORM create_monthly_partition('notifications', month_start);
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO notifications SELECT * FROM notifications_unpartitioned;
+DROP TABLE notifications_unpartitioned;
+
+ALTER TABLE notifications ADD CONSTRAINT pk_notifications PRIMARY KEY (id, created_at);
+ALTER TABLE notifications ADD CONSTRAINT fk_notifications_user
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+
+CREATE INDEX idx_notifications_user_read ON notifications (user_id, is_read);
+CREATE INDEX idx_notifications_created_at ON notifications (created_at);
+CREATE INDEX idx_notifications_expires_at ON notifications (expires_at) WHERE expires_at IS NOT NULL;
+CREATE INDEX idx_notifications_type ON notifications (type);
+
+COMMENT ON TABLE notifications IS 'In-app notifications for users (monthly partitions on created_at)';
+COMMENT ON COLUMN notifications.type IS 'Type of notification (BOOKING_CONFIRMED, WAITLIST_SEAT_AVAILABLE, etc.)';
+COMMENT ON COLUMN notifications.action_url IS 'URL to navigate when notification is clicked';
+COMMENT ON COLUMN notifications.expires_at IS 'When notification expires (for time-sensitive notifications)';
+COMMENT ON COLUMN notifications.metadata IS 'JSON metadata for additional notification data';
@@ -0,0 +1,8 @@
+-- V13__AddSnapshotWatermarkIndexes.sql
+-- Range scans for the incremental analytics snapshot export (AnalyticsSnapshotService),
+-- which reads each table by its watermark column: created_at for bookings and events,
+-- updated_at for transactions (they change status after insert).
+
+CREATE INDEX IF NOT EXISTS idx_bookings_created_at ON bookings (created_at);
+CREATE INDEX IF NOT EXISTS idx_events_created_at ON events (created_at);
+CREATE INDEX IF NOT EXISTS idx_transactions_updated_at ON transactions (updated_at);
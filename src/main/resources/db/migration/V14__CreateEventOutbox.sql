@@ -0,0 +1,20 @@
+-- V14__CreateEventOutbox.sql
+-- Transactional outbox: EventPublisher inserts domain events here in the writing
+-- transaction, and OutboxRelay sends them to Kafka and deletes them. A message exists
+-- only if its transaction committed, and it stays until Kafka has acknowledged it.
+
+CREATE TABLE event_outbox (
+    id BIGSERIAL PRIMARY KEY,               -- send order
+    aggregate_id VARCHAR(64) NOT NULL,      -- messages of one aggregate are delivered in id order
+    topic VARCHAR(100) NOT NULL,
+    message_key VARCHAR(100),
+    payload_type VARCHAR(200) NOT NULL,     -- class of the JSON payload
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_event_outbox_aggregate ON event_outbox (aggregate_id, id);
+
+COMMENT ON TABLE event_outbox IS 'Pending Kafka messages; rows are deleted once delivered';
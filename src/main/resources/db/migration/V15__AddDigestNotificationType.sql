@@ -0,0 +1,6 @@
+-- V15__AddDigestNotificationType.sql
+-- Allow DIGEST notifications: several booking notifications of one user merged into one row
+
+ALTER TABLE notifications DROP CONSTRAINT IF EXISTS chk_notification_type_valid;
+ALTER TABLE notifications ADD CONSTRAINT chk_notification_type_valid
+    CHECK (type IN ('BOOKING_CONFIRMED', 'BOOKING_CANCELLED', 'WAITLIST_SEAT_AVAILABLE', 'EVENT_UPDATED', 'GENERAL', 'DIGEST'));
@@ -0,0 +1,8 @@
+-- V16__AddOutboxParking.sql
+-- Park outbox messages that keep failing for reasons of their own (e.g. an undecodable
+-- payload), so they stop blocking the later messages of their aggregate. Parked rows stay
+-- for inspection; clearing parked_at queues a row again.
+
+ALTER TABLE event_outbox ADD COLUMN parked_at TIMESTAMP WITH TIME ZONE;
+
+COMMENT ON COLUMN event_outbox.parked_at IS 'Set when the relay gave up on the message; NULL while pending';
@@ -0,0 +1,12 @@
+-- V17__CreateProcessedCancellations.sql
+-- Booking cancellations whose seats have been offered to the waitlist. Cancellations reach
+-- the waitlist at least once (outbox retries, retry topics, dead-letter replays); a row here
+-- makes later deliveries of the same cancellation a no-op, so a freed seat is offered once.
+
+CREATE TABLE processed_cancellations (
+    booking_id UUID PRIMARY KEY,
+    event_id UUID NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    processed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE processed_cancellations IS 'Cancellations already handed to the waitlist; inserted in the same transaction';
@@ -0,0 +1,19 @@
+-- V18__CreatePendingNotifications.sql
+-- In-app notifications waiting to be merged into a user's digest. NotificationService
+-- inserts them in the writing transaction and a scheduled job turns each user's rows into
+-- one notification once the digest window closes, so a restart or crash loses nothing.
+
+CREATE TABLE pending_notifications (
+    id BIGSERIAL PRIMARY KEY,               -- digest order
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    action_url VARCHAR(500),
+    metadata TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_pending_notifications_user ON pending_notifications (user_id, id);
+
+COMMENT ON TABLE pending_notifications IS 'Digest items not yet stored as notifications; rows are deleted once merged';
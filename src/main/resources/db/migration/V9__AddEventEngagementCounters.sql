@@ -0,0 +1,7 @@
+-- Denormalized like/comment counters so listings never load social collections
+ALTER TABLE events ADD COLUMN like_count BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE events ADD COLUMN comment_count BIGINT DEFAULT 0 NOT NULL;
+
+-- Backfill from existing rows
+UPDATE events e SET like_count = (SELECT COUNT(*) FROM event_likes l WHERE l.event_id = e.id);
+UPDATE events e SET comment_count = (SELECT COUNT(*) FROM event_comments c WHERE c.event_id = e.id);
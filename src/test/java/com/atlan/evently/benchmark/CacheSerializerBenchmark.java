@@ -0,0 +1,124 @@
+package com.atlan.evently.benchmark;
+
+import com.atlan.evently.cache.CachedValue;
+import com.atlan.evently.cache.CompactCacheSerializer;
+import com.atlan.evently.dto.EventResponse;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of the Redis cache value codecs for a cached listing
+ * ({@code List<EventResponse>} in a {@link CachedValue} envelope).
+ *
+ * <p>Run with {@code main}; payload sizes for each codec are printed before the benchmark starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int events;
+
+    @Param({"json", "compact", "compact-lz4"})
+    private String codec;
+
+    private RedisSerializer<Object> serializer;
+    private CachedValue value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = serializer(codec);
+        value = listing(events);
+        encoded = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    static RedisSerializer<Object> serializer(String codec) {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(BasicPolymorphicTypeValidator.builder().allowIfSubType(Object.class).build(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer(mapper);
+        return switch (codec) {
+            case "json" -> json;
+            case "compact" -> new CompactCacheSerializer(json, 0);
+            case "compact-lz4" -> new CompactCacheSerializer(json, 1024);
+            default -> throw new IllegalArgumentException(codec);
+        };
+    }
+
+    static CachedValue listing(int size) {
+        List<EventResponse> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            EventResponse event = new EventResponse();
+            event.setEventId(UUID.randomUUID().toString());
+            event.setName("Tech Conference " + i);
+            event.setDescription("Two days of talks and workshops on distributed systems and data engineering.");
+            event.setVenue("Bangalore International Exhibition Centre");
+            event.setTags(List.of("tech", "conference", "networking"));
+            event.setIsOnline(false);
+            event.setStartTime(ZonedDateTime.of(2026, 12, 1, 9, 0, 0, 0, ZoneId.of("UTC")).plusDays(i));
+            event.setEndTime(event.getStartTime().plusHours(8));
+            event.setCapacity(1000);
+            event.setAvailableSeats(1000 - i);
+            event.setBookedSeats(i);
+            event.setTicketPrice(new BigDecimal("1499.00"));
+            EventResponse.EventCategoryResponse category = new EventResponse.EventCategoryResponse();
+            category.setId(UUID.randomUUID().toString());
+            category.setName("Technology");
+            category.setColorCode("#3498DB");
+            category.setIconName("laptop");
+            event.setCategory(category);
+            event.setLikeCount(25L + i);
+            event.setCommentCount(4L + i);
+            event.setUtilizationPercentage(i / 10.0);
+            event.setIsActive(true);
+            event.setIsSoldOut(false);
+            event.setIsLive(false);
+            event.setHasEnded(false);
+            event.setCreatedAt(ZonedDateTime.of(2026, 10, 1, 9, 0, 0, 0, ZoneId.of("UTC")));
+            list.add(event);
+        }
+        return new CachedValue(list, 35, System.currentTimeMillis() + 300_000);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int size : new int[]{1, 20, 100}) {
+            for (String codec : new String[]{"json", "compact", "compact-lz4"}) {
+                System.out.printf("%-12s %4d events: %7d bytes%n",
+                        codec, size, serializer(codec).serialize(listing(size)).length);
+            }
+        }
+        new Runner(new OptionsBuilder().include(CacheSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
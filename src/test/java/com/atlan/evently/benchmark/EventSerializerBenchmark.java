@@ -0,0 +1,107 @@
+package com.atlan.evently.benchmark;
+
+import com.atlan.evently.dto.events.BookingCancelledEvent;
+import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import com.atlan.evently.messaging.AvroEventDeserializer;
+import com.atlan.evently.messaging.AvroEventSerializer;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the Kafka value codecs for the domain events, JSON (the previous format,
+ * with type headers) against Avro ({@link AvroEventSerializer}).
+ *
+ * <p>Run with {@code main}; payload sizes for each codec are printed before the benchmark starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializerBenchmark {
+
+    @Param({"booking-cancelled", "waitlist-notification"})
+    private String topic;
+
+    @Param({"json", "avro"})
+    private String codec;
+
+    private Serializer<Object> serializer;
+    private Deserializer<Object> deserializer;
+    private Object event;
+    private RecordHeaders headers;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = serializer(codec);
+        deserializer = deserializer(codec);
+        event = event(topic);
+        headers = new RecordHeaders();
+        encoded = serializer.serialize(topic, headers, event);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(topic, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return deserializer.deserialize(topic, headers, encoded);
+    }
+
+    static Serializer<Object> serializer(String codec) {
+        Serializer<Object> serializer = "avro".equals(codec) ? new AvroEventSerializer() : new JsonSerializer<>();
+        serializer.configure(Map.of(), false);
+        return serializer;
+    }
+
+    static Deserializer<Object> deserializer(String codec) {
+        Deserializer<Object> deserializer = "avro".equals(codec) ? new AvroEventDeserializer() : new JsonDeserializer<>();
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.atlan.evently.dto.events"), false);
+        return deserializer;
+    }
+
+    static Object event(String topic) {
+        String eventId = UUID.randomUUID().toString();
+        String userId = UUID.randomUUID().toString();
+        ZonedDateTime now = ZonedDateTime.of(2026, 10, 19, 12, 30, 0, 0, ZoneOffset.UTC);
+        if ("booking-cancelled".equals(topic)) {
+            return new BookingCancelledEvent(UUID.randomUUID().toString(), userId, eventId, 2, now, "USER_CANCELLED");
+        }
+        String waitlistId = UUID.randomUUID().toString();
+        return new WaitlistNotificationEvent(waitlistId, userId, "asha@example.com", "Asha Rao", eventId,
+                "Tech Conference 2026", "Bangalore International Exhibition Centre", now.plusWeeks(6), 3,
+                now.plusMinutes(30), WaitlistNotificationEvent.bookingUrl(eventId, userId, waitlistId));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (String topic : new String[]{"booking-cancelled", "waitlist-notification"}) {
+            for (String codec : new String[]{"json", "avro"}) {
+                RecordHeaders headers = new RecordHeaders();
+                int value = serializer(codec).serialize(topic, headers, event(topic)).length;
+                int headerBytes = 0;
+                for (var header : headers) {
+                    headerBytes += header.key().length() + header.value().length;
+                }
+                System.out.printf("%-22s %-5s value %4d bytes, headers %3d bytes%n", topic, codec, value, headerBytes);
+            }
+        }
+        new Runner(new OptionsBuilder().include(EventSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package com.atlan.evently.benchmark;
+
+import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import com.atlan.evently.template.JsonWriter;
+import com.atlan.evently.template.Template;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.atlan.evently.template.Template.time;
+import static com.atlan.evently.template.Template.value;
+
+/**
+ * Cost of rendering a waitlist email body and its notification metadata: {@code String.format}
+ * over the whole text, as before, against a compiled {@link Template} and {@link JsonWriter}.
+ *
+ * <p>Run with {@code main}, which adds the GC profiler; compare {@code gc.alloc.rate.norm}
+ * (bytes allocated per rendered message) as well as the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderBenchmark {
+
+    private static final DateTimeFormatter EVENT_TIME = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy 'at' HH:mm");
+    private static final DateTimeFormatter EXPIRY_TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    private static final String FORMAT_BODY = """
+            Hi %s,
+            
+            Great news! A seat has become available for the event you're waiting for:
+            
+            Event: %s
+            Venue: %s
+            Date & Time: %s
+            Available Seats: %d
+            
+            Your booking window expires at %s today.
+            
+            BOOK NOW: %s
+            
+            If you don't book within the time window, we'll offer this seat to the next person on the waitlist.
+            """;
+
+    private static final Template<WaitlistNotificationEvent> TEMPLATE_BODY = Template.<WaitlistNotificationEvent>compile("""
+            Hi {{userName}},
+            
+            Great news! A seat has become available for the event you're waiting for:
+            
+            Event: {{eventName}}
+            Venue: {{eventVenue}}
+            Date & Time: {{eventStartTime}}
+            Available Seats: {{availableSeats}}
+            
+            Your booking window expires at {{expiresAt}} today.
+            
+            BOOK NOW: {{bookingUrl}}
+            
+            If you don't book within the time window, we'll offer this seat to the next person on the waitlist.
+            """, Map.of(
+                    "userName", value(WaitlistNotificationEvent::getUserName),
+                    "eventName", value(WaitlistNotificationEvent::getEventName),
+                    "eventVenue", value(WaitlistNotificationEvent::getEventVenue),
+                    "eventStartTime", time(WaitlistNotificationEvent::getEventStartTime, EVENT_TIME),
+                    "availableSeats", value(WaitlistNotificationEvent::getAvailableSeats),
+                    "expiresAt", time(WaitlistNotificationEvent::getExpiresAt, EXPIRY_TIME),
+                    "bookingUrl", value(WaitlistNotificationEvent::getBookingUrl)));
+
+    private WaitlistNotificationEvent event;
+
+    @Setup
+    public void setUp() {
+        String eventId = UUID.randomUUID().toString();
+        String userId = UUID.randomUUID().toString();
+        String waitlistId = UUID.randomUUID().toString();
+        ZonedDateTime now = ZonedDateTime.of(2026, 10, 19, 12, 30, 0, 0, ZoneOffset.UTC);
+        event = new WaitlistNotificationEvent(waitlistId, userId, "asha@example.com", "Asha Rao", eventId,
+                "Tech Conference 2026", "Bangalore International Exhibition Centre", now.plusWeeks(6), 3,
+                now.plusMinutes(10), WaitlistNotificationEvent.bookingUrl(eventId, userId, waitlistId));
+    }
+
+    @Benchmark
+    public String bodyFormat() {
+        return String.format(FORMAT_BODY, event.getUserName(), event.getEventName(), event.getEventVenue(),
+                event.getEventStartTime().format(EVENT_TIME), event.getAvailableSeats(),
+                event.getExpiresAt().format(EXPIRY_TIME), event.getBookingUrl());
+    }
+
+    @Benchmark
+    public String bodyTemplate() {
+        return TEMPLATE_BODY.render(event);
+    }
+
+    @Benchmark
+    public String metadataFormat() {
+        return String.format("{\"eventId\":\"%s\",\"eventName\":\"%s\",\"waitlistId\":\"%s\"}",
+                event.getEventId(), event.getEventName(), event.getWaitlistId());
+    }
+
+    @Benchmark
+    public String metadataJsonWriter() {
+        return JsonWriter.object("eventId", event.getEventId(), "eventName", event.getEventName(),
+                "waitlistId", event.getWaitlistId());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TemplateRenderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
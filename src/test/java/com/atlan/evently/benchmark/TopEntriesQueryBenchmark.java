@@ -0,0 +1,180 @@
+package com.atlan.evently.benchmark;
+
+import com.atlan.evently.dto.AnalyticsResponse;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Admin top-K analytics over 100k events on PostgreSQL: the previous
+ * {@code getMostPopularEvents} (load every event, one count query per event, sort, keep
+ * {@code limit}) against the queries that replaced it, which read the trigger-maintained
+ * {@code confirmed_booking_count} with ORDER BY ... LIMIT ({@code findByOrderByConfirmedBookingCountDesc}
+ * and the venue and category breakdowns of {@code AdminService.getTopEntries}).
+ *
+ * <p>Run with {@code main}; needs Docker. The schema comes from the Flyway migrations, so the
+ * V10 triggers fill the counters while bookings are seeded, and the SQL below is what Hibernate
+ * generates for the repository methods. Seeding (about 400k bookings) takes a minute or two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class TopEntriesQueryBenchmark {
+
+    private static final int USERS = 20;
+    private static final int CATEGORIES = 50;
+    private static final int VENUES = 500;
+
+    @Param({"100000"})
+    private int events;
+
+    @Param({"5", "100"})
+    private int limit;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .mixed(true)
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    // Skewed like real demand: most events have a few bookings, a handful are nearly full
+    private void seed() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (email, name, password_hash) " +
+                    "SELECT 'user' || n || '@example.com', 'User ' || n, 'hash' FROM generate_series(1, " + USERS + ") n");
+            statement.execute("INSERT INTO event_categories (name) " +
+                    "SELECT 'Category ' || n FROM generate_series(1, " + CATEGORIES + ") n");
+            statement.execute("INSERT INTO events (name, venue, starts_at, capacity, available_seats, category_id) " +
+                    "SELECT 'Event ' || n, 'Venue ' || (n % " + VENUES + "), now() + interval '30 days', " + USERS + ", " + USERS + ", " +
+                    "c.ids[1 + n % " + CATEGORIES + "] " +
+                    "FROM generate_series(1, " + events + ") n " +
+                    "CROSS JOIN (SELECT array_agg(id) AS ids FROM event_categories) c");
+            statement.execute("CREATE TEMP TABLE bench_users AS SELECT id, row_number() OVER (ORDER BY email) AS n FROM users");
+            statement.execute("CREATE TEMP TABLE bench_demand AS " +
+                    "SELECT id, floor(power(random(), 4) * " + (USERS + 1) + ")::int AS bookings FROM events");
+            statement.execute("INSERT INTO bookings (user_id, event_id, quantity, status) " +
+                    "SELECT u.id, d.id, 1, 'CONFIRMED' FROM bench_demand d JOIN bench_users u ON u.n <= d.bookings");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @Benchmark
+    public List<AnalyticsResponse.PopularEventResponse> perEventCountLoop() throws SQLException {
+        List<AnalyticsResponse.PopularEventResponse> all = new ArrayList<>(events);
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, name, venue, capacity FROM events");
+             PreparedStatement count = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM bookings WHERE event_id = ? AND status = 'CONFIRMED'")) {
+            while (rows.next()) {
+                UUID eventId = rows.getObject(1, UUID.class);
+                count.setObject(1, eventId);
+                try (ResultSet counted = count.executeQuery()) {
+                    counted.next();
+                    all.add(popularEvent(eventId, rows.getString(2), rows.getString(3), rows.getInt(4), counted.getLong(1)));
+                }
+            }
+        }
+        return all.stream()
+                .sorted((a, b) -> Long.compare(b.getTotalBookings(), a.getTotalBookings()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<AnalyticsResponse.PopularEventResponse> orderedByBookingCounter() throws SQLException {
+        List<AnalyticsResponse.PopularEventResponse> top = new ArrayList<>(limit);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, name, venue, capacity, confirmed_booking_count FROM events " +
+                "ORDER BY confirmed_booking_count DESC LIMIT ?")) {
+            statement.setInt(1, limit);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    top.add(popularEvent(rows.getObject(1, UUID.class), rows.getString(2), rows.getString(3),
+                            rows.getInt(4), rows.getLong(5)));
+                }
+            }
+        }
+        return top;
+    }
+
+    @Benchmark
+    public List<AnalyticsResponse.TopEntryResponse> topVenues() throws SQLException {
+        return topEntries("SELECT venue, venue, SUM(confirmed_booking_count) FROM events " +
+                "GROUP BY venue ORDER BY SUM(confirmed_booking_count) DESC LIMIT ?");
+    }
+
+    @Benchmark
+    public List<AnalyticsResponse.TopEntryResponse> topCategories() throws SQLException {
+        return topEntries("SELECT c.id, c.name, SUM(e.confirmed_booking_count) FROM events e " +
+                "JOIN event_categories c ON c.id = e.category_id " +
+                "GROUP BY c.id, c.name ORDER BY SUM(e.confirmed_booking_count) DESC LIMIT ?");
+    }
+
+    private List<AnalyticsResponse.TopEntryResponse> topEntries(String sql) throws SQLException {
+        List<AnalyticsResponse.TopEntryResponse> top = new ArrayList<>(limit);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, limit);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    AnalyticsResponse.TopEntryResponse entry = new AnalyticsResponse.TopEntryResponse();
+                    entry.setKey(rows.getString(1));
+                    entry.setLabel(rows.getString(2));
+                    entry.setCount(rows.getLong(3));
+                    top.add(entry);
+                }
+            }
+        }
+        return top;
+    }
+
+    private static AnalyticsResponse.PopularEventResponse popularEvent(UUID id, String name, String venue,
+                                                                        int capacity, long bookingCount) {
+        AnalyticsResponse.PopularEventResponse response = new AnalyticsResponse.PopularEventResponse();
+        response.setEventId(id.toString());
+        response.setEventName(name);
+        response.setVenue(venue);
+        response.setTotalBookings(bookingCount);
+        response.setCapacity(capacity);
+        response.setUtilizationPercentage(String.format("%.2f", (double) bookingCount / capacity * 100));
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TopEntriesQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.atlan.evently.cache;
+
+import com.atlan.evently.dto.EventCategoryResponse;
+import com.atlan.evently.dto.EventResponse;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactCacheSerializerTest {
+
+    private GenericJackson2JsonRedisSerializer json;
+    private CompactCacheSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(BasicPolymorphicTypeValidator.builder().allowIfSubType(Object.class).build(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        json = new GenericJackson2JsonRedisSerializer(mapper);
+        serializer = new CompactCacheSerializer(json, 1024);
+    }
+
+    @Test
+    void testEventPageRoundTripInsideEnvelope() {
+        List<EventResponse> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(sampleEvent(i));
+        }
+        Page<EventResponse> page = new PageImpl<>(events, PageRequest.of(2, 20, Sort.by("startsAt")), 345);
+
+        byte[] bytes = serializer.serialize(new CachedValue(page, 42, 1_700_000_000_000L));
+        CachedValue restored = (CachedValue) serializer.deserialize(bytes);
+
+        assertEquals(42, restored.getComputeMillis());
+        assertEquals(1_700_000_000_000L, restored.getExpiresAtMillis());
+        Page<?> restoredPage = (Page<?>) restored.getValue();
+        assertEquals(page.getPageable(), restoredPage.getPageable());
+        assertEquals(345, restoredPage.getTotalElements());
+        assertEquals(events, restoredPage.getContent());
+        assertTrue(bytes.length < json.serialize(new CachedValue(page, 42, 1_700_000_000_000L)).length);
+        assertNotEquals(0, bytes[0] & 0x80, "20 events are above the compression threshold");
+    }
+
+    @Test
+    void testNullFieldsAndCategoryListRoundTrip() {
+        EventResponse sparse = new EventResponse();
+        sparse.setCurrency(null);
+        EventCategoryResponse category = new EventCategoryResponse();
+        category.setCategoryId(UUID.randomUUID().toString());
+        category.setName("Music");
+        category.setIsActive(true);
+
+        Object restored = serializer.deserialize(serializer.serialize(List.of(sparse, category)));
+
+        assertEquals(List.of(sparse, category), restored);
+    }
+
+    @Test
+    void testFallbackAndLegacyJsonEntriesAreReadable() {
+        Map<String, Object> other = new HashMap<>();
+        other.put("status", "OK");
+        assertEquals(other, serializer.deserialize(serializer.serialize(other)));
+
+        EventResponse legacy = sampleEvent(1);
+        EventResponse restored = (EventResponse) serializer.deserialize(json.serialize(legacy));
+        assertEquals(legacy.getEventId(), restored.getEventId());
+        assertEquals(legacy.getTicketPrice(), restored.getTicketPrice());
+    }
+
+    static EventResponse sampleEvent(int i) {
+        EventResponse event = new EventResponse();
+        event.setEventId(UUID.randomUUID().toString());
+        event.setName("Concert " + i);
+        event.setDescription("An evening of live music at the main hall, edition " + i);
+        event.setVenue("Main Hall");
+        event.setTags(List.of("music", "live"));
+        event.setIsOnline(false);
+        event.setStartTime(ZonedDateTime.of(2026, 11, 1, 19, 30, 0, 0, ZoneId.of("UTC")).plusDays(i));
+        event.setEndTime(event.getStartTime().plusHours(3));
+        event.setCapacity(500);
+        event.setAvailableSeats(500 - i);
+        event.setBookedSeats(i);
+        event.setTicketPrice(new BigDecimal("49.99"));
+        EventResponse.EventCategoryResponse category = new EventResponse.EventCategoryResponse();
+        category.setId(UUID.randomUUID().toString());
+        category.setName("Music");
+        category.setColorCode("#FF5733");
+        event.setCategory(category);
+        event.setLikeCount(10L * i);
+        event.setCommentCount((long) i);
+        event.setUtilizationPercentage(i / 5.0);
+        event.setIsActive(true);
+        event.setIsSoldOut(false);
+        event.setIsLive(false);
+        event.setHasEnded(false);
+        event.setCreatedAt(ZonedDateTime.of(2026, 10, 1, 9, 0, 0, 0, ZoneId.of("Asia/Kolkata")));
+        return event;
+    }
+}
@@ -0,0 +1,94 @@
+package com.atlan.evently.cache;
+
+import com.atlan.evently.dto.EventResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.PageImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DependencyTrackingCacheTest {
+
+    private ConcurrentMapCache delegate;
+    private CacheDependencyIndex dependencyIndex;
+    private DependencyTrackingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("events");
+        dependencyIndex = mock(CacheDependencyIndex.class);
+        when(dependencyIndex.record(any(), any(), anyCollection())).thenReturn(true);
+        // Direct executor: background refreshes complete before get() returns
+        cache = new DependencyTrackingCache(delegate, dependencyIndex,
+                new SingleFlightLoader(null, Duration.ZERO, Duration.ZERO), Runnable::run,
+                new CacheRefreshPolicy(true, 0.1, 1.0), Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testPutRecordsEventAndFilterTags() {
+        String eventId = UUID.randomUUID().toString();
+        EventResponse response = new EventResponse();
+        response.setEventId(eventId);
+
+        cache.put("0-20-UNSORTED", new PageImpl<>(List.of(response)));
+
+        verify(dependencyIndex).record("events", "0-20-UNSORTED",
+                Set.of(EventCacheTags.event(eventId), EventCacheTags.UPCOMING));
+    }
+
+    @Test
+    void testStaleValueServedWhileSingleRefreshRuns() {
+        cache.put("key", "old");
+        cache.markStale("key");
+        assertNull(delegate.get("key"));
+
+        AtomicInteger loads = new AtomicInteger();
+        String value = cache.get("key", () -> {
+            loads.incrementAndGet();
+            return "new";
+        });
+
+        assertEquals("old", value);
+        assertEquals(1, loads.get());
+        assertEquals("new", cache.get("key").get());
+        assertNull(delegate.get(DependencyTrackingCache.staleKey("key")));
+    }
+
+    @Test
+    void testMissWithoutStaleCopyLoadsSynchronously() {
+        String value = cache.get("key", () -> "loaded");
+
+        assertEquals("loaded", value);
+        assertEquals("loaded", cache.get("key").get());
+        assertInstanceOf(CachedValue.class, delegate.get("key").get());
+        verify(dependencyIndex).record(eq("events"), eq("key"), anyCollection());
+    }
+
+    @Test
+    void testEntryIsNotKeptWhenItsDependenciesCannotBeRecorded() {
+        when(dependencyIndex.record(any(), any(), anyCollection())).thenReturn(false);
+
+        String value = cache.get("key", () -> "loaded");
+
+        assertEquals("loaded", value);
+        assertNull(delegate.get("key"));
+    }
+
+    @Test
+    void testCategoryTagParsedFromCompositeKey() {
+        String categoryId = UUID.randomUUID().toString();
+
+        Set<String> tags = EventCacheTags.forEntry("events-by-category", categoryId + "-0-20", List.of());
+
+        assertEquals(Set.of(EventCacheTags.category(categoryId)), tags);
+    }
+}
@@ -0,0 +1,133 @@
+package com.atlan.evently.cache;
+
+import com.atlan.evently.cache.EventInventoryStore.EventInventory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Interleaves inventory seeding with committing reservations on a real Redis, one step at a
+ * time: the reservation's transaction is driven through its synchronizations by hand.
+ */
+@Testcontainers
+class EventInventoryStoreTest {
+
+    @Container
+    private static final GenericContainer<?> redis =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private EventInventoryStore store;
+    private UUID eventId;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        store = new EventInventoryStore(redisTemplate);
+        ReflectionTestUtils.setField(store, "inventoryTtlSeconds", 300L);
+        eventId = UUID.randomUUID();
+    }
+
+    @Test
+    void testStaleSeedAfterDroppedReservationIsRefused() {
+        // Reader loads 40 available, then a reservation of 3 commits while nothing is seeded
+        OptionalLong generation = store.beginSeed(eventId);
+        commitReservation(eventId, 3, () -> { });
+
+        assertFalse(store.seed(eventId, generation.getAsLong(), new EventInventory(100, 40)));
+        assertEquals(Optional.empty(), store.get(eventId));
+    }
+
+    @Test
+    void testSeedIsRefusedWhileReservationCommits() {
+        commitReservation(eventId, 3, () -> assertTrue(store.beginSeed(eventId).isEmpty()));
+
+        assertTrue(store.beginSeed(eventId).isPresent());
+    }
+
+    @Test
+    void testReservationCommittedBeforeReadIsNotAppliedTwice() {
+        // The reader starts after the reservation and its read already includes it
+        commitReservation(eventId, 3, () -> { });
+        OptionalLong generation = store.beginSeed(eventId);
+
+        assertTrue(store.seed(eventId, generation.getAsLong(), new EventInventory(100, 37)));
+        assertEquals(Optional.of(new EventInventory(100, 37)), store.get(eventId));
+    }
+
+    @Test
+    void testReservationAfterSeedIsApplied() {
+        OptionalLong generation = store.beginSeed(eventId);
+        assertTrue(store.seed(eventId, generation.getAsLong(), new EventInventory(100, 40)));
+
+        commitReservation(eventId, 3, () -> { });
+
+        assertEquals(Optional.of(new EventInventory(100, 37)), store.get(eventId));
+        assertTrue(store.beginSeed(eventId).isPresent(), "write guard must be lowered");
+    }
+
+    @Test
+    void testRolledBackReservationLeavesInventoryAlone() {
+        OptionalLong generation = store.beginSeed(eventId);
+        assertTrue(store.seed(eventId, generation.getAsLong(), new EventInventory(100, 40)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.adjustAfterCommit(eventId, -3);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Optional.of(new EventInventory(100, 40)), store.get(eventId));
+    }
+
+    // Runs a reservation's commit, calling duringCommit between the database commit starting
+    // and the adjustment being applied
+    private void commitReservation(UUID eventId, int seats, Runnable duringCommit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.adjustAfterCommit(eventId, -seats);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(sync -> sync.beforeCommit(false));
+            duringCommit.run();
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.atlan.evently.cache;
+
+import com.atlan.evently.model.Event;
+import com.atlan.evently.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SingleFlightLoaderTest {
+
+    @Test
+    void testThousandConcurrentMissesRunOneQuery() throws Exception {
+        UUID eventId = UUID.randomUUID();
+        Event event = Event.builder().id(eventId).name("Concert 2025").build();
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findByIdAndStartsAtAfter(eq(eventId), any(ZonedDateTime.class))).thenAnswer(invocation -> {
+            Thread.sleep(100); // Keep the load in flight while the other readers arrive
+            return event;
+        });
+
+        CacheDependencyIndex dependencyIndex = mock(CacheDependencyIndex.class);
+        when(dependencyIndex.record(any(), any(), anyCollection())).thenReturn(true);
+
+        DependencyTrackingCache cache = new DependencyTrackingCache(new ConcurrentMapCache("event-details"),
+                dependencyIndex, new SingleFlightLoader(null, Duration.ZERO, Duration.ZERO),
+                Runnable::run, new CacheRefreshPolicy(false, 0.0, 0.0), Duration.ofMinutes(10));
+
+        int readers = 1000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Event>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < readers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(eventId.toString(),
+                            () -> eventRepository.findByIdAndStartsAtAfter(eventId, ZonedDateTime.now()));
+                }));
+            }
+            start.countDown();
+            for (Future<Event> result : results) {
+                assertSame(event, result.get());
+            }
+        }
+
+        verify(eventRepository, times(1)).findByIdAndStartsAtAfter(eq(eventId), any(ZonedDateTime.class));
+    }
+
+    @Test
+    void testLoaderFailurePropagatesToWaitersAndIsNotCached() {
+        SingleFlightLoader loader = new SingleFlightLoader(null, Duration.ZERO, Duration.ZERO);
+
+        assertThrows(IllegalStateException.class, () -> loader.load("events", "key", () -> null, () -> {
+            throw new IllegalStateException("Database error");
+        }));
+        assertDoesNotThrow(() -> assertEquals("value", loader.load("events", "key", () -> null, () -> "value")));
+    }
+
+    @Test
+    void testEarlyRefreshOnlyNearExpiry() {
+        long now = System.currentTimeMillis();
+
+        assertFalse(new CachedValue("v", 50, now + Duration.ofMinutes(10).toMillis()).shouldRefreshEarly(1.0, now));
+        assertTrue(new CachedValue("v", 50, now - 1).shouldRefreshEarly(1.0, now));
+        assertFalse(new CachedValue("v", 50, now - 1).shouldRefreshEarly(0.0, now));
+    }
+}
@@ -0,0 +1,50 @@
+package com.atlan.evently.config;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryTopicsTest {
+
+    @Test
+    void testFailuresMoveAlongTheChain() {
+        RuntimeException failure = new RuntimeException("Database error");
+
+        assertEquals("booking-cancelled-retry-5s", next("booking-cancelled", failure));
+        assertEquals("booking-cancelled-retry-1m", next("booking-cancelled-retry-5s", failure));
+        assertEquals("booking-cancelled-dlt", next("booking-cancelled-retry-1m", failure));
+        assertEquals("booking-cancelled-dlt", next("booking-cancelled-dlt", failure));
+    }
+
+    @Test
+    void testMalformedRecordsSkipToDeadLetterTopic() {
+        Exception wrapped = new ListenerExecutionFailedException("Listener failed",
+                new IllegalArgumentException("Invalid UUID"));
+
+        assertEquals("waitlist-notification-dlt", next("waitlist-notification", wrapped));
+    }
+
+    @Test
+    void testDueCountStopsAtFirstRecordNotDue() {
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record(0, 1_000L), record(1, 2_000L), record(2, 9_000L), record(3, 3_000L));
+
+        assertEquals(2, RetryTopics.dueCount(records, 5_000L));
+        assertEquals(4, RetryTopics.dueCount(records, 10_000L));
+    }
+
+    private static String next(String topic, Exception failure) {
+        return RetryTopics.nextStage(topic, failure).topic(RetryTopics.baseTopic(topic));
+    }
+
+    private static ConsumerRecord<String, Object> record(long offset, long dueAt) {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>("booking-cancelled-retry-5s", 0, offset, "key", "value");
+        record.headers().add(RetryTopics.DUE_AT_HEADER, Long.toString(dueAt).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
@@ -0,0 +1,99 @@
+package com.atlan.evently.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WorkloadRoutingDataSourceTest {
+
+    private WorkloadRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", mock(DataSource.class));
+        replicas.put("replica-2", mock(DataSource.class));
+        Map<Workload.Type, DataSource> workloadPools = new EnumMap<>(Workload.Type.class);
+        for (Workload.Type workload : Workload.Type.values()) {
+            workloadPools.put(workload, mock(DataSource.class));
+        }
+        routingDataSource = new WorkloadRoutingDataSource(workloadPools, replicas);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void testUnannotatedWritesUseBookingPool() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        assertEquals("booking", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadOnlyRoundRobinsAcrossReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-2", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testLaggingReplicaIsSkipped() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routingDataSource.markLagging("replica-1", true);
+
+        assertEquals("replica-2", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-2", routingDataSource.determineCurrentLookupKey());
+
+        routingDataSource.markLagging("replica-2", true);
+        assertEquals("read", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testPinnedTransactionReadsFromPrimaryUntilCompletion() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        WorkloadRoutingDataSource.usePrimaryForCurrentTransaction();
+
+        assertEquals("read", routingDataSource.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testAnnotatedWorkloadUsesItsOwnPool() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("analytics", WorkloadContext.call(Workload.Type.ANALYTICS,
+                () -> routingDataSource.determineCurrentLookupKey()));
+        assertEquals("background", WorkloadContext.call(Workload.Type.BACKGROUND,
+                () -> routingDataSource.determineCurrentLookupKey()));
+        assertTrue(WorkloadContext.current().isEmpty());
+    }
+
+    @Test
+    void testNestedWorkloadRestoresOuter() {
+        WorkloadContext.run(Workload.Type.BACKGROUND, () -> {
+            WorkloadContext.run(Workload.Type.ANALYTICS, () -> { });
+            assertEquals(Workload.Type.BACKGROUND, WorkloadContext.current().orElseThrow());
+        });
+    }
+}
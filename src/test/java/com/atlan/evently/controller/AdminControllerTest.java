@@ -7,7 +7,13 @@ import com.atlan.evently.dto.EventResponse;
 import com.atlan.evently.dto.UserResponse;
 import com.atlan.evently.dto.UserRegistrationRequest; // Fix import
 import com.atlan.evently.service.AdminService;
+import com.atlan.evently.service.AnalyticsSnapshotService;
+import com.atlan.evently.service.BookingExportService;
 import com.atlan.evently.service.BookingService;
+import com.atlan.evently.service.DeadLetterReplayService;
+import com.atlan.evently.service.EventRankingService;
+import com.atlan.evently.service.KafkaLagMonitor;
+import com.atlan.evently.service.SnapshotQueryService;
 import com.atlan.evently.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,10 +22,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -30,15 +39,25 @@ class AdminControllerTest {
     private MockMvc mockMvc;
     private AdminService adminService;
     private BookingService bookingService;
+    private BookingExportService bookingExportService;
+    private AnalyticsSnapshotService analyticsSnapshotService;
+    private DeadLetterReplayService deadLetterReplayService;
+    private EventRankingService eventRankingService;
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         adminService = mock(AdminService.class);
         bookingService = mock(BookingService.class);
+        bookingExportService = mock(BookingExportService.class);
+        analyticsSnapshotService = mock(AnalyticsSnapshotService.class);
+        deadLetterReplayService = mock(DeadLetterReplayService.class);
+        eventRankingService = mock(EventRankingService.class);
         userService = mock(UserService.class);
         // Fix constructor call - add UserService parameter
-        AdminController adminController = new AdminController(adminService, bookingService, userService);
+        AdminController adminController = new AdminController(adminService, bookingService, bookingExportService,
+                analyticsSnapshotService, mock(SnapshotQueryService.class), deadLetterReplayService,
+                eventRankingService, mock(KafkaLagMonitor.class), userService);
         mockMvc = MockMvcBuilders.standaloneSetup(adminController).build();
     }
 
@@ -93,6 +112,23 @@ class AdminControllerTest {
         verify(adminService, times(1)).getAnalytics();
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testExportBookingsStreamsCsv() throws Exception {
+        when(bookingExportService.parseFormat("csv")).thenReturn(BookingExportService.ExportFormat.CSV);
+        when(bookingExportService.export("CONFIRMED", null, BookingExportService.ExportFormat.CSV))
+                .thenReturn(out -> out.write("bookingId\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/admin/bookings/export").param("status", "CONFIRMED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bookings.csv\""))
+                .andExpect(content().string("bookingId\n"));
+    }
+
     @Test
     void testUnauthorizedAccessReturnsForbidden() throws Exception {
         mockMvc.perform(post("/api/v1/admin/events"))
@@ -236,4 +272,37 @@ class AdminControllerTest {
 
         verify(adminService, times(1)).deleteUser(userId);
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testExportSnapshotsRebuildsOnRequest() throws Exception {
+        when(analyticsSnapshotService.rebuild()).thenReturn(Map.of("bookings", 3L));
+
+        mockMvc.perform(post("/api/v1/admin/analytics/snapshots").param("rebuild", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings").value(3));
+
+        verify(analyticsSnapshotService).rebuild();
+        verify(analyticsSnapshotService, never()).exportAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testRebuildPopularRanking() throws Exception {
+        when(eventRankingService.rebuild()).thenReturn(12);
+
+        mockMvc.perform(post("/api/v1/admin/events/rankings/popular/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events").value(12));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testReplayDeadLetters() throws Exception {
+        when(deadLetterReplayService.replay("booking-cancelled", 50)).thenReturn(7);
+
+        mockMvc.perform(post("/api/v1/admin/kafka/dead-letters/booking-cancelled/replay").param("maxRecords", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.replayed").value(7));
+    }
+}
@@ -2,6 +2,8 @@ package com.atlan.evently.controller;
 
 import com.atlan.evently.dto.EventResponse;
 import com.atlan.evently.exception.EventException;
+import com.atlan.evently.service.EventInventoryService;
+import com.atlan.evently.service.EventRankingService;
 import com.atlan.evently.service.EventService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,7 +27,10 @@ class EventControllerTest {
     @BeforeEach
     void setUp() {
         eventService = mock(EventService.class);
-        EventController eventController = new EventController(eventService);
+        EventInventoryService eventInventoryService = mock(EventInventoryService.class);
+        when(eventInventoryService.withLiveInventory(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        EventController eventController = new EventController(eventService, eventInventoryService,
+                mock(EventRankingService.class));
         mockMvc = MockMvcBuilders.standaloneSetup(eventController).build();
     }
 
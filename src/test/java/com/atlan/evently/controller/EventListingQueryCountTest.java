@@ -0,0 +1,98 @@
+package com.atlan.evently.controller;
+
+import com.atlan.evently.mapper.EventMapper;
+import com.atlan.evently.model.Event;
+import com.atlan.evently.model.EventCategory;
+import com.atlan.evently.repository.EventRepository;
+import com.atlan.evently.service.EventInventoryService;
+import com.atlan.evently.service.EventRankingService;
+import com.atlan.evently.service.EventService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards GET /api/v1/events against N+1 queries: a page of events must be rendered without
+ * touching the likes/comments collections or loading categories one by one.
+ */
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EventListingQueryCountTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int c = 0; c < 4; c++) {
+            EventCategory category = entityManager.persist(EventCategory.builder().name("Category " + c).build());
+            for (int i = 0; i < PAGE_SIZE / 4; i++) {
+                entityManager.persist(Event.builder()
+                        .name("Event " + c + "-" + i)
+                        .venue("Main Hall")
+                        .startsAt(now.plusDays(1 + i))
+                        .capacity(100)
+                        .availableSeats(100)
+                        .category(category)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        EventService eventService = new EventService(eventRepository, Mappers.getMapper(EventMapper.class),
+                mock(EventRankingService.class));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new EventController(eventService, mock(EventInventoryService.class),
+                        mock(EventRankingService.class)))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testEventListingUsesConstantQueryCount() throws Exception {
+        mockMvc.perform(get("/api/v1/events?page=0&size=" + PAGE_SIZE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(PAGE_SIZE))
+                .andExpect(jsonPath("$.content[0].category.name").exists());
+
+        // One page query (categories fetched with it), plus at most the count query
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Expected at most 2 statements, got " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount(), "Listing must not initialize likes/comments");
+    }
+}
@@ -0,0 +1,136 @@
+package com.atlan.evently.messaging;
+
+import com.atlan.evently.dto.events.BookingCancelledEvent;
+import com.atlan.evently.dto.events.EventActivityEvent;
+import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvroEventSerializerTest {
+
+    private static final Map<String, Object> CONFIG = Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.atlan.evently.dto.events");
+
+    private AvroEventSerializer serializer;
+    private AvroEventDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new AvroEventSerializer();
+        serializer.configure(CONFIG, false);
+        deserializer = new AvroEventDeserializer();
+        deserializer.configure(CONFIG, false);
+    }
+
+    @Test
+    void roundTripsBookingCancelled() {
+        BookingCancelledEvent event = bookingCancelled();
+
+        byte[] bytes = serializer.serialize("booking-cancelled", new RecordHeaders(), event);
+
+        assertEquals(AvroEventSerializer.MAGIC_BYTE, bytes[0]);
+        assertEquals(event, deserializer.deserialize("booking-cancelled", new RecordHeaders(), bytes));
+    }
+
+    @Test
+    void writesWaitlistNotificationWithoutBookingUrlAndRebuildsIt() {
+        WaitlistNotificationEvent event = waitlistNotification();
+
+        byte[] bytes = serializer.serialize("waitlist-notification", event);
+
+        assertFalse(new String(bytes).contains("http://"));
+        assertEquals(event, deserializer.deserialize("waitlist-notification", bytes));
+    }
+
+    @Test
+    void readsOlderSchemaVersionAsLatest() {
+        EventSchemaRegistry registry = EventSchemaRegistry.fromClasspath();
+        // A producer that only knows v1 of the waitlist notification
+        AvroEventSerializer v1Producer = new AvroEventSerializer(new EventSchemaRegistry(Map.of(
+                1, registry.schema(1), 2, registry.schema(2))));
+        WaitlistNotificationEvent event = waitlistNotification();
+        event.setBookingUrl("https://evently.example/book/42");
+
+        byte[] bytes = v1Producer.serialize("waitlist-notification", event);
+
+        assertEquals(2, bytes[4]);
+        WaitlistNotificationEvent read = (WaitlistNotificationEvent) deserializer.deserialize("waitlist-notification", bytes);
+        assertEquals(event.getWaitlistId(), read.getWaitlistId());
+        assertEquals(event.getExpiresAt(), read.getExpiresAt());
+        // v2 has no bookingUrl, so the reader's schema drops it and the URL is rebuilt
+        assertEquals(WaitlistNotificationEvent.bookingUrl(event.getEventId(), event.getUserId(), event.getWaitlistId()),
+                read.getBookingUrl());
+    }
+
+    @Test
+    void avroIsSmallerThanJson() {
+        try (JsonSerializer<Object> json = new JsonSerializer<>()) {
+            for (Object event : new Object[]{bookingCancelled(), waitlistNotification()}) {
+                int jsonSize = json.serialize("topic", event).length;
+                int avroSize = serializer.serialize("topic", event).length;
+                assertTrue(avroSize < jsonSize, event.getClass().getSimpleName() + ": " + avroSize + " vs " + jsonSize);
+            }
+        }
+    }
+
+    @Test
+    void fallsBackToJsonForTypesWithoutSchema() {
+        EventActivityEvent event = new EventActivityEvent("event-1", null, "VIEW",
+                ZonedDateTime.of(2026, 10, 1, 9, 0, 0, 0, ZoneOffset.UTC));
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] bytes = serializer.serialize("event-activity", headers, event);
+
+        assertEquals('{', bytes[0]);
+        EventActivityEvent read = (EventActivityEvent) deserializer.deserialize("event-activity", headers, bytes);
+        assertEquals(event.getEventId(), read.getEventId());
+        assertEquals(event.getActivityType(), read.getActivityType());
+    }
+
+    @Test
+    void readsMessagesWrittenAsJson() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] bytes;
+        try (JsonSerializer<Object> json = new JsonSerializer<>()) {
+            bytes = json.serialize("booking-cancelled", headers, bookingCancelled());
+        }
+
+        BookingCancelledEvent read = (BookingCancelledEvent) deserializer.deserialize("booking-cancelled", headers, bytes);
+
+        assertEquals(bookingCancelled().getBookingId(), read.getBookingId());
+        assertEquals(bookingCancelled().getQuantity(), read.getQuantity());
+    }
+
+    @Test
+    void rejectsUnknownSchemaId() {
+        byte[] bytes = {AvroEventSerializer.MAGIC_BYTE, 0, 0, 0, 99, 0};
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("booking-cancelled", bytes));
+    }
+
+    private static BookingCancelledEvent bookingCancelled() {
+        return new BookingCancelledEvent("9b2f6c1e-5d4a-4a3b-8c7d-1e2f3a4b5c6d", "3f1a2b4c-6d7e-4f80-9a1b-2c3d4e5f6a7b",
+                "7c8d9e0f-1a2b-4c3d-8e4f-5a6b7c8d9e0f", 2,
+                ZonedDateTime.of(2026, 10, 19, 12, 30, 0, 0, ZoneOffset.UTC), "USER_CANCELLED");
+    }
+
+    private static WaitlistNotificationEvent waitlistNotification() {
+        String waitlistId = "1d2e3f4a-5b6c-4d7e-8f9a-0b1c2d3e4f5a";
+        String userId = "3f1a2b4c-6d7e-4f80-9a1b-2c3d4e5f6a7b";
+        String eventId = "7c8d9e0f-1a2b-4c3d-8e4f-5a6b7c8d9e0f";
+        return new WaitlistNotificationEvent(waitlistId, userId, "asha@example.com", "Asha Rao", eventId,
+                "Tech Conference 2026", "Bangalore International Exhibition Centre",
+                ZonedDateTime.of(2026, 12, 1, 9, 0, 0, 0, ZoneOffset.UTC), 3,
+                ZonedDateTime.of(2026, 10, 19, 13, 0, 0, 0, ZoneOffset.UTC),
+                WaitlistNotificationEvent.bookingUrl(eventId, userId, waitlistId));
+    }
+}
@@ -1,16 +1,21 @@
 package com.atlan.evently.service;
 
+import com.atlan.evently.config.Workload;
+import com.atlan.evently.exception.EventException;
 import com.atlan.evently.model.Event;
 import com.atlan.evently.repository.BookingRepository;
 import com.atlan.evently.repository.EventRepository;
+import com.atlan.evently.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
 
 import java.time.ZonedDateTime;
-import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
 
 import com.atlan.evently.dto.*;
 
@@ -25,6 +30,12 @@ class AdminServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
     @InjectMocks
     private AdminService adminService;
 
@@ -61,10 +72,10 @@ class AdminServiceTest {
 
     @Test
     void testGetAnalyticsReturnsValidData() {
-        when(bookingRepository.count()).thenReturn(50L);
-        when(eventRepository.count()).thenReturn(2L);
-        when(eventRepository.findAll()).thenReturn(Collections.singletonList(
-                Event.builder().capacity(100).build()
+        when(analyticsService.getTotals()).thenReturn(new AnalyticsService.AnalyticsTotals(2L, 100L, 0L, 50L));
+        when(eventRepository.findByOrderByConfirmedBookingCountDesc(any(Pageable.class))).thenReturn(List.of(
+                Event.builder().id(UUID.randomUUID()).name("Concert").venue("City Hall")
+                        .capacity(100).confirmedBookingCount(40L).build()
         ));
 
         AnalyticsResponse result = adminService.getAnalytics();
@@ -73,5 +84,37 @@ class AdminServiceTest {
         assertEquals(50L, result.getTotalBookings());
         assertEquals(100L, result.getTotalCapacity());
         assertEquals("50.00", result.getUtilizationPercentage());
+        assertEquals(1, result.getMostPopularEvents().size());
+        assertEquals("40.00", result.getMostPopularEvents().get(0).getUtilizationPercentage());
+        verify(eventRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetTopEntriesUsesGroupedQuery() {
+        when(transactionRepository.findTopPaymentMethods(any(Pageable.class))).thenReturn(List.of(
+                new Object[]{"CREDIT_CARD", 12L},
+                new Object[]{"PAYPAL", 4L}));
+
+        List<AnalyticsResponse.TopEntryResponse> result = adminService.getTopEntries("payment-methods", 2);
+
+        assertEquals(2, result.size());
+        assertEquals("CREDIT_CARD", result.get(0).getKey());
+        assertEquals(12L, result.get(0).getCount());
+        verify(transactionRepository).findTopPaymentMethods(argThat(p -> p.getPageSize() == 2));
+    }
+
+    @Test
+    void testGetTopEntriesRejectsUnknownDimension() {
+        assertThrows(EventException.class, () -> adminService.getTopEntries("planets", 5));
+        assertThrows(EventException.class, () -> adminService.getTopEntries("venues", 0));
+    }
+
+    @Test
+    void testGetTopEntriesRunsOnAnalyticsPool() throws NoSuchMethodException {
+        Workload workload = AdminService.class.getMethod("getTopEntries", String.class, int.class)
+                .getAnnotation(Workload.class);
+
+        assertNotNull(workload);
+        assertEquals(Workload.Type.ANALYTICS, workload.value());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.model.AnalyticsCounter;
+import com.atlan.evently.repository.AnalyticsCounterRepository;
+import com.atlan.evently.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AnalyticsServiceTest {
+
+    @Mock
+    private AnalyticsCounterRepository analyticsCounterRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetTotalsSumsShards() {
+        when(analyticsCounterRepository.sumByName()).thenReturn(List.of(
+                new Object[]{AnalyticsCounter.EVENTS, 3L},
+                new Object[]{AnalyticsCounter.CAPACITY, 400L},
+                new Object[]{AnalyticsCounter.BOOKINGS, 100L}));
+
+        AnalyticsService.AnalyticsTotals totals = analyticsService.getTotals();
+
+        assertEquals(3L, totals.totalEvents());
+        assertEquals(400L, totals.totalCapacity());
+        assertEquals(0L, totals.soldOutEvents());
+        assertEquals(100L, totals.totalBookings());
+        assertEquals(25.0, totals.utilizationPercentage(), 1e-9);
+    }
+
+    @Test
+    void testReconcileLocksBeforeRecomputing() {
+        when(analyticsCounterRepository.sumByName()).thenReturn(List.of());
+
+        analyticsService.reconcile();
+
+        InOrder inOrder = inOrder(analyticsCounterRepository, eventRepository);
+        // Same lock order as a booking: event rows, then the counters its triggers bump
+        inOrder.verify(eventRepository).lockForReconciliation();
+        inOrder.verify(analyticsCounterRepository).lockForReconciliation();
+        inOrder.verify(eventRepository).reconcileConfirmedBookingCounts();
+        inOrder.verify(analyticsCounterRepository).deleteAllCounters();
+        inOrder.verify(analyticsCounterRepository).recomputeCounters();
+    }
+}
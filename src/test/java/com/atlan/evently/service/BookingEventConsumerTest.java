@@ -1,12 +1,19 @@
 package com.atlan.evently.service;
 
+import com.atlan.evently.config.RetryTopics;
 import com.atlan.evently.dto.events.BookingCancelledEvent;
+import com.atlan.evently.util.KeyOrderedExecutor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,61 +24,67 @@ class BookingEventConsumerTest {
 
     private BookingEventConsumer consumer;
     private WaitlistService waitlistService;
+    private DeadLetterPublishingRecoverer failedRecordRecoverer;
     private Acknowledgment acknowledgment;
 
     @BeforeEach
     void setUp() {
         waitlistService = mock(WaitlistService.class);
+        failedRecordRecoverer = mock(DeadLetterPublishingRecoverer.class);
         acknowledgment = mock(Acknowledgment.class);
-        consumer = new BookingEventConsumer(waitlistService);
+        consumer = new BookingEventConsumer(waitlistService, failedRecordRecoverer, new KeyOrderedExecutor(Runnable::run));
     }
 
     @Test
     void testHandleBookingCancelledSuccess() {
         // Arrange
         UUID eventId = UUID.randomUUID();
-        BookingCancelledEvent event = new BookingCancelledEvent(
-            "booking-123",
-            "user-456", 
-            eventId.toString(),
-            2,
-            ZonedDateTime.now(),
-            "USER_CANCELLED"
-        );
-
-        doNothing().when(waitlistService).processAvailableSeat(any(UUID.class), anyInt());
+        UUID bookingId = UUID.randomUUID();
+        ConsumerRecord<String, Object> record = record(0, bookingId.toString(), eventId.toString(), 2);
 
         // Act
-        consumer.handleBookingCancelled(event, 0, 123L, acknowledgment);
+        consumer.handleBookingCancelled(List.of(record), acknowledgment);
 
         // Assert
-        ArgumentCaptor<UUID> eventIdCaptor = ArgumentCaptor.forClass(UUID.class);
-        ArgumentCaptor<Integer> quantityCaptor = ArgumentCaptor.forClass(Integer.class);
-        
-        verify(waitlistService).processAvailableSeat(eventIdCaptor.capture(), quantityCaptor.capture());
-        assertEquals(eventId, eventIdCaptor.getValue());
-        assertEquals(2, quantityCaptor.getValue());
-        
+        verify(waitlistService).processCancelledBookings(eventId, Map.of(bookingId, 2));
+        verifyNoInteractions(failedRecordRecoverer);
         verify(acknowledgment).acknowledge();
     }
 
+    @Test
+    void testCancellationsOfSameEventAreMerged() {
+        // Arrange
+        UUID eventId = UUID.randomUUID();
+        UUID otherEventId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record(0, first.toString(), eventId.toString(), 2),
+                record(1, second.toString(), otherEventId.toString(), 1),
+                record(2, third.toString(), eventId.toString(), 3));
+
+        // Act
+        consumer.handleBookingCancelled(records, acknowledgment);
+
+        // Assert
+        verify(waitlistService).processCancelledBookings(eventId, Map.of(first, 2, third, 3));
+        verify(waitlistService).processCancelledBookings(otherEventId, Map.of(second, 1));
+        verifyNoMoreInteractions(waitlistService);
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
     @Test
     void testHandleBookingCancelledWithInvalidEventId() {
         // Arrange
-        BookingCancelledEvent event = new BookingCancelledEvent(
-            "booking-123",
-            "user-456",
-            "invalid-uuid", // Invalid UUID format
-            2,
-            ZonedDateTime.now(),
-            "USER_CANCELLED"
-        );
+        ConsumerRecord<String, Object> record = record(0, UUID.randomUUID().toString(), "invalid-uuid", 2);
 
         // Act
-        consumer.handleBookingCancelled(event, 0, 123L, acknowledgment);
+        consumer.handleBookingCancelled(List.of(record), acknowledgment);
 
         // Assert
-        verify(waitlistService, never()).processAvailableSeat(any(UUID.class), anyInt());
+        verify(waitlistService, never()).processCancelledBookings(any(UUID.class), anyMap());
+        verify(failedRecordRecoverer).accept(eq(record), any(IllegalArgumentException.class));
         verify(acknowledgment).acknowledge(); // Should acknowledge to prevent reprocessing
     }
 
@@ -79,29 +92,72 @@ class BookingEventConsumerTest {
     void testHandleBookingCancelledWithServiceError() {
         // Arrange
         UUID eventId = UUID.randomUUID();
-        BookingCancelledEvent event = new BookingCancelledEvent(
-            "booking-123",
-            "user-456",
-            eventId.toString(),
-            2,
-            ZonedDateTime.now(),
-            "USER_CANCELLED"
-        );
+        UUID failingBooking = UUID.randomUUID();
+        UUID passingBooking = UUID.randomUUID();
+        ConsumerRecord<String, Object> failing = record(0, failingBooking.toString(), eventId.toString(), 2);
+        ConsumerRecord<String, Object> passing = record(1, passingBooking.toString(), eventId.toString(), 1);
 
         doThrow(new RuntimeException("Database error"))
-                .when(waitlistService).processAvailableSeat(any(UUID.class), anyInt());
+                .when(waitlistService).processCancelledBookings(eventId, Map.of(failingBooking, 2, passingBooking, 1));
+        doThrow(new RuntimeException("Database error"))
+                .when(waitlistService).processCancelledBookings(eventId, Map.of(failingBooking, 2));
 
-        // Act & Assert
-        assertThrows(RuntimeException.class, () -> {
-            consumer.handleBookingCancelled(event, 0, 123L, acknowledgment);
-        });
+        // Act
+        consumer.handleBookingCancelled(List.of(failing, passing), acknowledgment);
 
-        verify(waitlistService).processAvailableSeat(eventId, 2);
-        verify(acknowledgment, never()).acknowledge(); // Should NOT acknowledge on error
+        // Assert: the merged call fails, then each cancellation is retried on its own
+        verify(waitlistService).processCancelledBookings(eventId, Map.of(passingBooking, 1));
+        verify(failedRecordRecoverer).accept(eq(failing), any(RuntimeException.class));
+        verify(failedRecordRecoverer, never()).accept(eq(passing), any());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void testRetryProcessesDueRecordsAndWaitsForTheRest() {
+        // Arrange
+        UUID eventId = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+        ConsumerRecord<String, Object> due = retryRecord(0, eventId.toString(), now - 1000);
+        ConsumerRecord<String, Object> notDue = retryRecord(1, eventId.toString(), now + 60_000);
+
+        // Act
+        consumer.retryBookingCancelled(List.of(due, notDue), acknowledgment);
+
+        // Assert
+        verify(waitlistService).processCancelledBookings(eq(eventId), anyMap());
+        verify(acknowledgment).nack(eq(1), any(Duration.class));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void testBookingRepeatedWithinPollCountsOnce() {
+        UUID eventId = UUID.randomUUID();
+        UUID bookingId = UUID.randomUUID();
+
+        consumer.handleBookingCancelled(List.of(
+                record(0, bookingId.toString(), eventId.toString(), 2),
+                record(1, bookingId.toString(), eventId.toString(), 2)), acknowledgment);
+
+        verify(waitlistService).processCancelledBookings(eventId, Map.of(bookingId, 2));
     }
 
     @Test
     void testIsHealthy() {
         assertTrue(consumer.isHealthy());
     }
+
+    private static ConsumerRecord<String, Object> record(long offset, String bookingId, String eventId, int quantity) {
+        BookingCancelledEvent event = new BookingCancelledEvent(
+                bookingId, "user-456", eventId, quantity, ZonedDateTime.now(), "USER_CANCELLED");
+        return new ConsumerRecord<>("booking-cancelled", 0, offset, eventId, event);
+    }
+
+    private static ConsumerRecord<String, Object> retryRecord(long offset, String eventId, long dueAt) {
+        BookingCancelledEvent event = new BookingCancelledEvent(
+                UUID.randomUUID().toString(), "user-456", eventId, 1, ZonedDateTime.now(), "USER_CANCELLED");
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>(
+                "booking-cancelled" + RetryTopics.RETRY_5S, 0, offset, eventId, event);
+        record.headers().add(RetryTopics.DUE_AT_HEADER, Long.toString(dueAt).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
 }
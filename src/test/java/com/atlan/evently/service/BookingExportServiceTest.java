@@ -0,0 +1,92 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.exception.EventException;
+import com.atlan.evently.model.Booking;
+import com.atlan.evently.model.Event;
+import com.atlan.evently.model.User;
+import com.atlan.evently.repository.BookingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookingExportServiceTest {
+
+    private BookingRepository bookingRepository;
+    private EntityManager entityManager;
+    private BookingExportService bookingExportService;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        entityManager = mock(EntityManager.class);
+        bookingExportService = new BookingExportService(bookingRepository, entityManager,
+                mock(PlatformTransactionManager.class), new ObjectMapper());
+
+        User user = new User();
+        user.setId(UUID.fromString("11111111-1111-1111-1111-111111111111"));
+        Event event = Event.builder().id(UUID.fromString("22222222-2222-2222-2222-222222222222")).build();
+        booking = new Booking();
+        booking.setId(UUID.fromString("33333333-3333-3333-3333-333333333333"));
+        booking.setUser(user);
+        booking.setEvent(event);
+        booking.setQuantity(2);
+        booking.setStatus("CONFIRMED");
+        booking.setCreatedAt(ZonedDateTime.of(2026, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testCsvExportWritesHeaderAndRowsAndDetaches() throws Exception {
+        when(bookingRepository.streamForExport("CONFIRMED", null)).thenReturn(Stream.of(booking));
+
+        String csv = export("CONFIRMED", null, BookingExportService.ExportFormat.CSV);
+
+        assertEquals(List.of(
+                "bookingId,userId,eventId,quantity,bookingStatus,createdAt",
+                "33333333-3333-3333-3333-333333333333,11111111-1111-1111-1111-111111111111,"
+                        + "22222222-2222-2222-2222-222222222222,2,CONFIRMED,2026-01-02T03:04:05Z"),
+                csv.lines().toList());
+        verify(entityManager).detach(booking);
+    }
+
+    @Test
+    void testNdjsonExportWritesOneObjectPerLine() throws Exception {
+        UUID eventId = booking.getEvent().getId();
+        when(bookingRepository.streamForExport(null, eventId)).thenReturn(Stream.of(booking, booking));
+
+        String ndjson = export(null, eventId.toString(), BookingExportService.ExportFormat.NDJSON);
+
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("CONFIRMED", new ObjectMapper().readTree(lines.get(0)).get("bookingStatus").asText());
+        assertEquals(2, new ObjectMapper().readTree(lines.get(1)).get("quantity").asInt());
+    }
+
+    @Test
+    void testInvalidInputRejectedBeforeStreaming() {
+        assertThrows(EventException.class, () -> bookingExportService.parseFormat("xml"));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingExportService.export(null, "not-a-uuid", BookingExportService.ExportFormat.CSV));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private String export(String status, String eventId, BookingExportService.ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingExportService.export(status, eventId, format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,179 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.cache.EventInventoryStore;
+import com.atlan.evently.cache.EventInventoryStore.EventInventory;
+import com.atlan.evently.config.Workload;
+import com.atlan.evently.config.WorkloadContext;
+import com.atlan.evently.dto.EventResponse;
+import com.atlan.evently.exception.EventException;
+import com.atlan.evently.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class EventInventoryServiceTest {
+
+    private EventInventoryStore inventoryStore;
+    private EventRepository eventRepository;
+    private EventInventoryService service;
+
+    @BeforeEach
+    void setUp() {
+        inventoryStore = mock(EventInventoryStore.class);
+        eventRepository = mock(EventRepository.class);
+        service = new EventInventoryService(inventoryStore, eventRepository);
+    }
+
+    @Test
+    void testLiveSeatCountsOverrideCachedValues() {
+        UUID eventId = UUID.randomUUID();
+        EventResponse cached = cachedEvent(eventId, 100);
+        when(inventoryStore.get(eventId)).thenReturn(Optional.of(new EventInventory(100, 0)));
+
+        EventResponse response = service.withLiveInventory(cached);
+
+        assertEquals(0, response.getAvailableSeats());
+        assertEquals(100, response.getBookedSeats());
+        assertTrue(response.getIsSoldOut());
+        assertEquals(100.0, response.getUtilizationPercentage());
+        assertEquals("Concert", response.getName());
+        assertEquals(100, cached.getAvailableSeats(), "cached instance must not be modified");
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void testMissingInventoryIsSeededFromDatabase() {
+        UUID eventId = UUID.randomUUID();
+        when(inventoryStore.get(eventId)).thenReturn(Optional.empty());
+        when(inventoryStore.beginSeed(eventId)).thenReturn(OptionalLong.of(7));
+        when(eventRepository.findSeatCounts(eventId)).thenReturn(List.<Object[]>of(new Object[]{100, 40}));
+
+        EventResponse response = service.withLiveInventory(cachedEvent(eventId, 100));
+
+        assertEquals(40, response.getAvailableSeats());
+        InOrder inOrder = inOrder(inventoryStore, eventRepository);
+        inOrder.verify(inventoryStore).beginSeed(eventId);
+        inOrder.verify(eventRepository).findSeatCounts(eventId);
+        inOrder.verify(inventoryStore).seed(eventId, 7, new EventInventory(100, 40));
+    }
+
+    @Test
+    void testSeededInventoryIsReadBack() {
+        UUID eventId = UUID.randomUUID();
+        // A reservation adjusted the hash between the seed and the read back
+        when(inventoryStore.get(eventId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new EventInventory(100, 38)));
+        when(inventoryStore.beginSeed(eventId)).thenReturn(OptionalLong.of(7));
+        when(inventoryStore.seed(eventId, 7, new EventInventory(100, 40))).thenReturn(true);
+        when(eventRepository.findSeatCounts(eventId)).thenReturn(List.<Object[]>of(new Object[]{100, 40}));
+
+        EventResponse response = service.withLiveInventory(cachedEvent(eventId, 100));
+
+        assertEquals(38, response.getAvailableSeats());
+    }
+
+    @Test
+    void testReadDuringCommittingWriteIsNotSeeded() {
+        UUID eventId = UUID.randomUUID();
+        when(inventoryStore.get(eventId)).thenReturn(Optional.empty());
+        when(inventoryStore.beginSeed(eventId)).thenReturn(OptionalLong.empty());
+        when(eventRepository.findSeatCounts(eventId)).thenReturn(List.<Object[]>of(new Object[]{100, 40}));
+
+        EventResponse response = service.withLiveInventory(cachedEvent(eventId, 100));
+
+        assertEquals(40, response.getAvailableSeats());
+        verify(inventoryStore, never()).seed(any(), anyLong(), any());
+    }
+
+    @Test
+    void testSeedingReadsThePrimary() {
+        UUID eventId = UUID.randomUUID();
+        when(inventoryStore.get(eventId)).thenReturn(Optional.empty());
+        AtomicReference<Optional<Workload.Type>> workload = new AtomicReference<>();
+        when(eventRepository.findSeatCounts(eventId)).thenAnswer(invocation -> {
+            workload.set(WorkloadContext.current());
+            return List.<Object[]>of(new Object[]{100, 40});
+        });
+
+        service.withLiveInventory(cachedEvent(eventId, 100));
+
+        assertEquals(Optional.of(Workload.Type.BOOKING), workload.get());
+        assertTrue(WorkloadContext.current().isEmpty());
+    }
+
+    @Test
+    void testUnknownEventKeepsCachedSeatCounts() {
+        UUID eventId = UUID.randomUUID();
+        EventResponse cached = cachedEvent(eventId, 100);
+        when(inventoryStore.get(eventId)).thenReturn(Optional.empty());
+        when(eventRepository.findSeatCounts(eventId)).thenReturn(Collections.emptyList());
+
+        EventResponse response = service.withLiveInventory(cached);
+
+        assertEquals(100, response.getAvailableSeats());
+        assertEquals("Concert", response.getName());
+    }
+
+    @Test
+    void testEventStartedSinceCachingIsNotFound() {
+        EventResponse cached = cachedEvent(UUID.randomUUID(), 100);
+        cached.setStartTime(ZonedDateTime.now().minusMinutes(1));
+        cached.setIsActive(true);
+
+        EventException exception = assertThrows(EventException.class, () -> service.withLiveInventory(cached));
+
+        assertEquals("EVENT_NOT_FOUND", exception.getErrorCode());
+        verifyNoInteractions(inventoryStore, eventRepository);
+    }
+
+    @Test
+    void testTimeFlagsAreRecomputedOnRead() {
+        UUID eventId = UUID.randomUUID();
+        EventResponse cached = cachedEvent(eventId, 100);
+        cached.setIsActive(false);
+        cached.setIsLive(true);
+        when(inventoryStore.get(eventId)).thenReturn(Optional.of(new EventInventory(100, 60)));
+
+        EventResponse response = service.withLiveInventory(cached);
+
+        assertTrue(response.getIsActive());
+        assertFalse(response.getIsLive());
+        assertFalse(response.getHasEnded());
+    }
+
+    @Test
+    void testBookingChangesAdjustInventory() {
+        UUID eventId = UUID.randomUUID();
+
+        service.seatsReserved(eventId, 3);
+        service.seatsReleased(eventId, 2);
+
+        verify(inventoryStore).adjustAfterCommit(eventId, -3);
+        verify(inventoryStore).adjustAfterCommit(eventId, 2);
+    }
+
+    private static EventResponse cachedEvent(UUID eventId, int availableSeats) {
+        EventResponse response = new EventResponse();
+        response.setEventId(eventId.toString());
+        response.setName("Concert");
+        response.setStartTime(ZonedDateTime.now().plusDays(7));
+        response.setCapacity(100);
+        response.setAvailableSeats(availableSeats);
+        response.setIsSoldOut(false);
+        return response;
+    }
+}
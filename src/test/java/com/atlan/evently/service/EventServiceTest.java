@@ -1,5 +1,7 @@
 package com.atlan.evently.service;
 
+import com.atlan.evently.dto.EventResponse;
+import com.atlan.evently.mapper.EventMapper;
 import com.atlan.evently.model.Event;
 import com.atlan.evently.repository.EventRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +24,12 @@ class EventServiceTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private EventMapper eventMapper;
+
+    @Mock
+    private EventRankingService eventRankingService;
+
     @InjectMocks
     private EventService eventService;
 
@@ -53,4 +61,53 @@ class EventServiceTest {
         assertEquals("Concert 2025", result.getContent().get(0).getName());
         verify(eventRepository, times(1)).findAllByStartsAtAfter(now, PageRequest.of(0, 10));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPopularEventsKeepRankOrderAndSkipStartedEvents() {
+        UUID first = UUID.randomUUID();
+        UUID started = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(eventRankingService.topPopular(4)).thenReturn(List.of(first, started, second));
+        // Repository returns only upcoming events, in arbitrary order
+        when(eventRepository.findByIdInAndStartsAtAfter(eq(List.of(first, started, second)), any()))
+                .thenReturn(List.of(Event.builder().id(second).build(), Event.builder().id(first).build()));
+        when(eventMapper.toResponse(any(Event.class))).thenAnswer(invocation -> {
+            EventResponse response = new EventResponse();
+            response.setEventId(invocation.<Event>getArgument(0).getId().toString());
+            return response;
+        });
+
+        List<EventResponse> result = eventService.getMostPopularEvents(2, PageRequest.of(0, 2));
+
+        assertEquals(List.of(first.toString(), second.toString()),
+                result.stream().map(EventResponse::getEventId).toList());
+        verify(eventRankingService).removePopular(List.of(started));
+    }
+
+    @Test
+    void testPopularEventsRereadBoardAfterDroppingStartedEvents() {
+        UUID first = UUID.randomUUID();
+        UUID started = UUID.randomUUID();
+        UUID alsoStarted = UUID.randomUUID();
+        UUID startedToo = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(eventRankingService.topPopular(4))
+                .thenReturn(List.of(first, started, alsoStarted, startedToo))
+                .thenReturn(List.of(first, second));
+        when(eventRepository.findByIdInAndStartsAtAfter(any(), any()))
+                .thenReturn(List.of(Event.builder().id(first).build()))
+                .thenReturn(List.of(Event.builder().id(first).build(), Event.builder().id(second).build()));
+        when(eventMapper.toResponse(any(Event.class))).thenAnswer(invocation -> {
+            EventResponse response = new EventResponse();
+            response.setEventId(invocation.<Event>getArgument(0).getId().toString());
+            return response;
+        });
+
+        List<EventResponse> result = eventService.getMostPopularEvents(2, PageRequest.of(0, 2));
+
+        assertEquals(List.of(first.toString(), second.toString()),
+                result.stream().map(EventResponse::getEventId).toList());
+        verify(eventRankingService).removePopular(List.of(started, alsoStarted, startedToo));
+        verify(eventRankingService, times(2)).topPopular(4);
+    }
+}
@@ -0,0 +1,90 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.exception.EventException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MailDispatcherTest {
+
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private MailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void testQueuedMailsGoOutInOneSend() throws Exception {
+        dispatcher = new MailDispatcher(mailSender, new SimpleMeterRegistry(), 1, 50, 10, 30_000, 100);
+        MimeMessage first = message();
+        MimeMessage second = message();
+        MimeMessage third = message();
+        CompletableFuture<Void> a = dispatcher.submit(first);
+        CompletableFuture<Void> b = dispatcher.submit(second);
+        CompletableFuture<Void> c = dispatcher.submit(third);
+
+        dispatcher.start();
+        CompletableFuture.allOf(a, b, c).get(5, TimeUnit.SECONDS);
+
+        verify(mailSender, times(1)).send(new MimeMessage[]{first, second, third});
+    }
+
+    @Test
+    void testOnlyRejectedMailsFail() throws Exception {
+        dispatcher = new MailDispatcher(mailSender, new SimpleMeterRegistry(), 1, 50, 10, 30_000, 100);
+        MimeMessage accepted = message();
+        MimeMessage rejected = message();
+        doThrow(new MailSendException(Map.<Object, Exception>of(rejected, new IllegalStateException("550 mailbox unavailable"))))
+                .when(mailSender).send(any(MimeMessage[].class));
+        CompletableFuture<Void> ok = dispatcher.submit(accepted);
+        CompletableFuture<Void> failed = dispatcher.submit(rejected);
+
+        dispatcher.start();
+
+        assertNull(ok.get(5, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(MailSendException.class, e.getCause());
+    }
+
+    @Test
+    void testFullQueueRejectsAfterTimeout() {
+        // Not started, so nothing drains the queue
+        dispatcher = new MailDispatcher(mailSender, new SimpleMeterRegistry(), 1, 50, 1, 30_000, 50);
+        dispatcher.submit(message());
+
+        EventException e = assertThrows(EventException.class, () -> dispatcher.submit(message()));
+
+        assertEquals("MAIL_QUEUE_FULL", e.getErrorCode());
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    void testStopFailsQueuedMails() {
+        dispatcher = new MailDispatcher(mailSender, new SimpleMeterRegistry(), 1, 50, 10, 30_000, 100);
+        CompletableFuture<Void> queued = dispatcher.submit(message());
+
+        dispatcher.stop();
+
+        assertTrue(queued.isCompletedExceptionally());
+    }
+
+    private static MimeMessage message() {
+        return new MimeMessage(Session.getInstance(new Properties()));
+    }
+}
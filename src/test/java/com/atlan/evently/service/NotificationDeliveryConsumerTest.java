@@ -0,0 +1,129 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.config.RetryTopics;
+import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import com.atlan.evently.exception.EventException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationDeliveryConsumerTest {
+
+    private NotificationDeliveryConsumer consumer;
+    private WebSocketNotificationService webSocketNotificationService;
+    private EmailService emailService;
+    private DeadLetterPublishingRecoverer failedRecordRecoverer;
+    private Acknowledgment acknowledgment;
+
+    @BeforeEach
+    void setUp() {
+        webSocketNotificationService = mock(WebSocketNotificationService.class);
+        emailService = mock(EmailService.class);
+        failedRecordRecoverer = mock(DeadLetterPublishingRecoverer.class);
+        acknowledgment = mock(Acknowledgment.class);
+        consumer = new NotificationDeliveryConsumer(webSocketNotificationService, emailService, failedRecordRecoverer);
+        when(emailService.sendWaitlistNotificationEmail(any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void testPushSkipsExpiredOffersAndNeverRetries() {
+        WaitlistNotificationEvent live = event(ZonedDateTime.now().plusMinutes(10));
+        WaitlistNotificationEvent failing = event(ZonedDateTime.now().plusMinutes(10));
+        WaitlistNotificationEvent expired = event(ZonedDateTime.now().minusMinutes(1));
+        doThrow(new IllegalStateException("no session")).when(webSocketNotificationService).sendWaitlistNotification(failing);
+
+        consumer.pushNotifications(List.of(record("notification-push", 0, live), record("notification-push", 1, failing),
+                record("notification-push", 2, expired)), acknowledgment);
+
+        verify(webSocketNotificationService).sendWaitlistNotification(live);
+        verify(webSocketNotificationService, never()).sendWaitlistNotification(expired);
+        verifyNoInteractions(failedRecordRecoverer, emailService);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void testFailedEmailMovesToRetryTopicWithoutBlockingOthers() {
+        WaitlistNotificationEvent failing = event(ZonedDateTime.now().plusMinutes(10));
+        WaitlistNotificationEvent next = event(ZonedDateTime.now().plusMinutes(10));
+        next.setEventId(failing.getEventId());
+        RuntimeException smtpDown = new RuntimeException("Failed to send email notification");
+        when(emailService.sendWaitlistNotificationEmail(failing)).thenReturn(CompletableFuture.failedFuture(smtpDown));
+        ConsumerRecord<String, Object> failingRecord = record("notification-email", 0, failing);
+
+        consumer.emailNotifications(List.of(failingRecord, record("notification-email", 1, next)), acknowledgment);
+
+        verify(failedRecordRecoverer).accept(failingRecord, smtpDown);
+        verify(emailService).sendWaitlistNotificationEmail(next);
+        verify(acknowledgment).acknowledge();
+        verifyNoInteractions(webSocketNotificationService);
+    }
+
+    @Test
+    void testFullMailQueueFailsOnlyThatEmail() {
+        WaitlistNotificationEvent rejected = event(ZonedDateTime.now().plusMinutes(10));
+        WaitlistNotificationEvent next = event(ZonedDateTime.now().plusMinutes(10));
+        EventException queueFull = new EventException("Mail queue is full", "MAIL_QUEUE_FULL", "1000 mails waiting");
+        when(emailService.sendWaitlistNotificationEmail(rejected)).thenThrow(queueFull);
+        ConsumerRecord<String, Object> rejectedRecord = record("notification-email", 0, rejected);
+
+        consumer.emailNotifications(List.of(rejectedRecord, record("notification-email", 1, next)), acknowledgment);
+
+        verify(failedRecordRecoverer).accept(rejectedRecord, queueFull);
+        verify(emailService).sendWaitlistNotificationEmail(next);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void testMalformedEmailGoesToRecoverer() {
+        ConsumerRecord<String, Object> malformed = new ConsumerRecord<>("notification-email", 0, 0L, "key", "not-an-event");
+
+        consumer.emailNotifications(List.of(malformed), acknowledgment);
+
+        verify(failedRecordRecoverer).accept(eq(malformed), any(IllegalArgumentException.class));
+        verifyNoInteractions(emailService);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void testRetryEmailsWaitForRecordsNotYetDue() {
+        long now = System.currentTimeMillis();
+        WaitlistNotificationEvent due = event(ZonedDateTime.now().plusMinutes(10));
+        WaitlistNotificationEvent later = event(ZonedDateTime.now().plusMinutes(10));
+        String topic = "notification-email" + RetryTopics.RETRY_1M;
+        ConsumerRecord<String, Object> dueRecord = record(topic, 0, due);
+        ConsumerRecord<String, Object> laterRecord = record(topic, 1, later);
+        dueRecord.headers().add(RetryTopics.DUE_AT_HEADER, Long.toString(now - 1000).getBytes(StandardCharsets.UTF_8));
+        laterRecord.headers().add(RetryTopics.DUE_AT_HEADER, Long.toString(now + 60_000).getBytes(StandardCharsets.UTF_8));
+
+        consumer.retryEmailNotifications(List.of(dueRecord, laterRecord), acknowledgment);
+
+        verify(emailService).sendWaitlistNotificationEmail(due);
+        verify(emailService, never()).sendWaitlistNotificationEmail(later);
+        verify(acknowledgment).nack(eq(1), any(Duration.class));
+    }
+
+    private static ConsumerRecord<String, Object> record(String topic, long offset, WaitlistNotificationEvent event) {
+        return new ConsumerRecord<>(topic, 0, offset, event.getEventId(), event);
+    }
+
+    private static WaitlistNotificationEvent event(ZonedDateTime expiresAt) {
+        String waitlistId = UUID.randomUUID().toString();
+        String userId = UUID.randomUUID().toString();
+        String eventId = UUID.randomUUID().toString();
+        return new WaitlistNotificationEvent(waitlistId, userId, "user@example.com", "Test User", eventId,
+                "Tech Conference", "Convention Center", ZonedDateTime.now().plusDays(7), 1, expiresAt,
+                WaitlistNotificationEvent.bookingUrl(eventId, userId, waitlistId));
+    }
+}
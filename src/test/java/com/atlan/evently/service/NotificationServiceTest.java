@@ -0,0 +1,216 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.cache.UnreadNotificationCounter;
+import com.atlan.evently.model.Notification;
+import com.atlan.evently.model.PendingNotification;
+import com.atlan.evently.model.User;
+import com.atlan.evently.repository.NotificationRepository;
+import com.atlan.evently.repository.PendingNotificationRepository;
+import com.atlan.evently.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.ZonedDateTime;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+
+    private NotificationService notificationService;
+    private NotificationRepository notificationRepository;
+    private PendingNotificationRepository pendingNotificationRepository;
+    private UnreadNotificationCounter unreadCounter;
+    private WebSocketNotificationService webSocketNotificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        pendingNotificationRepository = mock(PendingNotificationRepository.class);
+        unreadCounter = mock(UnreadNotificationCounter.class);
+        webSocketNotificationService = mock(WebSocketNotificationService.class);
+        notificationService = new NotificationService(notificationRepository, pendingNotificationRepository,
+                mock(UserRepository.class), mock(PlatformTransactionManager.class), unreadCounter,
+                webSocketNotificationService);
+        ReflectionTestUtils.setField(notificationService, "digestWindowSeconds", 60L);
+        ReflectionTestUtils.setField(notificationService, "digestMaxItems", 20);
+        ReflectionTestUtils.setField(notificationService, "digestFlushBatchSize", 500);
+    }
+
+    @Test
+    void testBookingNotificationIsQueuedInDatabaseForDigest() {
+        UUID userId = UUID.randomUUID();
+
+        notificationService.createBookingConfirmationNotification(userId.toString(), "Concert", "booking-1");
+
+        ArgumentCaptor<PendingNotification> queued = ArgumentCaptor.forClass(PendingNotification.class);
+        verify(pendingNotificationRepository).save(queued.capture());
+        assertEquals(userId, queued.getValue().getUserId());
+        assertEquals(Notification.NotificationType.BOOKING_CONFIRMED, queued.getValue().getType());
+        verify(notificationRepository, never()).save(any());
+        verifyNoInteractions(unreadCounter);
+    }
+
+    @Test
+    void testZeroWindowStoresNotificationAtOnce() {
+        ReflectionTestUtils.setField(notificationService, "digestWindowSeconds", 0L);
+        UUID userId = UUID.randomUUID();
+
+        notificationService.createBookingCancellationNotification(userId.toString(), "Concert", "booking-1");
+
+        verify(notificationRepository).save(any(Notification.class));
+        verify(pendingNotificationRepository, never()).save(any());
+        verify(unreadCounter).adjustAfterCommit(eq(userId), eq(1L), any());
+    }
+
+    @Test
+    void testDueUserIsMergedIntoOneDigestAndDequeued() {
+        UUID userId = UUID.randomUUID();
+        ZonedDateTime opened = ZonedDateTime.now().minusMinutes(5);
+        when(pendingNotificationRepository.findUsersDue(any(), eq(20L), any())).thenReturn(List.of(userId));
+        when(pendingNotificationRepository.claimForUser(userId))
+                .thenReturn(List.of(pending(1L, userId, opened), pending(2L, userId, opened.plusSeconds(10))));
+
+        notificationService.flushDigests();
+
+        ArgumentCaptor<Notification> stored = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository).save(stored.capture());
+        assertEquals(Notification.NotificationType.DIGEST, stored.getValue().getType());
+        verify(pendingNotificationRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(unreadCounter).adjustAfterCommit(eq(userId), eq(1L), any());
+    }
+
+    @Test
+    void testItemsFlushedElsewhereLeaveTheRestQueued() {
+        UUID userId = UUID.randomUUID();
+        // Another instance claimed the due items; only one queued seconds ago is left
+        when(pendingNotificationRepository.findUsersDue(any(), eq(20L), any())).thenReturn(List.of(userId));
+        when(pendingNotificationRepository.claimForUser(userId))
+                .thenReturn(List.of(pending(3L, userId, ZonedDateTime.now().minusSeconds(2))));
+
+        notificationService.flushDigests();
+
+        verify(notificationRepository, never()).save(any());
+        verify(pendingNotificationRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void testUnreadCountIsServedFromCounterWithoutQuery() {
+        UUID userId = UUID.randomUUID();
+        when(unreadCounter.get(userId)).thenReturn(Optional.of(3L));
+
+        assertEquals(3L, notificationService.getUnreadCount(userId.toString()));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void testUnreadCountMissSeedsCounterFromDatabase() {
+        UUID userId = UUID.randomUUID();
+        when(unreadCounter.get(userId)).thenReturn(Optional.empty());
+        when(notificationRepository.countByUserIdAndIsReadFalse(userId)).thenReturn(7L);
+
+        assertEquals(7L, notificationService.getUnreadCount(userId.toString()));
+        verify(unreadCounter).seed(userId, 7L);
+    }
+
+    @Test
+    void testMarkAsReadDecrementsAndPushesNewCount() {
+        UUID userId = UUID.randomUUID();
+        Notification notification = notification(userId, false);
+        when(notificationRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+
+        notificationService.markAsRead(notification.getId().toString());
+
+        ArgumentCaptor<LongConsumer> onChange = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(unreadCounter).adjustAfterCommit(eq(userId), eq(-1L), onChange.capture());
+        onChange.getValue().accept(4L);
+        verify(webSocketNotificationService).sendNotificationCountUpdate(userId.toString(), 4L);
+    }
+
+    @Test
+    void testMarkAsReadOnReadNotificationLeavesCounter() {
+        Notification notification = notification(UUID.randomUUID(), true);
+        when(notificationRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+
+        notificationService.markAsRead(notification.getId().toString());
+
+        verifyNoInteractions(unreadCounter);
+    }
+
+    @Test
+    void testMarkAllAsReadDecrementsByNumberMarked() {
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId))
+                .thenReturn(List.of(notification(userId, false), notification(userId, false)));
+
+        notificationService.markAllAsRead(userId.toString());
+
+        verify(unreadCounter).adjustAfterCommit(eq(userId), eq(-2L), any());
+    }
+
+    @Test
+    void testExpiryCleanupDecrementsUnreadRowsPerUser() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(notificationRepository.countUnreadExpiredCreatedSinceByUser(any(), any()))
+                .thenReturn(List.of(new Object[]{first, 2L}, new Object[]{second, 1L}));
+
+        notificationService.cleanupExpiredNotifications();
+
+        verify(unreadCounter).adjustAfterCommit(eq(first), eq(-2L), any());
+        verify(unreadCounter).adjustAfterCommit(eq(second), eq(-1L), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReconcileCountsUsersWithoutUnreadRowsAsZero() {
+        UUID withUnread = UUID.randomUUID();
+        UUID withoutUnread = UUID.randomUUID();
+        when(notificationRepository.countUnreadByUserIds(List.of(withUnread, withoutUnread)))
+                .thenReturn(List.<Object[]>of(new Object[]{withUnread, 5L}));
+        when(unreadCounter.reconcile(anyInt(), any(), any())).thenAnswer(invocation -> {
+            Function<List<UUID>, List<Long>> countUnread = invocation.getArgument(1);
+            assertEquals(List.of(5L, 0L), countUnread.apply(List.of(withUnread, withoutUnread)));
+            Consumer<UnreadNotificationCounter.Correction> onCorrected = invocation.getArgument(2);
+            onCorrected.accept(new UnreadNotificationCounter.Correction(withoutUnread, 2L, 0L));
+            return 1;
+        });
+
+        notificationService.reconcileUnreadCounts();
+
+        verify(webSocketNotificationService).sendNotificationCountUpdate(withoutUnread.toString(), 0L);
+    }
+
+    private static PendingNotification pending(long id, UUID userId, ZonedDateTime createdAt) {
+        return PendingNotification.builder()
+                .id(id)
+                .userId(userId)
+                .type(Notification.NotificationType.BOOKING_CONFIRMED)
+                .title("Booking Confirmed!")
+                .message("Your booking is confirmed")
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static Notification notification(UUID userId, boolean read) {
+        return Notification.builder()
+                .id(UUID.randomUUID())
+                .user(User.builder().id(userId).build())
+                .type(Notification.NotificationType.WAITLIST_SEAT_AVAILABLE)
+                .title("Seat Available!")
+                .message("A seat is now available")
+                .isRead(read)
+                .build();
+    }
+}
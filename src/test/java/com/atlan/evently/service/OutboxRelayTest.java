@@ -0,0 +1,166 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.dto.events.BookingCancelledEvent;
+import com.atlan.evently.model.OutboxMessage;
+import com.atlan.evently.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private OutboxRepository outboxRepository;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxRepository = mock(OutboxRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        relay = new OutboxRelay(outboxRepository, kafkaTemplate, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+    }
+
+    @Test
+    void testDeliveredMessagesAreSentAsEventsAndDeleted() {
+        OutboxMessage message = message(1L, "event-1");
+        when(outboxRepository.claimBatch(10)).thenReturn(List.of(message));
+        when(outboxRepository.findOldestIdPerAggregate(any())).thenReturn(oldest("event-1", 1L));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(sent());
+
+        OutboxRelay.BatchResult result = relay.relayBatch();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq("booking-cancelled"), eq("event-1"), payload.capture());
+        BookingCancelledEvent event = assertInstanceOf(BookingCancelledEvent.class, payload.getValue());
+        assertEquals("booking-1", event.getBookingId());
+        verify(outboxRepository).deleteByIdIn(List.of(1L));
+        assertEquals(1, result.delivered());
+    }
+
+    @Test
+    void testAggregateWithOlderMessageHeldElsewhereIsSkipped() {
+        when(outboxRepository.claimBatch(10)).thenReturn(List.of(message(5L, "event-1"), message(6L, "event-2")));
+        List<Object[]> oldest = new ArrayList<>(oldest("event-1", 3L));
+        oldest.addAll(oldest("event-2", 6L));
+        when(outboxRepository.findOldestIdPerAggregate(any())).thenReturn(oldest);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(sent());
+
+        relay.relayBatch();
+
+        verify(kafkaTemplate, never()).send(anyString(), eq("event-1"), any());
+        verify(outboxRepository).deleteByIdIn(List.of(6L));
+    }
+
+    @Test
+    void testFailedSendKeepsLaterMessagesOfSameAggregate() {
+        when(outboxRepository.claimBatch(10)).thenReturn(List.of(
+                message(1L, "event-1"), message(2L, "event-1"), message(3L, "event-2")));
+        List<Object[]> oldest = new ArrayList<>(oldest("event-1", 1L));
+        oldest.addAll(oldest("event-2", 3L));
+        when(outboxRepository.findOldestIdPerAggregate(any())).thenReturn(oldest);
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")))
+                .thenReturn(sent())
+                .thenReturn(sent());
+
+        OutboxRelay.BatchResult result = relay.relayBatch();
+
+        ArgumentCaptor<Collection<Long>> deleted = captor();
+        verify(outboxRepository).deleteByIdIn(deleted.capture());
+        assertEquals(List.of(3L), List.copyOf(deleted.getValue()));
+        verify(outboxRepository).recordFailure(eq(List.of(1L)), eq("broker unavailable"));
+        assertEquals(1, result.failed());
+    }
+
+    @Test
+    void testUndecodableMessageIsParkedOnceAttemptsRunOut() {
+        OutboxMessage undecodable = message(1L, "event-1");
+        undecodable.setPayloadType("java.lang.Runtime");
+        when(outboxRepository.claimBatch(10)).thenReturn(List.of(undecodable));
+        when(outboxRepository.findOldestIdPerAggregate(any())).thenReturn(oldest("event-1", 1L));
+        when(outboxRepository.parkExhausted(any(), anyInt(), any())).thenReturn(1);
+
+        relay.relayBatch();
+
+        verifyNoInteractions(kafkaTemplate);
+        verify(outboxRepository).recordFailure(eq(List.of(1L)), anyString());
+        verify(outboxRepository).parkExhausted(eq(List.of(1L)), eq(3), any());
+    }
+
+    @Test
+    void testRetriableSendFailureIsNeverParked() {
+        when(outboxRepository.claimBatch(10)).thenReturn(List.of(message(1L, "event-1")));
+        when(outboxRepository.findOldestIdPerAggregate(any())).thenReturn(oldest("event-1", 1L));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.failedFuture(
+                new KafkaException("send failed", new TimeoutException("metadata not available"))));
+
+        relay.relayBatch();
+
+        verify(outboxRepository).recordFailure(eq(List.of(1L)), anyString());
+        verify(outboxRepository, never()).parkExhausted(any(), anyInt(), any());
+    }
+
+    @Test
+    void testEmptyOutboxDoesNothing() {
+        when(outboxRepository.claimBatch(10)).thenReturn(List.of());
+
+        OutboxRelay.BatchResult result = relay.relayBatch();
+
+        assertEquals(0, result.claimed());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private static OutboxMessage message(long id, String eventId) {
+        BookingCancelledEvent event = new BookingCancelledEvent(
+                "booking-" + id, "user-1", eventId, 1, ZonedDateTime.now(), "USER_CANCELLED");
+        try {
+            return OutboxMessage.builder()
+                    .id(id)
+                    .aggregateId(eventId)
+                    .topic("booking-cancelled")
+                    .messageKey(eventId)
+                    .payloadType(BookingCancelledEvent.class.getName())
+                    .payload(EventPublisher.OUTBOX_JSON.writeValueAsString(event))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Object[]> oldest(String aggregateId, long id) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{aggregateId, id});
+        return rows;
+    }
+
+    private static CompletableFuture<SendResult<String, Object>> sent() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<Long>> captor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+}
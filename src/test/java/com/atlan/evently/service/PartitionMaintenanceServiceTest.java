@@ -0,0 +1,68 @@
+package com.atlan.evently.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PartitionMaintenanceServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        partitionMaintenanceService = new PartitionMaintenanceService(jdbcTemplate);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "monthsAhead", 2);
+    }
+
+    @Test
+    void testCreatesCurrentAndFutureMonths() {
+        partitionMaintenanceService.createFuturePartitions("transactions", YearMonth.of(2026, 11));
+
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq("transactions"), eq(LocalDate.of(2026, 11, 1)));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq("transactions"), eq(LocalDate.of(2026, 12, 1)));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq("transactions"), eq(LocalDate.of(2027, 1, 1)));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testDropsOnlyMonthlyPartitionsBeforeCutoff() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("notifications"))).thenReturn(List.of(
+                "notifications_default", "notifications_p2026_03", "notifications_p2026_04", "notifications_p2026_05"));
+
+        partitionMaintenanceService.dropPartitionsBefore("notifications", YearMonth.of(2026, 5));
+
+        verify(jdbcTemplate).execute("DROP TABLE notifications_p2026_03");
+        verify(jdbcTemplate).execute("DROP TABLE notifications_p2026_04");
+        verify(jdbcTemplate, never()).execute("DROP TABLE notifications_default");
+        verify(jdbcTemplate, never()).execute("DROP TABLE notifications_p2026_05");
+    }
+
+    @Test
+    void testArchiveDetachesThenMovesToArchiveSchema() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("transactions")))
+                .thenReturn(List.of("transactions_p2024_01"));
+
+        partitionMaintenanceService.archivePartitionsBefore("transactions", YearMonth.of(2024, 10));
+
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE transactions DETACH PARTITION transactions_p2024_01");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE transactions_p2024_01 SET SCHEMA archive");
+    }
+
+    @Test
+    void testMonthOfParsesSuffix() {
+        assertEquals(YearMonth.of(2025, 12), PartitionMaintenanceService.monthOf("transactions_p2025_12"));
+        assertNull(PartitionMaintenanceService.monthOf("transactions_default"));
+    }
+}
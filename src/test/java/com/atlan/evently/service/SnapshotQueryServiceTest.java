@@ -0,0 +1,85 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.exception.EventException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SnapshotQueryServiceTest {
+
+    @TempDir
+    Path snapshotDir;
+
+    private AnalyticsSnapshotService analyticsSnapshotService;
+    private SnapshotQueryService snapshotQueryService;
+
+    @BeforeEach
+    void setUp() {
+        analyticsSnapshotService = mock(AnalyticsSnapshotService.class);
+        when(analyticsSnapshotService.isEnabled()).thenReturn(true);
+        when(analyticsSnapshotService.snapshotRoot()).thenReturn(snapshotDir);
+        snapshotQueryService = new SnapshotQueryService(analyticsSnapshotService);
+    }
+
+    @Test
+    void testAnalyticsUseLatestVersionOfEachTransaction() throws Exception {
+        // First export: t1 pending; second export: t1 completed, t2 completed
+        writeTransactions("part-0.parquet",
+                "('t1', 'PAYMENT', 50.00, 'CARD', 'PENDING', TIMESTAMP '2026-03-01 10:00:00', TIMESTAMP '2026-03-01 10:00:00')");
+        writeTransactions("part-1.parquet",
+                "('t1', 'PAYMENT', 50.00, 'CARD', 'COMPLETED', TIMESTAMP '2026-03-01 10:00:00', TIMESTAMP '2026-03-01 10:05:00')",
+                "('t2', 'PAYMENT', 20.00, 'UPI', 'COMPLETED', TIMESTAMP '2026-03-02 09:00:00', TIMESTAMP '2026-03-02 09:00:00')");
+
+        TransactionService.TransactionAnalyticsResponse analytics = snapshotQueryService.getTransactionAnalytics(
+                ZonedDateTime.of(2026, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+                ZonedDateTime.of(2026, 3, 31, 0, 0, 0, 0, ZoneOffset.UTC));
+
+        assertEquals(0, new BigDecimal("70.00").compareTo(analytics.getTotalRevenue()));
+        assertEquals(2L, analytics.getTransactionCountsByStatus().get("COMPLETED"));
+        assertNull(analytics.getTransactionCountsByStatus().get("PENDING"));
+        assertEquals(2, analytics.getPaymentMethodStats().size());
+        assertEquals(2, analytics.getDailyRevenue().size());
+        assertEquals("2026-03-01", analytics.getDailyRevenue().get(0).getDate());
+    }
+
+    @Test
+    void testMissingSnapshotIsReported() {
+        EventException exception = assertThrows(EventException.class, () -> snapshotQueryService.getTransactionAnalytics(
+                ZonedDateTime.now(ZoneOffset.UTC).minusDays(1), ZonedDateTime.now(ZoneOffset.UTC)));
+
+        assertEquals("SNAPSHOT_NOT_AVAILABLE", exception.getErrorCode());
+    }
+
+    @Test
+    void testDisabledSnapshotsAreRejected() {
+        when(analyticsSnapshotService.isEnabled()).thenReturn(false);
+
+        EventException exception = assertThrows(EventException.class, () -> snapshotQueryService.getTransactionAnalytics(
+                ZonedDateTime.now(ZoneOffset.UTC).minusDays(1), ZonedDateTime.now(ZoneOffset.UTC)));
+
+        assertEquals("SNAPSHOTS_DISABLED", exception.getErrorCode());
+    }
+
+    private void writeTransactions(String fileName, String... rows) throws Exception {
+        Path tableDir = Files.createDirectories(snapshotDir.resolve("transactions"));
+        try (Connection duckDb = DriverManager.getConnection("jdbc:duckdb:");
+             Statement statement = duckDb.createStatement()) {
+            statement.execute("CREATE TABLE t (id VARCHAR, transaction_type VARCHAR, amount DECIMAL(14,2), " +
+                    "payment_method VARCHAR, status VARCHAR, created_at TIMESTAMP, updated_at TIMESTAMP)");
+            statement.execute("INSERT INTO t VALUES " + String.join(", ", rows));
+            statement.execute("COPY t TO '" + tableDir.resolve(fileName) + "' (FORMAT PARQUET, COMPRESSION ZSTD)");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.model.Transaction;
+import com.atlan.evently.repository.TransactionRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionRollupServiceTest {
+
+    @Mock
+    private TransactionRollupRepository rollupRepository;
+
+    @InjectMocks
+    private TransactionRollupService transactionRollupService;
+
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        transaction = Transaction.builder()
+                .transactionType(Transaction.TransactionType.PAYMENT)
+                .amount(new BigDecimal("250.00"))
+                .paymentMethod("CREDIT_CARD")
+                // 01:30 in Kolkata is still the previous day in UTC
+                .createdAt(ZonedDateTime.of(2026, 3, 2, 1, 30, 0, 0, ZoneId.of("Asia/Kolkata")))
+                .build();
+    }
+
+    @Test
+    void testTransactionCreatedCountsUnderUtcDay() {
+        transactionRollupService.transactionCreated(transaction);
+
+        verify(rollupRepository).add(LocalDate.of(2026, 3, 1), "PENDING", "PAYMENT", "CREDIT_CARD",
+                1, new BigDecimal("250.00"));
+    }
+
+    @Test
+    void testStatusChangeMovesTransactionInStatusOrder() {
+        transaction.markAsCompleted();
+
+        transactionRollupService.statusChanged(transaction, Transaction.TransactionStatus.PENDING);
+
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).add(any(), eq("COMPLETED"), any(), any(), eq(1L), eq(new BigDecimal("250.00")));
+        inOrder.verify(rollupRepository).add(any(), eq("PENDING"), any(), any(), eq(-1L), eq(new BigDecimal("-250.00")));
+    }
+
+    @Test
+    void testUnchangedStatusAndMissingPaymentMethod() {
+        transaction.setPaymentMethod(null);
+
+        transactionRollupService.statusChanged(transaction, Transaction.TransactionStatus.PENDING);
+        verifyNoInteractions(rollupRepository);
+
+        transactionRollupService.transactionCreated(transaction);
+        verify(rollupRepository).add(any(), eq("PENDING"), any(), eq(""), eq(1L), any());
+    }
+}
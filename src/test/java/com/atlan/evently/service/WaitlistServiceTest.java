@@ -0,0 +1,77 @@
+package com.atlan.evently.service;
+
+import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import com.atlan.evently.model.Event;
+import com.atlan.evently.model.User;
+import com.atlan.evently.model.Waitlist;
+import com.atlan.evently.repository.EventRepository;
+import com.atlan.evently.repository.ProcessedCancellationRepository;
+import com.atlan.evently.repository.UserRepository;
+import com.atlan.evently.repository.WaitlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WaitlistServiceTest {
+
+    private WaitlistService waitlistService;
+    private WaitlistRepository waitlistRepository;
+    private ProcessedCancellationRepository processedCancellationRepository;
+    private EventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        waitlistRepository = mock(WaitlistRepository.class);
+        processedCancellationRepository = mock(ProcessedCancellationRepository.class);
+        eventPublisher = mock(EventPublisher.class);
+        waitlistService = new WaitlistService(waitlistRepository, processedCancellationRepository,
+                mock(EventRepository.class), mock(UserRepository.class), eventPublisher, mock(ReplicaLagGuard.class));
+    }
+
+    @Test
+    void testRedeliveredCancellationOffersItsSeatOnce() {
+        Event event = Event.builder().id(UUID.randomUUID()).name("Concert").startsAt(ZonedDateTime.now().plusDays(1)).build();
+        UUID bookingId = UUID.randomUUID();
+        when(waitlistRepository.findNextInLine(event.getId()))
+                .thenReturn(Optional.of(entry(event)))
+                .thenReturn(Optional.of(entry(event)));
+        // The first delivery records the booking; the redelivery finds it recorded
+        when(processedCancellationRepository.markProcessed(bookingId, event.getId())).thenReturn(1, 0);
+
+        assertEquals(1, waitlistService.processCancelledBookings(event.getId(), Map.of(bookingId, 1)));
+        assertEquals(0, waitlistService.processCancelledBookings(event.getId(), Map.of(bookingId, 1)));
+
+        verify(eventPublisher, times(1)).publishWaitlistNotification(any(WaitlistNotificationEvent.class));
+        verify(waitlistRepository, times(1)).findNextInLine(event.getId());
+    }
+
+    @Test
+    void testOnlyNewCancellationsInABatchFreeSeats() {
+        Event event = Event.builder().id(UUID.randomUUID()).name("Concert").startsAt(ZonedDateTime.now().plusDays(1)).build();
+        UUID processed = UUID.randomUUID();
+        UUID fresh = UUID.randomUUID();
+        when(processedCancellationRepository.markProcessed(processed, event.getId())).thenReturn(0);
+        when(processedCancellationRepository.markProcessed(fresh, event.getId())).thenReturn(1);
+        when(waitlistRepository.findNextInLine(event.getId())).thenReturn(Optional.empty());
+
+        assertEquals(3, waitlistService.processCancelledBookings(event.getId(), Map.of(processed, 2, fresh, 3)));
+    }
+
+    private static Waitlist entry(Event event) {
+        return Waitlist.builder()
+                .id(UUID.randomUUID())
+                .user(User.builder().id(UUID.randomUUID()).email("user@example.com").name("User").build())
+                .event(event)
+                .position(1)
+                .status(Waitlist.WaitlistStatus.WAITING)
+                .build();
+    }
+}
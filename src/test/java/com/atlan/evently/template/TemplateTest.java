@@ -0,0 +1,83 @@
+package com.atlan.evently.template;
+
+import com.atlan.evently.dto.events.WaitlistNotificationEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import static com.atlan.evently.template.Template.time;
+import static com.atlan.evently.template.Template.value;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateTest {
+
+    record Model(String name, Integer count, ZonedDateTime at) {
+    }
+
+    private static final Map<String, Template.Binding<Model>> BINDINGS = Map.of(
+            "name", value(Model::name),
+            "count", value(Model::count),
+            "at", time(Model::at, DateTimeFormatter.ofPattern("HH:mm")));
+
+    @Test
+    void rendersLiteralsAndValues() {
+        Template<Model> template = Template.compile("Hi {{name}}, {{ count }} seats at {{at}}.", BINDINGS);
+
+        String rendered = template.render(new Model("Asha", 3, ZonedDateTime.of(2026, 10, 19, 9, 5, 0, 0, ZoneOffset.UTC)));
+
+        assertEquals("Hi Asha, 3 seats at 09:05.", rendered);
+    }
+
+    @Test
+    void rendersNullLikeStringFormat() {
+        Template<Model> template = Template.compile("{{name}}/{{count}}/{{at}}", BINDINGS);
+
+        assertEquals("null/null/null", template.render(new Model(null, null, null)));
+    }
+
+    @Test
+    void rendersTemplatesWithoutPlaceholdersAndAdjacentPlaceholders() {
+        assertEquals("plain text", Template.compile("plain text", BINDINGS).render(new Model("a", 1, null)));
+        assertEquals("a1", Template.compile("{{name}}{{count}}", BINDINGS).render(new Model("a", 1, null)));
+        assertEquals("", Template.compile("", BINDINGS).render(new Model("a", 1, null)));
+    }
+
+    @Test
+    void rejectsUnknownAndUnclosedPlaceholdersAtCompileTime() {
+        assertThrows(IllegalArgumentException.class, () -> Template.compile("Hi {{nmae}}", BINDINGS));
+        assertThrows(IllegalArgumentException.class, () -> Template.compile("Hi {{name", BINDINGS));
+    }
+
+    @Test
+    void reusedBufferDoesNotLeakBetweenRenders() {
+        Template<Model> template = Template.compile("{{name}}", BINDINGS);
+
+        assertEquals("a long first value", template.render(new Model("a long first value", 0, null)));
+        assertEquals("b", template.render(new Model("b", 0, null)));
+    }
+
+    @Test
+    void seatAvailableMessageNeverSaysZeroMinutes() {
+        WaitlistNotificationEvent event = new WaitlistNotificationEvent();
+        event.setEventName("Tech Conference");
+        event.setExpiresAt(ZonedDateTime.now().plusSeconds(20));
+
+        assertEquals("A seat is now available for 'Tech Conference'. Book within 1 minutes!",
+                NotificationTemplates.SEAT_AVAILABLE.render(event));
+    }
+
+    @Test
+    void jsonWriterEscapesValues() throws Exception {
+        String json = JsonWriter.object("eventName", "The \"Big\" Show\n", "waitlistId", null);
+
+        JsonNode parsed = new ObjectMapper().readTree(json);
+        assertEquals("The \"Big\" Show\n", parsed.get("eventName").asText());
+        assertTrue(parsed.get("waitlistId").isNull());
+        assertEquals("{\"a\":\"b\"}", JsonWriter.object("a", "b"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.atlan.evently.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescerTest {
+
+    private final Map<String, List<Integer>> flushed = new ConcurrentHashMap<>();
+
+    @Test
+    void testItemsOfOneKeyAreFlushedTogetherAfterTheWindow() throws Exception {
+        CountDownLatch done = new CountDownLatch(2);
+        try (Coalescer<String, Integer> coalescer = new Coalescer<>("test", Duration.ofMillis(200), 100,
+                (key, items) -> {
+                    flushed.put(key, items);
+                    done.countDown();
+                })) {
+            coalescer.add("alice", 1);
+            coalescer.add("bob", 10);
+            coalescer.add("alice", 2);
+            coalescer.add("alice", 3);
+
+            assertTrue(flushed.isEmpty());
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(List.of(1, 2, 3), flushed.get("alice"));
+        assertEquals(List.of(10), flushed.get("bob"));
+    }
+
+    @Test
+    void testFullBufferIsFlushedBeforeTheWindowCloses() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        try (Coalescer<String, Integer> coalescer = new Coalescer<>("test", Duration.ofHours(1), 2,
+                (key, items) -> {
+                    flushed.put(key, items);
+                    done.countDown();
+                })) {
+            coalescer.add("alice", 1);
+            coalescer.add("alice", 2);
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(1, 2), flushed.get("alice"));
+            assertEquals(0, coalescer.pendingKeys());
+        }
+    }
+
+    @Test
+    void testEarlyFlushDoesNotShortenTheNextWindow() throws Exception {
+        Map<String, List<List<Integer>>> batches = new ConcurrentHashMap<>();
+        try (Coalescer<String, Integer> coalescer = new Coalescer<>("test", Duration.ofMillis(500), 2,
+                (key, items) -> batches.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(items))) {
+            coalescer.add("alice", 1);
+            coalescer.add("alice", 2);
+            Thread.sleep(300);
+            coalescer.add("alice", 3);
+
+            // Past the first window's end; the second buffer must still be open
+            Thread.sleep(300);
+            assertEquals(List.of(List.of(1, 2)), batches.get("alice"));
+            assertEquals(1, coalescer.pendingKeys());
+        }
+
+        assertEquals(List.of(List.of(1, 2), List.of(3)), batches.get("alice"));
+    }
+
+    @Test
+    void testAddAfterCloseFlushesOnTheCaller() {
+        Coalescer<String, Integer> coalescer = new Coalescer<>("test", Duration.ofHours(1), 20, flushed::put);
+        coalescer.close();
+
+        coalescer.add("alice", 1);
+
+        assertEquals(List.of(1), flushed.get("alice"));
+    }
+
+    @Test
+    void testZeroWindowFlushesEachItemOnTheCaller() {
+        try (Coalescer<String, Integer> coalescer = new Coalescer<>("test", Duration.ZERO, 20, flushed::put)) {
+            coalescer.add("alice", 1);
+
+            assertEquals(List.of(1), flushed.get("alice"));
+        }
+    }
+
+    @Test
+    void testCloseFlushesPendingItems() {
+        Coalescer<String, Integer> coalescer = new Coalescer<>("test", Duration.ofHours(1), 20, flushed::put);
+        coalescer.add("alice", 1);
+
+        coalescer.close();
+
+        assertEquals(List.of(1), flushed.get("alice"));
+    }
+
+    @Test
+    void testFailingFlushDoesNotStopOtherKeys() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        try (Coalescer<String, Integer> coalescer = new Coalescer<>("test", Duration.ofMillis(50), 20,
+                (key, items) -> {
+                    if (key.equals("broken")) {
+                        throw new IllegalStateException("boom");
+                    }
+                    flushed.put(key, items);
+                    done.countDown();
+                })) {
+            coalescer.add("broken", 1);
+            coalescer.add("alice", 2);
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(2), flushed.get("alice"));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.atlan.evently.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecayedSlidingWindowTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void testScoreHalvesAfterOneHalfLife() {
+        DecayedSlidingWindow window = new DecayedSlidingWindow(MINUTE, 120, 60 * MINUTE);
+        window.add(0, 10);
+
+        double fresh = window.score(MINUTE / 2);
+        double oneHalfLifeLater = window.score(MINUTE / 2 + 60 * MINUTE);
+
+        assertEquals(10, fresh, 1e-9);
+        assertEquals(5, oneHalfLifeLater, 1e-9);
+    }
+
+    @Test
+    void testActivityOutsideWindowIsDropped() {
+        DecayedSlidingWindow window = new DecayedSlidingWindow(MINUTE, 10, 60 * MINUTE);
+        window.add(0, 10);
+
+        assertTrue(window.score(5 * MINUTE) > 0);
+        assertFalse(window.isExpired(5 * MINUTE));
+        assertEquals(0, window.score(11 * MINUTE));
+        assertTrue(window.isExpired(11 * MINUTE));
+    }
+
+    @Test
+    void testReusedBucketDiscardsOldSum() {
+        DecayedSlidingWindow window = new DecayedSlidingWindow(MINUTE, 2, 60 * MINUTE);
+        window.add(0, 10);
+        window.add(2 * MINUTE, 1); // same ring slot, one full window later
+
+        window.add(0, 10); // late arrival older than the window is ignored
+
+        assertEquals(1, window.score(2 * MINUTE + MINUTE / 2), 1e-9);
+    }
+
+    @Test
+    void testNegativeWeightCancelsActivity() {
+        DecayedSlidingWindow window = new DecayedSlidingWindow(MINUTE, 10, 60 * MINUTE);
+        window.add(0, 1);
+        window.add(10, -1);
+
+        assertEquals(0, window.score(MINUTE), 1e-9);
+    }
+}
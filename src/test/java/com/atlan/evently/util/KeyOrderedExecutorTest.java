@@ -0,0 +1,89 @@
+package com.atlan.evently.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedExecutorTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testItemsOfOneKeyStayInOrder() {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int key = 0; key < 8; key++) {
+            List<Integer> items = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                items.add(i);
+            }
+            groups.put("event-" + key, items);
+        }
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+
+        executor.forEachKey(groups, (key, items) -> items.forEach(item ->
+                seen.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(item)));
+
+        assertEquals(groups, seen);
+    }
+
+    @Test
+    void testKeysRunConcurrently() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        groups.put("a", List.of(1));
+        groups.put("b", List.of(2));
+        groups.put("c", List.of(3));
+
+        executor.forEachKey(groups, (key, items) -> {
+            threads.add(Thread.currentThread().getName());
+            allStarted.countDown();
+            try {
+                // Only completes if all three keys are running at the same time
+                assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertEquals(3, threads.size());
+    }
+
+    @Test
+    void testFailureIsRethrownAfterOtherKeysFinish() {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        groups.put("ok", List.of(1));
+        groups.put("bad", List.of(2));
+        Set<String> finished = ConcurrentHashMap.newKeySet();
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () ->
+                executor.forEachKey(groups, (key, items) -> {
+                    if (key.equals("bad")) {
+                        throw new IllegalStateException("boom");
+                    }
+                    finished.add(key);
+                }));
+
+        assertEquals("boom", failure.getMessage());
+        assertEquals(Set.of("ok"), finished);
+    }
+}
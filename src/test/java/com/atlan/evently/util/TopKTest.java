@@ -0,0 +1,49 @@
+package com.atlan.evently.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    @Test
+    void testKeepsGreatestItemsInDescendingOrder() {
+        TopK<Integer> top = new TopK<>(3, Comparator.naturalOrder());
+        List.of(5, 1, 9, 3, 7, 2).forEach(top::offer);
+
+        assertEquals(List.of(9, 7, 5), top.toList());
+    }
+
+    @Test
+    void testFewerItemsThanK() {
+        TopK<Integer> top = new TopK<>(5, Comparator.naturalOrder());
+        top.offer(2);
+        top.offer(4);
+
+        assertEquals(List.of(4, 2), top.toList());
+    }
+
+    @Test
+    void testZeroKRetainsNothing() {
+        TopK<Integer> top = new TopK<>(0, Comparator.naturalOrder());
+        top.offer(1);
+
+        assertEquals(0, top.size());
+        assertThrows(IllegalArgumentException.class, () -> new TopK<>(-1, Comparator.<Integer>naturalOrder()));
+    }
+
+    @Test
+    void testParallelCollectorMatchesSort() {
+        List<Integer> expected = IntStream.range(0, 10_000).boxed()
+                .sorted(Comparator.reverseOrder()).limit(10).toList();
+
+        List<Integer> actual = IntStream.range(0, 10_000).boxed().parallel()
+                .collect(TopK.collector(10, Comparator.naturalOrder()));
+
+        assertEquals(expected, actual);
+    }
+}